@@ -0,0 +1,99 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mixed-load generator for comparing execution modes: a group of clients keeps requesting an
+ * expensive endpoint while another group measures the latency of a cheap one.
+ *
+ * Clients told to back off with 503 wait for the {@code Retry-After} delay, as well-behaved callers do.
+ *
+ * <p>Usage: {@code java scripts/LoadTest.java <base-url> <seconds> <cheap-clients> <expensive-clients>}
+ */
+public class LoadTest {
+
+    private static final String CHEAP = "/add?a=5&b=3";
+    private static final String EXPENSIVE = "/factorial?number=20000";
+
+    public static void main(String[] args) throws Exception {
+        String base = args.length > 0 ? args[0] : "http://localhost:8080";
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int cheapClients = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int expensiveClients = args.length > 3 ? Integer.parseInt(args[3]) : 400;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        ConcurrentLinkedQueue<Long> cheapLatencies = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Long> expensiveLatencies = new ConcurrentLinkedQueue<>();
+        AtomicLong failures = new AtomicLong();
+        AtomicLong rejections = new AtomicLong();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < expensiveClients; i++) {
+            threads.add(Thread.ofVirtual().start(() -> run(client, base + EXPENSIVE, deadline, expensiveLatencies, rejections, failures)));
+        }
+        for (int i = 0; i < cheapClients; i++) {
+            threads.add(Thread.ofVirtual().start(() -> run(client, base + CHEAP, deadline, cheapLatencies, rejections, failures)));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        report("cheap     " + CHEAP, cheapLatencies, seconds);
+        report("expensive " + EXPENSIVE, expensiveLatencies, seconds);
+        System.out.println("rejected  " + rejections.get() + " (503)");
+        System.out.println("failures  " + failures.get());
+    }
+
+    private static void run(HttpClient client, String url, long deadline,
+                            ConcurrentLinkedQueue<Long> latencies, AtomicLong rejections, AtomicLong failures) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60)).build();
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    latencies.add(System.nanoTime() - start);
+                } else if (response.statusCode() == 503) {
+                    rejections.incrementAndGet();
+                    long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                    Thread.sleep(Duration.ofSeconds(retryAfter));
+                } else {
+                    failures.incrementAndGet();
+                }
+            } catch (Exception e) {
+                failures.incrementAndGet();
+            }
+        }
+    }
+
+    private static void report(String name, ConcurrentLinkedQueue<Long> latencies, int seconds) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        if (sorted.length == 0) {
+            System.out.println(name + "  no successful requests");
+            return;
+        }
+        System.out.printf(Locale.ROOT, "%s  %8.1f req/s  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms%n",
+                name, (double) sorted.length / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
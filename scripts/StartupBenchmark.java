@@ -0,0 +1,125 @@
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup benchmark: launches the application repeatedly and measures the time from process start
+ * to the first successful {@code /add}, the moment a new instance can take traffic.
+ *
+ * <p>With {@code --warmup}, a few endpoints are requested after the first {@code /add} so that a
+ * class-data sharing training run also archives the classes they load. Every run is stopped with
+ * SIGTERM, which lets {@code -XX:ArchiveClassesAtExit} write its archive. With
+ * {@code --max-millis}, the benchmark fails when the median exceeds the bound, so that startup
+ * regressions break the build that runs it.
+ *
+ * <p>Usage: {@code java scripts/StartupBenchmark.java [--runs N] [--port P] [--max-millis M]
+ * [--warmup] [--log FILE] -- <java arguments>}
+ */
+public class StartupBenchmark {
+
+    private static final String PROBE = "/add?a=5&b=3";
+    private static final List<String> WARMUP = List.of(
+            "/", "/subtract?a=5&b=3", "/divide?a=1&b=0", "/factorial?number=25", "/factorial?number=3000",
+            "/isPrime?number=1000003", "/eval?expr=sqrt(3%5E2%2B4%5E2)", "/primes?from=0&to=1000", "/metrics");
+    private static final Duration TIMEOUT = Duration.ofSeconds(120);
+
+    public static void main(String[] args) throws Exception {
+        int runs = 5;
+        int port = 18181;
+        long maxMillis = 0;
+        boolean warmup = false;
+        File log = null;
+        int i = 0;
+        for (; i < args.length && !args[i].equals("--"); i++) {
+            switch (args[i]) {
+                case "--runs" -> runs = Integer.parseInt(args[++i]);
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--max-millis" -> maxMillis = Long.parseLong(args[++i]);
+                case "--warmup" -> warmup = true;
+                case "--log" -> log = new File(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        List<String> javaArgs = Arrays.asList(args).subList(Math.min(i + 1, args.length), args.length);
+        if (javaArgs.isEmpty()) {
+            throw new IllegalArgumentException("Missing java arguments after --");
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        String base = "http://localhost:" + port;
+        // Loads the client's own classes before the first measured run
+        isUp(client, base + PROBE);
+
+        long[] millis = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            millis[run] = measure(client, base, javaArgs, port, warmup, log);
+            System.out.printf("run %d: %d ms%n", run + 1, millis[run]);
+        }
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        long median = sorted[runs / 2];
+        System.out.printf("time to first %s: min %d ms, median %d ms, max %d ms%n",
+                PROBE, sorted[0], median, sorted[runs - 1]);
+        if (maxMillis > 0 && median > maxMillis) {
+            System.out.printf("Startup regression: median %d ms exceeds %d ms%n", median, maxMillis);
+            System.exit(1);
+        }
+    }
+
+    private static long measure(HttpClient client, String base, List<String> javaArgs, int port,
+                                boolean warmup, File log) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(javaArgs);
+        command.add("--server.port=" + port);
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true);
+        builder.redirectOutput(log == null ? ProcessBuilder.Redirect.DISCARD : ProcessBuilder.Redirect.appendTo(log));
+
+        long start = System.nanoTime();
+        Process process = builder.start();
+        try {
+            long deadline = start + TIMEOUT.toNanos();
+            while (!isUp(client, base + PROBE)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue()
+                            + (log == null ? "" : "; see " + log));
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Application did not answer within " + TIMEOUT);
+                }
+                Thread.sleep(5);
+            }
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (warmup) {
+                for (String path : WARMUP) {
+                    isUp(client, base + path);
+                }
+            }
+            return elapsed;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(60, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static boolean isUp(HttpClient client, String url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+#!/bin/bash
+
+# Execution Mode Load Comparison
+# Runs the same mixed cheap/expensive load against the platform-thread and virtual-thread modes
+# Usage: ./scripts/load-compare.sh [seconds] [cheap-clients] [expensive-clients]
+
+set -e  # Exit on any error
+
+SECONDS_PER_RUN=${1:-20}
+CHEAP_CLIENTS=${2:-16}
+EXPENSIVE_CLIENTS=${3:-400}
+PORT=${PORT:-8181}
+JAR=target/calculator-app.jar
+
+cd "$(dirname "$0")/.."
+
+if [ ! -f "$JAR" ]; then
+    echo "Building $JAR..."
+    mvn -B -q package -DskipTests
+fi
+
+for MODE in platform virtual; do
+    echo "=================================================="
+    echo "Mode: $MODE ($EXPENSIVE_CLIENTS expensive clients, $CHEAP_CLIENTS cheap clients, ${SECONDS_PER_RUN}s)"
+    echo "=================================================="
+    java --add-modules jdk.incubator.vector -jar "$JAR" --server.port="$PORT" \
+        --calculator.execution.mode="$MODE" --logging.level.com.example.calculator=INFO > "target/load-$MODE.log" 2>&1 &
+    APP_PID=$!
+    trap 'kill $APP_PID 2>/dev/null' EXIT
+
+    for _ in $(seq 1 60); do
+        if curl -sf "http://localhost:$PORT/" > /dev/null; then
+            break
+        fi
+        sleep 1
+    done
+
+    java scripts/LoadTest.java "http://localhost:$PORT" "$SECONDS_PER_RUN" "$CHEAP_CLIENTS" "$EXPENSIVE_CLIENTS"
+
+    kill $APP_PID
+    wait $APP_PID 2>/dev/null || true
+    trap - EXIT
+done
@@ -87,7 +87,7 @@ print_status "Running SonarQube analysis..."
     -Dsonar.junit.reportPaths=target/surefire-reports \
     -Dsonar.sources=src/main/java \
     -Dsonar.tests=src/test/java \
-    -Dsonar.java.source=17 \
+    -Dsonar.java.source=21 \
     -Dsonar.sourceEncoding=UTF-8 \
     -Dsonar.exclusions="**/*Application.java" \
     -Dsonar.coverage.exclusions="**/*Application.java,**/config/**" \
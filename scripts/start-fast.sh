@@ -0,0 +1,22 @@
+#!/bin/bash
+
+# Fast Startup
+# Starts the application built with "mvn -Pfast-startup package" using its class-data sharing
+# archive, the AOT-generated bean definitions and the fast-startup profile (lazy initialization)
+# Usage: ./scripts/start-fast.sh [application arguments, e.g. --server.port=8081]
+
+set -e  # Exit on any error
+
+JAR=target/calculator-app.jar
+ARCHIVE=target/calculator-app.jsa
+
+# The archive records the jar path of the training run, so paths are kept relative to the project
+cd "$(dirname "$0")/.."
+
+if [ ! -f "$ARCHIVE" ]; then
+    echo "Missing $ARCHIVE; build with: mvn -Pfast-startup package" >&2
+    exit 1
+fi
+
+exec java -XX:SharedArchiveFile="$ARCHIVE" -Dspring.aot.enabled=true --add-modules jdk.incubator.vector \
+    $JAVA_OPTS -jar "$JAR" --spring.profiles.active=fast-startup "$@"
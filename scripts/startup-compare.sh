@@ -0,0 +1,31 @@
+#!/bin/bash
+
+# Startup Comparison
+# Measures the time from process start to the first successful /add for the regular build and
+# for the fast-startup build (class-data sharing, Spring AOT and lazy initialization)
+# Usage: ./scripts/startup-compare.sh [runs] [max-median-millis-for-fast-startup]
+
+set -e  # Exit on any error
+
+RUNS=${1:-5}
+MAX_MILLIS=${2:-0}
+PORT=${PORT:-18181}
+JAR=target/calculator-app.jar
+
+cd "$(dirname "$0")/.."
+
+echo "=================================================="
+echo "Regular build ($RUNS runs)"
+echo "=================================================="
+mvn -B -q package -DskipTests
+java scripts/StartupBenchmark.java --runs "$RUNS" --port "$PORT" --log target/startup-regular.log -- \
+    --add-modules jdk.incubator.vector -jar "$JAR"
+
+echo "=================================================="
+echo "Fast-startup build ($RUNS runs)"
+echo "=================================================="
+mvn -B -q package -DskipTests -Pfast-startup
+java scripts/StartupBenchmark.java --runs "$RUNS" --port "$PORT" --max-millis "$MAX_MILLIS" \
+    --log target/startup-fast.log -- \
+    -XX:SharedArchiveFile=target/calculator-app.jsa -Dspring.aot.enabled=true --add-modules jdk.incubator.vector \
+    -jar "$JAR" --spring.profiles.active=fast-startup
@@ -0,0 +1,91 @@
+package com.example.calculator;
+
+import com.example.calculator.dto.BatchColumn;
+import com.example.calculator.dto.BatchColumnResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the array kernels, SIMD against scalar, and of the batch column path built on them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ArrayBenchmark {
+
+    @Param({"1024", "1048576"})
+    public int size;
+
+    private final ArrayKernels scalar = new ScalarKernels();
+    private final ArrayKernels vector = new VectorKernels();
+    private final BatchCalculator batchCalculator = new BatchCalculator(new Calculator(), Integer.MAX_VALUE);
+    private double[] a;
+    private double[] b;
+    private double[] out;
+    private BatchColumn divideColumn;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        a = new double[size];
+        b = new double[size];
+        out = new double[size];
+        for (int i = 0; i < size; i++) {
+            a[i] = random.nextDouble() * 1000;
+            b[i] = random.nextDouble() * 1000 + 1;
+        }
+        divideColumn = new BatchColumn("divide", a, b);
+    }
+
+    @Benchmark
+    public double[] addScalar() {
+        scalar.add(a, b, out, 0, size);
+        return out;
+    }
+
+    @Benchmark
+    public double[] addVector() {
+        vector.add(a, b, out, 0, size);
+        return out;
+    }
+
+    @Benchmark
+    public int divideScalar() {
+        return scalar.divide(a, b, out, 0, size);
+    }
+
+    @Benchmark
+    public int divideVector() {
+        return vector.divide(a, b, out, 0, size);
+    }
+
+    @Benchmark
+    public int sqrtScalar() {
+        return scalar.sqrt(a, out, 0, size);
+    }
+
+    @Benchmark
+    public int sqrtVector() {
+        return vector.sqrt(a, out, 0, size);
+    }
+
+    @Benchmark
+    public BatchColumnResult batchDivideColumn() {
+        return batchCalculator.evaluate(divideColumn);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.calculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loopback round trip through {@link BinaryProtocolServer}: one request at a time, and the
+ * per-request cost when 1024 requests are pipelined.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BinaryProtocolBenchmark {
+
+    private static final int PIPELINED = 1024;
+
+    private final double[] a = new double[PIPELINED];
+    private final double[] b = new double[PIPELINED];
+    private BinaryProtocolServer server;
+    private BinaryProtocolClient client;
+    private double value;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new BinaryProtocolServer(new Calculator(), "127.0.0.1", 0, 1);
+        server.start();
+        client = new BinaryProtocolClient("127.0.0.1", server.port());
+        Arrays.fill(a, 1.5);
+        Arrays.fill(b, 2.5);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public double roundTrip() throws IOException {
+        return client.add(value++, 2.5);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIPELINED)
+    public double[] pipelined() throws IOException {
+        return client.evaluateAll(BinaryProtocol.ADD, a, b);
+    }
+}
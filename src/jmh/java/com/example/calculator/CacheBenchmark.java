@@ -0,0 +1,62 @@
+package com.example.calculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memoized against computed primality of large numbers drawn from a small hot set, single
+ * threaded and with four threads sharing the cache. Compare the thread counts with
+ * {@code -t} to check that hits scale with cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class CacheBenchmark {
+
+    private static final int HOT_KEYS = 1 << 10;
+
+    private final long[] numbers = new long[HOT_KEYS];
+    private Calculator calculator;
+    private MemoizingCalculator memoizing;
+
+    @Setup
+    public void setUp() {
+        calculator = new Calculator(1 << 16);
+        memoizing = new MemoizingCalculator(1 << 16, 32, 1 << 14, 1 << 14, 1 << 14, 1 << 14, null, null, Optional.empty());
+        for (int i = 0; i < HOT_KEYS; i++) {
+            numbers[i] = 4_000_000_000_000_000_000L + 2 * i + 1;
+        }
+    }
+
+    @Benchmark
+    public boolean isPrimeComputed() {
+        return calculator.isPrime(numbers[ThreadLocalRandom.current().nextInt(HOT_KEYS)]);
+    }
+
+    @Benchmark
+    public boolean isPrimeMemoized() {
+        return memoizing.isPrime(numbers[ThreadLocalRandom.current().nextInt(HOT_KEYS)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean isPrimeMemoizedShared() {
+        return memoizing.isPrime(numbers[ThreadLocalRandom.current().nextInt(HOT_KEYS)]);
+    }
+}
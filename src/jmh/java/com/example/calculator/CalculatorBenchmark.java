@@ -0,0 +1,166 @@
+package com.example.calculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the scalar {@link Calculator} operations over several input distributions.
+ * Operands cycle through a pre-generated table so the JIT cannot constant-fold them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class CalculatorBenchmark {
+
+    private static final int TABLE_SIZE = 1 << 12;
+    private static final int MASK = TABLE_SIZE - 1;
+
+    /** small: operands below 1000; large: operands near the top of their range; mixed: log-uniform, both signs. */
+    @Param({"small", "large", "mixed"})
+    public String distribution;
+
+    private final Calculator calculator = new Calculator();
+    private final double[] doubles = new double[TABLE_SIZE];
+    private final int[] ints = new int[TABLE_SIZE];
+    private final int[] factorialInputs = new int[TABLE_SIZE];
+    private final CalculationResult result = new CalculationResult();
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            switch (distribution) {
+                case "small" -> {
+                    doubles[i] = random.nextDouble() * 1000 + 1;
+                    ints[i] = random.nextInt(1000) + 1;
+                }
+                case "large" -> {
+                    doubles[i] = 1e6 + random.nextDouble() * 1e12;
+                    ints[i] = Integer.MAX_VALUE - random.nextInt(1_000_000);
+                }
+                default -> {
+                    double sign = random.nextBoolean() ? 1 : -1;
+                    doubles[i] = sign * Math.pow(10, random.nextDouble() * 24 - 12);
+                    ints[i] = random.nextInt();
+                }
+            }
+            factorialInputs[i] = random.nextInt(FactorialEngine.MAX_LONG_INPUT + 1);
+        }
+    }
+
+    private int next() {
+        return index = (index + 1) & MASK;
+    }
+
+    private double a() {
+        return doubles[index];
+    }
+
+    private double b() {
+        return doubles[(index + 1) & MASK];
+    }
+
+    @Benchmark
+    public double add() {
+        next();
+        return calculator.add(a(), b());
+    }
+
+    @Benchmark
+    public double subtract() {
+        next();
+        return calculator.subtract(a(), b());
+    }
+
+    @Benchmark
+    public double multiply() {
+        next();
+        return calculator.multiply(a(), b());
+    }
+
+    @Benchmark
+    public double divide() {
+        next();
+        return calculator.divide(a(), b());
+    }
+
+    @Benchmark
+    public double power() {
+        next();
+        return calculator.power(a(), b() % 8);
+    }
+
+    @Benchmark
+    public double squareRoot() {
+        next();
+        return calculator.squareRoot(Math.abs(a()));
+    }
+
+    /** Rejecting a negative operand the way the endpoints used to, with an exception per input. */
+    @Benchmark
+    public double squareRootInvalidThrowing() {
+        next();
+        try {
+            return calculator.squareRoot(-Math.abs(a()) - 1);
+        } catch (IllegalArgumentException e) {
+            return Double.NaN;
+        }
+    }
+
+    /** Rejecting a negative operand through a reused result holder. */
+    @Benchmark
+    public double squareRootInvalidResult() {
+        next();
+        return calculator.squareRoot(-Math.abs(a()) - 1, result).value();
+    }
+
+    @Benchmark
+    public double percentage() {
+        next();
+        return calculator.percentage(a(), b());
+    }
+
+    @Benchmark
+    public boolean isEven() {
+        return calculator.isEven(ints[next()]);
+    }
+
+    @Benchmark
+    public boolean isPrime() {
+        return calculator.isPrime(ints[next()]);
+    }
+
+    @Benchmark
+    public long factorial() {
+        return calculator.factorial(factorialInputs[next()]);
+    }
+
+    @Benchmark
+    public int gcd() {
+        int i = next();
+        return calculator.gcd(ints[i], ints[(i + 1) & MASK]);
+    }
+
+    /** The long overload, since the lcm of two large ints overflows an int. */
+    @Benchmark
+    public long lcm() {
+        int i = next();
+        return calculator.lcm((long) ints[i], (long) ints[(i + 1) & MASK]);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.calculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dense square matrix products and solves on a pool with one worker per CPU. The naive product
+ * is the textbook triple loop, for comparison with the blocked kernels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class MatrixBenchmark {
+
+    @Param({"512", "2048"})
+    public int size;
+
+    private ForkJoinPool pool;
+    private MatrixCalculator matrices;
+    private Matrix a;
+    private Matrix b;
+    private Matrix rhs;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        matrices = new MatrixCalculator(pool);
+        Random random = new Random(42);
+        a = new Matrix(size, size, random.doubles((long) size * size).toArray());
+        b = new Matrix(size, size, random.doubles((long) size * size).toArray());
+        rhs = new Matrix(size, 1, random.doubles(size).toArray());
+        for (int i = 0; i < size; i++) {
+            a.values()[i * size + i] += size;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Matrix multiply() {
+        return matrices.multiply(a, b);
+    }
+
+    @Benchmark
+    public Matrix multiplyNaive() {
+        int n = size;
+        double[] x = a.values();
+        double[] y = b.values();
+        double[] z = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double sum = 0;
+                for (int k = 0; k < n; k++) {
+                    sum += x[i * n + k] * y[k * n + j];
+                }
+                z[i * n + j] = sum;
+            }
+        }
+        return new Matrix(n, n, z);
+    }
+
+    @Benchmark
+    public Matrix solve() {
+        return matrices.solve(a, rhs);
+    }
+}
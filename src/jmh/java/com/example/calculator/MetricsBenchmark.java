@@ -0,0 +1,63 @@
+package com.example.calculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of latency recording: a bare histogram update, the same under contention, and a
+ * calculator call through the timing proxy against a direct call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class MetricsBenchmark {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final Calculator calculator = new Calculator();
+    private Calculator timedCalculator;
+    private long value;
+
+    @Setup
+    public void setUp() {
+        ProxyFactory factory = new ProxyFactory(calculator);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new MetricsConfiguration.TimingInterceptor(new CalculatorMetrics(), Calculator.class));
+        timedCalculator = (Calculator) factory.getProxy();
+    }
+
+    @Benchmark
+    public void record() {
+        histogram.record(value++ & 0xFFFFF);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        histogram.record(System.nanoTime() & 0xFFFFF);
+    }
+
+    @Benchmark
+    public double addDirect() {
+        return calculator.add(1.5, 2.5);
+    }
+
+    @Benchmark
+    public double addTimed() {
+        return timedCalculator.add(1.5, 2.5);
+    }
+}
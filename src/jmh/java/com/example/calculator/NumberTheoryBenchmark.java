@@ -0,0 +1,120 @@
+package com.example.calculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the expensive number-theory operations: primality on both sides of the sieve bound,
+ * factorization of the hardest 62-bit inputs, modular exponentiation one by one, in a batch and
+ * through {@link BigInteger}, prime range counting and exact factorials.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class NumberTheoryBenchmark {
+
+    private static final int TABLE_SIZE = 1 << 12;
+    private static final int MASK = TABLE_SIZE - 1;
+    private static final long MODULUS = (1L << 61) - 1;
+    private static final BigInteger BIG_MODULUS = BigInteger.valueOf(MODULUS);
+
+    @Param({"1000", "100000"})
+    public int factorialInput;
+
+    @Param({"10000000"})
+    public long primeRange;
+
+    private final Calculator calculator = new Calculator();
+    private final long[] sieveInputs = new long[TABLE_SIZE];
+    private final long[] intInputs = new long[TABLE_SIZE];
+    private final long[] longInputs = new long[TABLE_SIZE];
+    private final long[] semiprimes = new long[TABLE_SIZE];
+    private final long[] powers = new long[TABLE_SIZE];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            sieveInputs[i] = random.nextInt((int) PrimeSieve.DEFAULT_LIMIT);
+            intInputs[i] = Integer.MAX_VALUE - random.nextInt(1_000_000);
+            longInputs[i] = BigInteger.probablePrime(62, random).longValue();
+            semiprimes[i] = BigInteger.probablePrime(31, random).longValue()
+                    * BigInteger.probablePrime(31, random).longValue();
+        }
+    }
+
+    private int next() {
+        return index = (index + 1) & MASK;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean isPrimeSieve() {
+        return calculator.isPrime(sieveInputs[next()]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean isPrimeNearIntMax() {
+        return calculator.isPrime(intInputs[next()]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean isPrimeLargeLong() {
+        return calculator.isPrime(longInputs[next()]);
+    }
+
+    @Benchmark
+    public long[] factorizeSemiprime() {
+        return calculator.factorize(semiprimes[next()]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public long modPow() {
+        int i = next();
+        return calculator.modPow(longInputs[i], semiprimes[i], MODULUS);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public BigInteger modPowBigInteger() {
+        int i = next();
+        return BigInteger.valueOf(longInputs[i]).modPow(BigInteger.valueOf(semiprimes[i]), BIG_MODULUS);
+    }
+
+    /** Powers of the whole table under one modulus; divide by {@value #TABLE_SIZE} for one element. */
+    @Benchmark
+    public long[] modPowBatch() {
+        calculator.modPow(longInputs, semiprimes, MODULUS, powers);
+        return powers;
+    }
+
+    @Benchmark
+    public long countPrimes() {
+        return calculator.countPrimes(0, primeRange);
+    }
+
+    @Benchmark
+    public BigInteger factorialExact() {
+        return calculator.factorialExact(factorialInput);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.calculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building an endpoint response: the original {@link String#format} construction against
+ * {@link ResponseWriter}. Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class RenderingBenchmark {
+
+    private static final int TABLE_SIZE = 1 << 10;
+    private static final int MASK = TABLE_SIZE - 1;
+
+    private final double[] values = new double[TABLE_SIZE];
+    private final ResponseWriter writer = new ResponseWriter();
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            values[i] = (random.nextDouble() - 0.5) * 1e6;
+        }
+    }
+
+    @Benchmark
+    public String addStringFormat() {
+        int i = index = (index + 1) & MASK;
+        double a = values[i];
+        double b = values[(i + 1) & MASK];
+        return String.format("%.2f + %.2f = %.2f", a, b, a + b);
+    }
+
+    @Benchmark
+    public int addResponseWriter() {
+        int i = index = (index + 1) & MASK;
+        double a = values[i];
+        double b = values[(i + 1) & MASK];
+        return writer.reset().appendFixed(a).append(" + ").appendFixed(b).append(" = ").appendFixed(a + b).length();
+    }
+
+    @Benchmark
+    public String isPrimeStringFormat() {
+        long number = (long) values[index = (index + 1) & MASK];
+        return String.format("%d is %s", number, (number & 1) == 0 ? "prime" : "not prime");
+    }
+
+    @Benchmark
+    public int isPrimeResponseWriter() {
+        long number = (long) values[index = (index + 1) & MASK];
+        return writer.reset().append(number).append((number & 1) == 0 ? " is prime" : " is not prime").length();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.calculator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summaries of a million doubles: one sequential pass, sharded on a pool with one worker per CPU,
+ * and the exact mean, variance and median a client computes by holding and sorting every value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsBenchmark {
+
+    private static final int VALUES = 1 << 20;
+
+    private ForkJoinPool pool;
+    private StatisticsService service;
+    private double[] values;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        service = new StatisticsService(pool, 100, 1);
+        values = new Random(42).doubles(VALUES).map(x -> -Math.log(1 - x)).toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double sequential() {
+        StreamingStatistics statistics = new StreamingStatistics(100);
+        statistics.add(values, 0, values.length);
+        return statistics.quantile(0.5) + statistics.variance();
+    }
+
+    @Benchmark
+    public double parallel() {
+        StreamingStatistics statistics = service.summarize(values, values.length);
+        return statistics.quantile(0.5) + statistics.variance();
+    }
+
+    @Benchmark
+    public double sortExact() {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double mean = 0;
+        for (double value : sorted) {
+            mean += value;
+        }
+        mean /= sorted.length;
+        double squares = 0;
+        for (double value : sorted) {
+            squares += (value - mean) * (value - mean);
+        }
+        return sorted[sorted.length / 2] + squares / (sorted.length - 1);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.calculator;
+
+/**
+ * Element-wise kernels over primitive arrays, used by the array overloads of {@link Calculator}.
+ * Every kernel processes the half-open range {@code [from, to)} and writes into a caller-supplied
+ * output array. Kernels that can fail return the index of the first invalid element, after writing
+ * every element before it, or {@code -1} when the whole range was computed.
+ */
+interface ArrayKernels {
+
+    /** Returned by the checked kernels when every element was computed. */
+    int OK = -1;
+
+    void add(double[] a, double[] b, double[] out, int from, int to);
+
+    void subtract(double[] a, double[] b, double[] out, int from, int to);
+
+    void multiply(double[] a, double[] b, double[] out, int from, int to);
+
+    void percentage(double[] a, double[] b, double[] out, int from, int to);
+
+    int divide(double[] a, double[] b, double[] out, int from, int to);
+
+    int sqrt(double[] in, double[] out, int from, int to);
+
+    /**
+     * Accumulates one tile of a row-major matrix product, {@code c[i][j] += a[i][k] * b[k][j]},
+     * for rows {@code [rowFrom, rowTo)}, inner indices {@code [kFrom, kTo)} and columns
+     * {@code [colFrom, colTo)}. Every element adds its products in ascending {@code k}.
+     *
+     * @param a left matrix with {@code inner} columns
+     * @param b right matrix with {@code cols} columns
+     * @param c product matrix with {@code cols} columns, updated in place
+     */
+    void multiplyTile(double[] a, double[] b, double[] c, int inner, int cols,
+                      int rowFrom, int rowTo, int kFrom, int kTo, int colFrom, int colTo);
+
+    /**
+     * Returns the fastest kernels available in this JVM: the SIMD implementation when the
+     * {@code jdk.incubator.vector} module is resolved, otherwise the scalar one.
+     *
+     * @return shared kernel instance
+     */
+    static ArrayKernels get() {
+        return Holder.INSTANCE;
+    }
+
+    final class Holder {
+
+        static final ArrayKernels INSTANCE = select();
+
+        private Holder() {
+        }
+
+        private static ArrayKernels select() {
+            boolean enabled = Boolean.parseBoolean(System.getProperty("calculator.vector.enabled", "true"));
+            if (enabled && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                try {
+                    // Loaded reflectively so that the class is never linked without the module
+                    return (ArrayKernels) Class.forName("com.example.calculator.VectorKernels")
+                            .getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException | LinkageError e) {
+                    return new ScalarKernels();
+                }
+            }
+            return new ScalarKernels();
+        }
+    }
+}
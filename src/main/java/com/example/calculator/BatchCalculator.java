@@ -0,0 +1,194 @@
+package com.example.calculator;
+
+import com.example.calculator.dto.BatchColumn;
+import com.example.calculator.dto.BatchColumnResult;
+import com.example.calculator.dto.BatchError;
+import com.example.calculator.dto.BatchItem;
+import com.example.calculator.dto.BatchRequest;
+import com.example.calculator.dto.BatchResponse;
+import com.example.calculator.dto.BatchResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Evaluates many calculator operations in one call.
+ * Errors such as division by zero are reported per item and never fail the whole batch; they
+ * travel as {@link CalculationResult}s, so a batch of invalid operands throws no exceptions.
+ * Inside an asynchronous job, progress is counted in operations and cancellation is checked
+ * between blocks of items and between columns.
+ */
+@Service
+public class BatchCalculator {
+
+    /** Index used in a {@link BatchError} that applies to a whole column rather than one element. */
+    public static final int COLUMN_ERROR = -1;
+
+    /** Items evaluated between two cancellation checks of an asynchronous job. */
+    private static final int CANCELLATION_CHECK_INTERVAL = 1024;
+
+    private final Calculator calculator;
+    private final int maxItems;
+
+    public BatchCalculator(Calculator calculator,
+                           @Value("${calculator.batch.max-items:1000000}") int maxItems) {
+        this.calculator = calculator;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Evaluates every item and column of a batch request.
+     *
+     * @param request the batch to evaluate
+     * @return results in the same order as the request
+     * @throws IllegalArgumentException if the batch holds more than the configured number of operations
+     */
+    public BatchResponse evaluate(BatchRequest request) {
+        List<BatchItem> items = request.items() == null ? List.of() : request.items();
+        List<BatchColumn> columns = request.columns() == null ? List.of() : request.columns();
+        JobContext context = JobContext.current();
+        context.addWork(checkSize(items, columns));
+
+        List<BatchResult> itemResults = new ArrayList<>(items.size());
+        for (BatchItem item : items) {
+            if (itemResults.size() % CANCELLATION_CHECK_INTERVAL == 0) {
+                context.checkCancelled();
+            }
+            itemResults.add(evaluate(item));
+            if (itemResults.size() % CANCELLATION_CHECK_INTERVAL == 0) {
+                context.progress(CANCELLATION_CHECK_INTERVAL);
+            }
+        }
+        context.progress(itemResults.size() % CANCELLATION_CHECK_INTERVAL);
+        List<BatchColumnResult> columnResults = new ArrayList<>(columns.size());
+        for (BatchColumn column : columns) {
+            context.checkCancelled();
+            columnResults.add(evaluate(column));
+            context.progress(column.a() == null ? 0 : column.a().length);
+        }
+        return new BatchResponse(itemResults, columnResults);
+    }
+
+    /**
+     * Evaluates a single batch item.
+     *
+     * @param item the item to evaluate
+     * @return the result, or the error message if the item is invalid
+     */
+    public BatchResult evaluate(BatchItem item) {
+        Operation operation = Operation.find(item.op());
+        if (operation == null) {
+            return BatchResult.failure(Operation.unknown(item.op()));
+        }
+        CalculationResult result = operation.apply(calculator, item.a(), item.b(), CalculationResult.get());
+        return result.isSuccess() ? BatchResult.success(result.value()) : BatchResult.failure(result.message());
+    }
+
+    /**
+     * Evaluates a column batch element-wise.
+     *
+     * @param column the column to evaluate
+     * @return the results; failing elements are {@code NaN} and listed as errors
+     */
+    public BatchColumnResult evaluate(BatchColumn column) {
+        Operation operation = Operation.find(column.op());
+        if (operation == null) {
+            return columnFailure(column.op(), Operation.unknown(column.op()));
+        }
+        double[] a = column.a() == null ? new double[0] : column.a();
+        double[] b = column.b();
+        if (b == null) {
+            b = new double[a.length];
+        } else if (b.length != a.length) {
+            return columnFailure(column.op(), "Operand columns must have the same length");
+        }
+
+        double[] results = new double[a.length];
+        List<BatchError> errors = new ArrayList<>();
+        evaluate(operation, a, b, results, 0, a.length, (message, index) -> errors.add(new BatchError(index, message)));
+        return new BatchColumnResult(column.op(), results, errors);
+    }
+
+    /**
+     * Evaluates an operation element-wise over a range of operand arrays, using the SIMD kernels
+     * where the operation has one. Failing elements are set to {@code NaN} and reported.
+     *
+     * @param operation the operation
+     * @param a first operands
+     * @param b second operands, ignored by unary operations
+     * @param results receives the results
+     * @param from first index, inclusive
+     * @param to last index, exclusive
+     * @param errors receives the error message and index of each failing element
+     */
+    void evaluate(Operation operation, double[] a, double[] b, double[] results, int from, int to,
+                  ObjIntConsumer<String> errors) {
+        ArrayKernels kernels = ArrayKernels.get();
+        switch (operation) {
+            case ADD -> kernels.add(a, b, results, from, to);
+            case SUBTRACT -> kernels.subtract(a, b, results, from, to);
+            case MULTIPLY -> kernels.multiply(a, b, results, from, to);
+            case PERCENTAGE -> kernels.percentage(a, b, results, from, to);
+            case DIVIDE, SQRT -> {
+                int start = from;
+                while (start < to) {
+                    int index = operation == Operation.DIVIDE
+                            ? kernels.divide(a, b, results, start, to)
+                            : kernels.sqrt(a, results, start, to);
+                    if (index == ArrayKernels.OK) {
+                        break;
+                    }
+                    // Re-evaluate the failing element on the scalar path to report its error
+                    results[index] = evaluateElement(operation, a, b, index, errors);
+                    start = index + 1;
+                }
+            }
+            default -> {
+                for (int i = from; i < to; i++) {
+                    results[i] = evaluateElement(operation, a, b, i, errors);
+                }
+            }
+        }
+    }
+
+    private double evaluateElement(Operation operation, double[] a, double[] b, int index,
+                                   ObjIntConsumer<String> errors) {
+        CalculationResult result = operation.apply(calculator, a[index], b[index], CalculationResult.get());
+        if (!result.isSuccess()) {
+            errors.accept(result.message(), index);
+        }
+        return result.value();
+    }
+
+    private static BatchColumnResult columnFailure(String op, String message) {
+        return new BatchColumnResult(op, new double[0],
+                Collections.singletonList(new BatchError(COLUMN_ERROR, message)));
+    }
+
+    private long checkSize(List<BatchItem> items, List<BatchColumn> columns) {
+        long total = items.size();
+        for (BatchColumn column : columns) {
+            total += column.a() == null ? 0 : column.a().length;
+        }
+        checkSize(total);
+        return total;
+    }
+
+    /**
+     * Checks a batch size against {@code calculator.batch.max-items}, for endpoints that take
+     * arrays of operands outside this class.
+     *
+     * @param total number of operations in the batch
+     * @throws IllegalArgumentException if the batch is too large
+     */
+    void checkSize(long total) {
+        if (total > maxItems) {
+            throw new IllegalArgumentException(
+                    "Batch of " + total + " operations exceeds the limit of " + maxItems);
+        }
+    }
+}
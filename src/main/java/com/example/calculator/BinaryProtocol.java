@@ -0,0 +1,123 @@
+package com.example.calculator;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-width binary frames for calling {@link Calculator} over TCP.
+ *
+ * <p>A request is {@value #REQUEST_SIZE} bytes: an opcode byte followed by two 8-byte operands.
+ * A response is {@value #RESPONSE_SIZE} bytes: a status byte, 0 on success or a
+ * {@link CalculationError#code()}, followed by an 8-byte result. All values are big-endian.
+ * Floating-point operations carry IEEE 754 doubles in both operand and result slots; integer
+ * operations carry two's complement longs. Unary operations ignore the second operand.
+ *
+ * <p>Responses are returned in request order, so a client may send many requests before
+ * reading any response.
+ */
+public final class BinaryProtocol {
+
+    /** Request frame length in bytes. */
+    public static final int REQUEST_SIZE = 17;
+
+    /** Response frame length in bytes. */
+    public static final int RESPONSE_SIZE = 9;
+
+    /** Status byte of a successful response. */
+    public static final byte OK = 0;
+
+    public static final byte ADD = 1;
+    public static final byte SUBTRACT = 2;
+    public static final byte MULTIPLY = 3;
+    public static final byte DIVIDE = 4;
+    public static final byte POWER = 5;
+    public static final byte PERCENTAGE = 6;
+    public static final byte SQRT = 7;
+
+    /** Integer operation: 1 if the first operand is prime, else 0. */
+    public static final byte IS_PRIME = 16;
+    /** Integer operation: factorial of the first operand, which must be at most 20. */
+    public static final byte FACTORIAL = 17;
+    public static final byte GCD = 18;
+    public static final byte LCM = 19;
+
+    private BinaryProtocol() {
+    }
+
+    /**
+     * Returns whether an opcode takes and returns longs rather than doubles.
+     *
+     * @param opcode the opcode
+     * @return true for integer operations
+     */
+    public static boolean isIntegral(byte opcode) {
+        return opcode >= IS_PRIME;
+    }
+
+    /**
+     * Executes one request read at the buffer's position and appends its response.
+     *
+     * @param calculator executes the operation
+     * @param in holds at least {@link #REQUEST_SIZE} remaining bytes; advanced past the request
+     * @param out has at least {@link #RESPONSE_SIZE} bytes remaining; advanced past the response
+     */
+    static void execute(Calculator calculator, ByteBuffer in, ByteBuffer out) {
+        byte opcode = in.get();
+        long a = in.getLong();
+        long b = in.getLong();
+        try {
+            boolean integral = isIntegral(opcode);
+            CalculationResult result = integral
+                    ? executeIntegral(calculator, opcode, a, b, CalculationResult.get())
+                    : executeDouble(calculator, opcode, Double.longBitsToDouble(a), Double.longBitsToDouble(b),
+                            CalculationResult.get());
+            if (result.isSuccess()) {
+                out.put(OK).putLong(integral ? result.longValue() : Double.doubleToRawLongBits(result.value()));
+            } else {
+                out.put((byte) result.error().code()).putLong(0);
+            }
+        } catch (UnknownOpcodeException e) {
+            out.put((byte) CalculationError.UNKNOWN_OPERATION.code()).putLong(0);
+        } catch (RuntimeException e) {
+            out.put((byte) CalculationError.of(e).code()).putLong(0);
+        }
+    }
+
+    private static CalculationResult executeDouble(Calculator calculator, byte opcode, double a, double b,
+                                                   CalculationResult result) {
+        return switch (opcode) {
+            case ADD -> result.success(calculator.add(a, b));
+            case SUBTRACT -> result.success(calculator.subtract(a, b));
+            case MULTIPLY -> result.success(calculator.multiply(a, b));
+            case DIVIDE -> calculator.divide(a, b, result);
+            case POWER -> result.success(calculator.power(a, b));
+            case PERCENTAGE -> result.success(calculator.percentage(a, b));
+            case SQRT -> calculator.squareRoot(a, result);
+            default -> throw new UnknownOpcodeException();
+        };
+    }
+
+    private static CalculationResult executeIntegral(Calculator calculator, byte opcode, long a, long b,
+                                                     CalculationResult result) {
+        return switch (opcode) {
+            case IS_PRIME -> result.success(calculator.isPrime(a) ? 1L : 0L);
+            case FACTORIAL -> calculator.factorial(toInt(a), result);
+            case GCD -> result.success(calculator.gcd(a, b));
+            case LCM -> result.success(calculator.lcm(a, b));
+            default -> throw new UnknownOpcodeException();
+        };
+    }
+
+    private static int toInt(long value) {
+        if (value != (int) value) {
+            throw new IllegalArgumentException("Operand out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    /** Raised for opcodes outside the protocol; a stackless control-flow signal. */
+    private static final class UnknownOpcodeException extends RuntimeException {
+        UnknownOpcodeException() {
+            super(null, null, false, false);
+        }
+    }
+}
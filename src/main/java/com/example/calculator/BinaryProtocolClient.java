@@ -0,0 +1,202 @@
+package com.example.calculator;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Blocking client for {@link BinaryProtocolServer}. Errors come back as the exceptions
+ * {@link Calculator} would throw: {@link ArithmeticException} on overflow and
+ * {@link IllegalArgumentException} otherwise.
+ *
+ * <p>Instances hold one connection and are not thread-safe; use one per thread or pool them.
+ */
+public final class BinaryProtocolClient implements Closeable {
+
+    /** Requests sent per write by {@link #evaluateAll}. */
+    private static final int PIPELINE_DEPTH = 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer requests = ByteBuffer.allocateDirect(PIPELINE_DEPTH * BinaryProtocol.REQUEST_SIZE);
+    private final ByteBuffer responses = ByteBuffer.allocateDirect(PIPELINE_DEPTH * BinaryProtocol.RESPONSE_SIZE);
+
+    /**
+     * Connects to a server.
+     *
+     * @param host server host
+     * @param port server port
+     * @throws IOException if the connection fails
+     */
+    public BinaryProtocolClient(String host, int port) throws IOException {
+        this.channel = SocketChannel.open(new InetSocketAddress(host, port));
+        this.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    }
+
+    /** Remote {@link Calculator#add(double, double)}. */
+    public double add(double a, double b) throws IOException {
+        return evaluate(BinaryProtocol.ADD, a, b);
+    }
+
+    /** Remote {@link Calculator#subtract(double, double)}. */
+    public double subtract(double a, double b) throws IOException {
+        return evaluate(BinaryProtocol.SUBTRACT, a, b);
+    }
+
+    /** Remote {@link Calculator#multiply(double, double)}. */
+    public double multiply(double a, double b) throws IOException {
+        return evaluate(BinaryProtocol.MULTIPLY, a, b);
+    }
+
+    /** Remote {@link Calculator#divide(double, double)}. */
+    public double divide(double a, double b) throws IOException {
+        return evaluate(BinaryProtocol.DIVIDE, a, b);
+    }
+
+    /** Remote {@link Calculator#power(double, double)}. */
+    public double power(double base, double exponent) throws IOException {
+        return evaluate(BinaryProtocol.POWER, base, exponent);
+    }
+
+    /** Remote {@link Calculator#percentage(double, double)}. */
+    public double percentage(double number, double percentage) throws IOException {
+        return evaluate(BinaryProtocol.PERCENTAGE, number, percentage);
+    }
+
+    /** Remote {@link Calculator#squareRoot(double)}. */
+    public double squareRoot(double number) throws IOException {
+        return evaluate(BinaryProtocol.SQRT, number, 0);
+    }
+
+    /** Remote {@link Calculator#isPrime(long)}. */
+    public boolean isPrime(long number) throws IOException {
+        return evaluateLong(BinaryProtocol.IS_PRIME, number, 0) != 0;
+    }
+
+    /** Remote {@link Calculator#factorial(int)}. */
+    public long factorial(int number) throws IOException {
+        return evaluateLong(BinaryProtocol.FACTORIAL, number, 0);
+    }
+
+    /** Remote {@link Calculator#gcd(long, long)}. */
+    public long gcd(long a, long b) throws IOException {
+        return evaluateLong(BinaryProtocol.GCD, a, b);
+    }
+
+    /** Remote {@link Calculator#lcm(long, long)}. */
+    public long lcm(long a, long b) throws IOException {
+        return evaluateLong(BinaryProtocol.LCM, a, b);
+    }
+
+    /**
+     * Performs one floating-point operation.
+     *
+     * @param opcode a floating-point opcode of {@link BinaryProtocol}
+     * @param a first operand
+     * @param b second operand, ignored by unary operations
+     * @return the result
+     * @throws IOException if the connection fails
+     */
+    public double evaluate(byte opcode, double a, double b) throws IOException {
+        return Double.longBitsToDouble(call(opcode, Double.doubleToRawLongBits(a), Double.doubleToRawLongBits(b)));
+    }
+
+    /**
+     * Performs one integer operation.
+     *
+     * @param opcode an integer opcode of {@link BinaryProtocol}
+     * @param a first operand
+     * @param b second operand, ignored by unary operations
+     * @return the result
+     * @throws IOException if the connection fails
+     */
+    public long evaluateLong(byte opcode, long a, long b) throws IOException {
+        return call(opcode, a, b);
+    }
+
+    /**
+     * Performs a floating-point operation over arrays, pipelining up to 1024 requests per
+     * round trip. Every response is read before an error is raised, so the connection stays
+     * usable afterwards.
+     *
+     * @param opcode a floating-point opcode of {@link BinaryProtocol}
+     * @param a first operands
+     * @param b second operands, same length as {@code a}
+     * @return the results
+     * @throws IOException if the connection fails
+     * @throws IllegalArgumentException if an operation failed; the message names the first index
+     */
+    public double[] evaluateAll(byte opcode, double[] a, double[] b) throws IOException {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Operand arrays must have the same length");
+        }
+        double[] results = new double[a.length];
+        RuntimeException firstError = null;
+        for (int from = 0; from < a.length; from += PIPELINE_DEPTH) {
+            int to = Math.min(a.length, from + PIPELINE_DEPTH);
+            requests.clear();
+            for (int i = from; i < to; i++) {
+                requests.put(opcode).putDouble(a[i]).putDouble(b[i]);
+            }
+            requests.flip();
+            writeFully(requests);
+            responses.clear().limit((to - from) * BinaryProtocol.RESPONSE_SIZE);
+            readFully(responses);
+            responses.flip();
+            for (int i = from; i < to; i++) {
+                byte status = responses.get();
+                results[i] = responses.getDouble();
+                if (status != BinaryProtocol.OK && firstError == null) {
+                    firstError = error(status, " at index " + i);
+                }
+            }
+        }
+        if (firstError != null) {
+            throw firstError;
+        }
+        return results;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long call(byte opcode, long a, long b) throws IOException {
+        requests.clear();
+        requests.put(opcode).putLong(a).putLong(b).flip();
+        writeFully(requests);
+        responses.clear().limit(BinaryProtocol.RESPONSE_SIZE);
+        readFully(responses);
+        byte status = responses.get(0);
+        if (status != BinaryProtocol.OK) {
+            throw error(status, "");
+        }
+        return responses.getLong(1);
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Connection closed by server");
+            }
+        }
+    }
+
+    private static RuntimeException error(byte status, String suffix) {
+        CalculationError error = CalculationError.fromCode(status & 0xFF);
+        if (error == CalculationError.OVERFLOW) {
+            return new ArithmeticException(error.message() + suffix);
+        }
+        return new IllegalArgumentException(error.message() + suffix);
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.calculator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * TCP server speaking {@link BinaryProtocol}, started alongside the web server when
+ * {@code calculator.binary.enabled} is true.
+ *
+ * <p>An acceptor thread hands connections round-robin to a fixed set of I/O threads, each
+ * running a non-blocking selector loop. Requests are decoded straight from a per-connection
+ * direct buffer and executed on the I/O thread, and responses are encoded into a second direct
+ * buffer that is written back once the batch of buffered requests is done, so pipelined
+ * requests cost one read and one write system call per batch. When the peer stops reading,
+ * the connection stops reading too until its responses drain.
+ */
+@Component
+@ConditionalOnProperty(name = "calculator.binary.enabled", havingValue = "true")
+public class BinaryProtocolServer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryProtocolServer.class);
+
+    /** Buffered requests per connection read; responses get a buffer holding as many. */
+    private static final int FRAMES_PER_BUFFER = 4096;
+
+    private final Calculator calculator;
+    private final String address;
+    private final int port;
+    private final int ioThreads;
+
+    private ServerSocketChannel serverChannel;
+    private Thread acceptor;
+    private List<Worker> workers;
+    private volatile boolean running;
+
+    /**
+     * Creates the server.
+     *
+     * @param calculator executes the requests
+     * @param address address to bind
+     * @param port port to listen on; 0 picks a free port
+     * @param ioThreads number of selector threads; 0 uses one per available processor
+     */
+    public BinaryProtocolServer(Calculator calculator,
+                                @Value("${calculator.binary.address:0.0.0.0}") String address,
+                                @Value("${calculator.binary.port:9090}") int port,
+                                @Value("${calculator.binary.io-threads:0}") int ioThreads) {
+        this.calculator = calculator;
+        this.address = address;
+        this.port = port;
+        this.ioThreads = ioThreads > 0 ? ioThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        try {
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(address, port));
+            running = true;
+            workers = new ArrayList<>(ioThreads);
+            for (int i = 0; i < ioThreads; i++) {
+                Worker worker = new Worker(Selector.open());
+                worker.thread = new Thread(worker, "binary-io-" + i);
+                worker.thread.setDaemon(true);
+                worker.thread.start();
+                workers.add(worker);
+            }
+        } catch (IOException e) {
+            running = false;
+            throw new UncheckedIOException("Cannot start binary protocol server on port " + port, e);
+        }
+        acceptor = new Thread(this::accept, "binary-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        logger.info("Binary protocol server listening on port {}", port());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            serverChannel.close();
+            for (Worker worker : workers) {
+                worker.selector.wakeup();
+            }
+            acceptor.join(1000);
+            for (Worker worker : workers) {
+                worker.thread.join(1000);
+            }
+        } catch (IOException e) {
+            logger.warn("Error closing binary protocol server", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the port the server listens on, useful when it was configured as 0.
+     *
+     * @return the bound port
+     */
+    public int port() {
+        try {
+            return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void accept() {
+        int next = 0;
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                workers.get(next).register(channel);
+                next = (next + 1) % workers.size();
+            } catch (IOException e) {
+                if (running) {
+                    logger.warn("Failed to accept binary protocol connection", e);
+                }
+            }
+        }
+    }
+
+    /** A selector loop serving a share of the connections. */
+    private final class Worker implements Runnable {
+
+        private final Selector selector;
+        private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+        private Thread thread;
+
+        Worker(Selector selector) {
+            this.selector = selector;
+        }
+
+        void register(SocketChannel channel) {
+            pending.add(channel);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    SocketChannel channel;
+                    while ((channel = pending.poll()) != null) {
+                        accept(channel);
+                    }
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            connection.serve(key);
+                        } catch (IOException e) {
+                            connection.close(key);
+                        } catch (RuntimeException e) {
+                            // One broken connection must not stop the thread serving all the others
+                            logger.warn("Closing binary protocol connection after an unexpected failure", e);
+                            connection.close(key);
+                        }
+                    }
+                    selector.selectedKeys().clear();
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                if (running) {
+                    logger.error("Binary protocol I/O thread failed", e);
+                }
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    ((Connection) key.attachment()).close(key);
+                }
+                try {
+                    selector.close();
+                } catch (IOException e) {
+                    logger.debug("Error closing selector", e);
+                }
+            }
+        }
+
+        private void accept(SocketChannel channel) {
+            try {
+                channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+            } catch (IOException | RuntimeException e) {
+                // The client may already have gone; only this connection is lost
+                logger.debug("Could not register binary protocol connection", e);
+                try {
+                    channel.close();
+                } catch (IOException closeFailure) {
+                    logger.debug("Error closing binary protocol connection", closeFailure);
+                }
+            }
+        }
+    }
+
+    /** Per-connection buffers and the decode, execute, encode loop. */
+    private final class Connection {
+
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocateDirect(FRAMES_PER_BUFFER * BinaryProtocol.REQUEST_SIZE);
+        private final ByteBuffer out = ByteBuffer.allocateDirect(FRAMES_PER_BUFFER * BinaryProtocol.RESPONSE_SIZE);
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void serve(SelectionKey key) throws IOException {
+            if (key.isReadable() && channel.read(in) < 0) {
+                close(key);
+                return;
+            }
+            while (true) {
+                in.flip();
+                while (in.remaining() >= BinaryProtocol.REQUEST_SIZE
+                        && out.remaining() >= BinaryProtocol.RESPONSE_SIZE) {
+                    BinaryProtocol.execute(calculator, in, out);
+                }
+                boolean moreRequests = in.remaining() >= BinaryProtocol.REQUEST_SIZE;
+                in.compact();
+                out.flip();
+                channel.write(out);
+                boolean drained = !out.hasRemaining();
+                out.compact();
+                if (!drained) {
+                    key.interestOps(SelectionKey.OP_WRITE);
+                    return;
+                }
+                if (!moreRequests) {
+                    key.interestOps(SelectionKey.OP_READ);
+                    return;
+                }
+            }
+        }
+
+        void close(SelectionKey key) {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Error closing binary protocol connection", e);
+            }
+        }
+    }
+}
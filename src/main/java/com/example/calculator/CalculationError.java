@@ -0,0 +1,85 @@
+package com.example.calculator;
+
+/**
+ * Kinds of failure reported by {@link Calculator} operations, with a stable label for metrics
+ * and a stable code for the binary protocol.
+ */
+public enum CalculationError {
+
+    DIVISION_BY_ZERO(1, "division_by_zero", "Division by zero is not allowed"),
+    NEGATIVE_SQRT(2, "negative_sqrt", "Cannot calculate square root of negative number"),
+    NEGATIVE_FACTORIAL(3, "negative_factorial", "Factorial is not defined for negative numbers"),
+    OVERFLOW(4, "overflow", "Result overflows"),
+    INVALID_ARGUMENT(5, "invalid_argument", "Invalid argument"),
+    UNKNOWN_OPERATION(6, "unknown_operation", "Unknown operation");
+
+    private final int code;
+    private final String label;
+    private final String message;
+
+    CalculationError(int code, String label, String message) {
+        this.code = code;
+        this.label = label;
+        this.message = message;
+    }
+
+    /**
+     * Returns the wire code of this error; 0 is reserved for success.
+     *
+     * @return code between 1 and 255
+     */
+    public int code() {
+        return code;
+    }
+
+    /**
+     * Returns the snake_case label used in metrics.
+     *
+     * @return label
+     */
+    public String label() {
+        return label;
+    }
+
+    /**
+     * Returns a generic message for this error, for when the original message is not available.
+     *
+     * @return message
+     */
+    public String message() {
+        return message;
+    }
+
+    /**
+     * Classifies an exception thrown by a calculator operation.
+     *
+     * @param e the exception
+     * @return the error a {@link CalculationException} carries, {@link #OVERFLOW} for an
+     *         {@link ArithmeticException} and {@link #INVALID_ARGUMENT} otherwise
+     */
+    public static CalculationError of(RuntimeException e) {
+        if (e instanceof CalculationException calculation) {
+            return calculation.error();
+        }
+        if (e instanceof ArithmeticException) {
+            return OVERFLOW;
+        }
+        return INVALID_ARGUMENT;
+    }
+
+    /**
+     * Looks an error up by wire code.
+     *
+     * @param code the code
+     * @return the error
+     * @throws IllegalArgumentException if no error has this code
+     */
+    public static CalculationError fromCode(int code) {
+        for (CalculationError error : values()) {
+            if (error.code == code) {
+                return error;
+            }
+        }
+        throw new IllegalArgumentException("Unknown error code: " + code);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.calculator;
+
+/**
+ * Thrown by the throwing {@link Calculator} operations for input they reject, carrying the
+ * {@link CalculationError} so that metrics and the binary protocol classify it without reading
+ * the message. Still an {@link IllegalArgumentException}, so callers catching that are unaffected.
+ */
+public class CalculationException extends IllegalArgumentException {
+
+    private final CalculationError error;
+
+    /**
+     * Creates an exception with the error's own message.
+     *
+     * @param error what went wrong
+     */
+    public CalculationException(CalculationError error) {
+        this(error, error.message());
+    }
+
+    /**
+     * Creates an exception with a more specific message.
+     *
+     * @param error what went wrong
+     * @param message the detail message
+     */
+    public CalculationException(CalculationError error, String message) {
+        super(message);
+        this.error = error;
+    }
+
+    /**
+     * Returns the kind of failure.
+     *
+     * @return the error
+     */
+    public CalculationError error() {
+        return error;
+    }
+}
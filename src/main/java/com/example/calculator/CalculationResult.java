@@ -0,0 +1,112 @@
+package com.example.calculator;
+
+/**
+ * Mutable holder for the outcome of a calculator operation: either a value or a
+ * {@link CalculationError}. The result-returning overloads of {@link Calculator} and
+ * {@link Operation} fill one in instead of throwing, so rejecting an invalid input costs neither
+ * an exception nor its stack trace, and a reused holder allocates nothing.
+ *
+ * <p>A holder belongs to one thread. {@link #get()} hands out the calling thread's holder, which
+ * the next call to {@code get()} on that thread overwrites.
+ */
+public final class CalculationResult {
+
+    private static final ThreadLocal<CalculationResult> CURRENT = ThreadLocal.withInitial(CalculationResult::new);
+
+    private double value;
+    private long longValue;
+    private CalculationError error;
+
+    /**
+     * Returns this thread's holder for a new calculation. Virtual threads live for a single
+     * request, so they get a fresh holder instead of a thread-local one.
+     *
+     * @return the reusable holder of the calling thread
+     */
+    public static CalculationResult get() {
+        if (Thread.currentThread().isVirtual()) {
+            return new CalculationResult();
+        }
+        return CURRENT.get();
+    }
+
+    /**
+     * Records a successful floating-point result.
+     *
+     * @param value the result
+     * @return this holder
+     */
+    public CalculationResult success(double value) {
+        this.value = value;
+        this.longValue = (long) value;
+        this.error = null;
+        return this;
+    }
+
+    /**
+     * Records a successful integer result.
+     *
+     * @param value the result
+     * @return this holder
+     */
+    public CalculationResult success(long value) {
+        this.value = value;
+        this.longValue = value;
+        this.error = null;
+        return this;
+    }
+
+    /**
+     * Records a failure.
+     *
+     * @param error what went wrong
+     * @return this holder
+     */
+    public CalculationResult failure(CalculationError error) {
+        this.value = Double.NaN;
+        this.longValue = 0;
+        this.error = error;
+        return this;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Returns the result as a double.
+     *
+     * @return the result, or {@code NaN} after a failure
+     */
+    public double value() {
+        return value;
+    }
+
+    /**
+     * Returns the result of an integer operation.
+     *
+     * @return the result, or 0 after a failure
+     */
+    public long longValue() {
+        return longValue;
+    }
+
+    /**
+     * Returns the failure.
+     *
+     * @return the error, or null after a success
+     */
+    public CalculationError error() {
+        return error;
+    }
+
+    /**
+     * Returns the message of the failure, the same as the throwing methods use for division by
+     * zero, negative square roots and negative factorials.
+     *
+     * @return the message, or null after a success
+     */
+    public String message() {
+        return error == null ? null : error.message();
+    }
+}
@@ -1,14 +1,103 @@
 package com.example.calculator;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongConsumer;
+
 /**
  * Calculator service that provides basic mathematical operations.
  * This class demonstrates various code patterns for SonarQube analysis.
+ * When {@code calculator.cache.enabled} is true, {@link MemoizingCalculator} takes its place.
+ * Division, square root and factorial also have overloads that report invalid input through a
+ * {@link CalculationResult} instead of throwing.
  */
 @Service
+@ConditionalOnProperty(name = "calculator.cache.enabled", havingValue = "false", matchIfMissing = true)
 public class Calculator {
 
+    /** Largest input accepted by {@link #factorialExact(int)}. */
+    public static final int MAX_EXACT_FACTORIAL_INPUT = 1_000_000;
+
+    /** Prime counts over ranges at least this long take tens of milliseconds and are stored. */
+    private static final long STORED_PRIME_RANGE = 1L << 26;
+
+    private final PrimeSieve primeSieve;
+    private final PrimeRangeSieve primeRangeSieve;
+    private final FactorialEngine factorialEngine;
+    private final ExactArithmetic exactArithmetic;
+    private final ResultStore store;
+    private final SingleFlight<Integer, BigInteger> factorialFlight = new SingleFlight<>("factorialExact");
+    private final SingleFlight<PrimeRange, Long> primeCountFlight = new SingleFlight<>("countPrimes");
+
+    /**
+     * Creates a calculator with the default prime sieve bound.
+     */
+    public Calculator() {
+        this(PrimeSieve.DEFAULT_LIMIT);
+    }
+
+    /**
+     * Creates a calculator whose primality checks use a sieve up to the given bound
+     * and Miller-Rabin above it.
+     * 
+     * @param sieveLimit exclusive upper bound of the lazily built prime sieve
+     */
+    public Calculator(long sieveLimit) {
+        this(sieveLimit, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a calculator whose parallel algorithms run on the application's compute pool.
+     * 
+     * @param sieveLimit exclusive upper bound of the lazily built prime sieve
+     * @param computePool bounded pool for prime ranges and large factorials
+     * @param metrics receives the single-flight groups for sharing statistics; may be null
+     * @param store keeps large results across restarts; empty when the store is disabled
+     */
+    @Autowired
+    public Calculator(@Value("${calculator.primes.sieve-limit:" + PrimeSieve.DEFAULT_LIMIT + "}") long sieveLimit,
+                      ComputePool computePool, CalculatorMetrics metrics, Optional<ResultStore> store) {
+        this(sieveLimit, computePool.pool(), store.orElse(null));
+        if (metrics != null) {
+            singleFlights().forEach(metrics::register);
+        }
+    }
+
+    /**
+     * Creates a calculator running its parallel algorithms on the given pool.
+     * 
+     * @param sieveLimit exclusive upper bound of the lazily built prime sieve
+     * @param pool pool for prime ranges and large factorials
+     */
+    public Calculator(long sieveLimit, ForkJoinPool pool) {
+        this(sieveLimit, pool, null);
+    }
+
+    /**
+     * Creates a calculator running its parallel algorithms on the given pool and keeping sieve
+     * segments, large factorials and long prime counts in a store.
+     * 
+     * @param sieveLimit exclusive upper bound of the lazily built prime sieve
+     * @param pool pool for prime ranges and large factorials
+     * @param store keeps large results across restarts; may be null
+     */
+    public Calculator(long sieveLimit, ForkJoinPool pool, ResultStore store) {
+        this.primeSieve = new PrimeSieve(sieveLimit, store);
+        this.primeRangeSieve = new PrimeRangeSieve(pool);
+        this.factorialEngine = new FactorialEngine(pool);
+        this.exactArithmetic = new ExactArithmetic(pool);
+        this.store = store;
+    }
+
     /**
      * Adds two numbers.
      * 
@@ -52,11 +141,26 @@ public class Calculator {
      */
     public double divide(double a, double b) {
         if (b == 0) {
-            throw new IllegalArgumentException("Division by zero is not allowed");
+            throw new CalculationException(CalculationError.DIVISION_BY_ZERO);
         }
         return a / b;
     }
 
+    /**
+     * Divides first number by second number without throwing.
+     * 
+     * @param a dividend
+     * @param b divisor
+     * @param result receives the quotient, or {@link CalculationError#DIVISION_BY_ZERO}
+     * @return {@code result}
+     */
+    public CalculationResult divide(double a, double b, CalculationResult result) {
+        if (b == 0) {
+            return result.failure(CalculationError.DIVISION_BY_ZERO);
+        }
+        return result.success(a / b);
+    }
+
     /**
      * Calculates the power of a number.
      * 
@@ -68,6 +172,77 @@ public class Calculator {
         return Math.pow(base, exponent);
     }
 
+    /**
+     * Raises a whole number to a non-negative integer power exactly, by square-and-multiply.
+     * 
+     * @param base the base number
+     * @param exponent the exponent
+     * @return base raised to the power of exponent
+     * @throws IllegalArgumentException if exponent is negative
+     * @throws ArithmeticException if the power does not fit in a long
+     */
+    public long powerExact(long base, int exponent) {
+        if (exponent < 0) {
+            throw new IllegalArgumentException("Exponent must not be negative");
+        }
+        long result = 1;
+        long square = base;
+        try {
+            // Squaring only while bits remain, so the last square cannot overflow needlessly
+            for (int e = exponent; e != 0; ) {
+                if ((e & 1) != 0) {
+                    result = Math.multiplyExact(result, square);
+                }
+                e >>>= 1;
+                if (e != 0) {
+                    square = Math.multiplyExact(square, square);
+                }
+            }
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException(base + " ^ " + exponent + " overflows long");
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies two numbers modulo a modulus without overflow.
+     * 
+     * @param a first number
+     * @param b second number
+     * @param modulus the modulus
+     * @return {@code a * b mod modulus}, between 0 and modulus - 1
+     * @throws IllegalArgumentException if modulus is not positive
+     */
+    public long modMul(long a, long b, long modulus) {
+        return ModularArithmetic.multiply(a, b, modulus);
+    }
+
+    /**
+     * Raises a number to a power modulo a modulus. A negative exponent raises the modular inverse.
+     * 
+     * @param base the base number
+     * @param exponent the exponent
+     * @param modulus the modulus
+     * @return {@code base^exponent mod modulus}, between 0 and modulus - 1
+     * @throws IllegalArgumentException if modulus is not positive, or exponent is negative and
+     *                                  base has no inverse modulo modulus
+     */
+    public long modPow(long base, long exponent, long modulus) {
+        return ModularArithmetic.pow(base, exponent, modulus);
+    }
+
+    /**
+     * Calculates the multiplicative inverse of a number modulo a modulus.
+     * 
+     * @param a the number to invert
+     * @param modulus the modulus
+     * @return the x between 0 and modulus - 1 with {@code a * x mod modulus == 1}
+     * @throws IllegalArgumentException if modulus is not positive or a and modulus are not coprime
+     */
+    public long modInverse(long a, long modulus) {
+        return ModularArithmetic.inverse(a, modulus);
+    }
+
     /**
      * Calculates the square root of a number.
      * 
@@ -77,11 +252,25 @@ public class Calculator {
      */
     public double squareRoot(double number) {
         if (number < 0) {
-            throw new IllegalArgumentException("Cannot calculate square root of negative number");
+            throw new CalculationException(CalculationError.NEGATIVE_SQRT);
         }
         return Math.sqrt(number);
     }
 
+    /**
+     * Calculates the square root of a number without throwing.
+     * 
+     * @param number the number to find square root of
+     * @param result receives the square root, or {@link CalculationError#NEGATIVE_SQRT}
+     * @return {@code result}
+     */
+    public CalculationResult squareRoot(double number, CalculationResult result) {
+        if (number < 0) {
+            return result.failure(CalculationError.NEGATIVE_SQRT);
+        }
+        return result.success(Math.sqrt(number));
+    }
+
     /**
      * Calculates the percentage of a number.
      * 
@@ -110,22 +299,80 @@ public class Calculator {
      * @return true if number is prime, false otherwise
      */
     public boolean isPrime(int number) {
-        if (number <= 1) {
+        return isPrime((long) number);
+    }
+
+    /**
+     * Determines if a number is prime.
+     * Numbers below the sieve bound are answered from the sieve, larger ones
+     * by a deterministic Miller-Rabin test.
+     * 
+     * @param number the number to check
+     * @return true if number is prime, false otherwise
+     */
+    public boolean isPrime(long number) {
+        if (number < 2) {
             return false;
         }
-        if (number <= 3) {
-            return true;
+        if (number < primeSieve.limit()) {
+            return primeSieve.isPrime(number);
         }
-        if (number % 2 == 0 || number % 3 == 0) {
-            return false;
+        return MillerRabin.isPrime(number);
+    }
+
+    /**
+     * Counts the primes in a range using a parallel segmented sieve.
+     * Concurrent calls for the same range of at least one segment share a single count.
+     * 
+     * @param from inclusive lower bound
+     * @param to exclusive upper bound
+     * @return number of primes p with from &lt;= p &lt; to
+     * @throws IllegalArgumentException if from is negative, to is below from or to is too large
+     */
+    public long countPrimes(long from, long to) {
+        if (to - from < PrimeRangeSieve.SEGMENT_SPAN) {
+            return primeRangeSieve.count(from, to);
         }
+        // Identical concurrent ranges share one count
+        return primeCountFlight.execute(new PrimeRange(from, to), () -> storedPrimeCount(from, to));
+    }
 
-        for (int i = 5; i * i <= number; i += 6) {
-            if (number % i == 0 || number % (i + 2) == 0) {
-                return false;
-            }
+    private long storedPrimeCount(long from, long to) {
+        if (store == null || to - from < STORED_PRIME_RANGE) {
+            return primeRangeSieve.count(from, to);
         }
-        return true;
+        ByteBuffer stored = store.get(ResultStore.Kind.PRIME_COUNT, from, to);
+        if (stored != null) {
+            return stored.getLong(0);
+        }
+        long count = primeRangeSieve.count(from, to);
+        store.put(ResultStore.Kind.PRIME_COUNT, from, to, ByteBuffer.allocate(Long.BYTES).putLong(0, count));
+        return count;
+    }
+
+    /**
+     * Passes every prime in a range to a consumer in ascending order.
+     * Only a window of sieve segments is held in memory at any time.
+     * 
+     * @param from inclusive lower bound
+     * @param to exclusive upper bound
+     * @param consumer receives the primes on the calling thread
+     * @throws IllegalArgumentException if from is negative, to is below from or to is too large
+     */
+    public void primes(long from, long to, LongConsumer consumer) {
+        primeRangeSieve.forEach(from, to, consumer);
+    }
+
+    /**
+     * Factors a number into primes using trial division by small primes and Brent's variant of
+     * Pollard's rho, with Miller-Rabin deciding when a factor is prime.
+     * 
+     * @param number the number to factor
+     * @return the prime factors in ascending order, repeated by multiplicity; empty for 1
+     * @throws IllegalArgumentException if number is not positive
+     */
+    public long[] factorize(long number) {
+        return PollardRho.factorize(number);
     }
 
     /**
@@ -134,20 +381,83 @@ public class Calculator {
      * @param number the number to calculate factorial for
      * @return factorial of the number
      * @throws IllegalArgumentException if number is negative
+     * @throws ArithmeticException if the factorial does not fit in a long, that is number &gt; 20
      */
     public long factorial(int number) {
         if (number < 0) {
-            throw new IllegalArgumentException("Factorial is not defined for negative numbers");
+            throw new CalculationException(CalculationError.NEGATIVE_FACTORIAL);
         }
-        if (number == 0 || number == 1) {
-            return 1;
+        if (number > FactorialEngine.MAX_LONG_INPUT) {
+            throw new ArithmeticException("Factorial of " + number + " overflows long");
         }
+        return FactorialEngine.longFactorial(number);
+    }
 
-        long result = 1;
-        for (int i = 2; i <= number; i++) {
-            result *= i;
+    /**
+     * Calculates the factorial of a number without throwing.
+     * 
+     * @param number the number to calculate factorial for
+     * @param result receives the factorial as a long, or {@link CalculationError#NEGATIVE_FACTORIAL}
+     *               or {@link CalculationError#OVERFLOW} when number &gt; 20
+     * @return {@code result}
+     */
+    public CalculationResult factorial(int number, CalculationResult result) {
+        if (number < 0) {
+            return result.failure(CalculationError.NEGATIVE_FACTORIAL);
         }
-        return result;
+        if (number > FactorialEngine.MAX_LONG_INPUT) {
+            return result.failure(CalculationError.OVERFLOW);
+        }
+        return result.success(FactorialEngine.longFactorial(number));
+    }
+
+    /**
+     * Calculates the exact factorial of a number of any size.
+     * Small inputs are looked up in a table; larger ones use the parallel prime-swing algorithm,
+     * and concurrent calls for the same large input share a single computation. Use
+     * {@link #factorialDigits(int)} for results kept across restarts.
+     * 
+     * @param number the number to calculate factorial for
+     * @return factorial of the number
+     * @throws IllegalArgumentException if number is negative or above {@link #MAX_EXACT_FACTORIAL_INPUT}
+     */
+    public BigInteger factorialExact(int number) {
+        if (number < 0) {
+            throw new CalculationException(CalculationError.NEGATIVE_FACTORIAL);
+        }
+        if (number > MAX_EXACT_FACTORIAL_INPUT) {
+            throw new IllegalArgumentException(
+                    "Factorial input must not exceed " + MAX_EXACT_FACTORIAL_INPUT);
+        }
+        if (number < FactorialEngine.PARALLEL_THRESHOLD) {
+            return factorialEngine.factorial(number);
+        }
+        // Identical concurrent requests share one computation
+        return factorialFlight.execute(number, () -> factorialEngine.factorial(number));
+    }
+
+    /**
+     * Calculates the exact factorial of a number in decimal. With a {@link ResultStore}, large
+     * results are kept across restarts as these digits: every caller ends up sending them, and
+     * rendering them costs about twice the computation, while parsing them back into a
+     * {@code BigInteger} would cost far more than computing it again.
+     *
+     * @param number the number to calculate factorial for
+     * @return the decimal digits of the factorial
+     * @throws IllegalArgumentException if number is negative or above {@link #MAX_EXACT_FACTORIAL_INPUT}
+     */
+    public String factorialDigits(int number) {
+        if (store == null || number < FactorialEngine.PARALLEL_THRESHOLD) {
+            return factorialExact(number).toString();
+        }
+        ByteBuffer stored = store.get(ResultStore.Kind.FACTORIAL_DIGITS, number, 0);
+        if (stored != null) {
+            return StandardCharsets.ISO_8859_1.decode(stored).toString();
+        }
+        String digits = factorialExact(number).toString();
+        store.put(ResultStore.Kind.FACTORIAL_DIGITS, number, 0,
+                ByteBuffer.wrap(digits.getBytes(StandardCharsets.ISO_8859_1)));
+        return digits;
     }
 
     /**
@@ -156,17 +466,38 @@ public class Calculator {
      * @param a first number
      * @param b second number
      * @return greatest common divisor of a and b
+     * @throws ArithmeticException if the gcd is 2^31, which happens only for Integer.MIN_VALUE and 0
      */
     public int gcd(int a, int b) {
-        a = Math.abs(a);
-        b = Math.abs(b);
-
-        while (b != 0) {
-            int temp = b;
-            b = a % b;
-            a = temp;
+        long gcd = gcd((long) a, (long) b);
+        if (gcd > Integer.MAX_VALUE) {
+            throw new ArithmeticException("gcd(" + a + ", " + b + ") overflows int");
         }
-        return a;
+        return (int) gcd;
+    }
+
+    /**
+     * Calculates the greatest common divisor of two numbers with Stein's binary algorithm.
+     * 
+     * @param a first number
+     * @param b second number
+     * @return greatest common divisor of a and b
+     * @throws ArithmeticException if the gcd is 2^63, which happens only for Long.MIN_VALUE and 0
+     */
+    public long gcd(long a, long b) {
+        return ExactArithmetic.gcd(a, b);
+    }
+
+    /**
+     * Calculates the greatest common divisor of many numbers, as a parallel tree reduction for
+     * large arrays.
+     * 
+     * @param numbers the numbers; may be empty
+     * @return greatest common divisor of all numbers; 0 when all are 0 or there are none
+     * @throws ArithmeticException if the gcd is 2^31, which happens only for Integer.MIN_VALUE and zeros
+     */
+    public int gcd(int[] numbers) {
+        return exactArithmetic.gcd(numbers);
     }
 
     /**
@@ -175,11 +506,181 @@ public class Calculator {
      * @param a first number
      * @param b second number
      * @return least common multiple of a and b
+     * @throws ArithmeticException if the least common multiple does not fit in an int
      */
     public int lcm(int a, int b) {
-        if (a == 0 || b == 0) {
-            return 0;
+        long lcm = lcm((long) a, (long) b);
+        if (lcm > Integer.MAX_VALUE) {
+            throw new ArithmeticException("lcm(" + a + ", " + b + ") overflows int");
+        }
+        return (int) lcm;
+    }
+
+    /**
+     * Calculates the least common multiple of two numbers.
+     * 
+     * @param a first number
+     * @param b second number
+     * @return least common multiple of a and b
+     * @throws ArithmeticException if the least common multiple does not fit in a long
+     */
+    public long lcm(long a, long b) {
+        return ExactArithmetic.lcm(a, b);
+    }
+
+    /**
+     * Calculates the least common multiple of many numbers exactly. The result is computed in
+     * {@code long} arithmetic until it overflows, and large arrays are reduced in parallel.
+     * 
+     * @param numbers the numbers; may be empty
+     * @return least common multiple of all numbers; 1 when there are none, 0 when any is 0
+     */
+    public BigInteger lcm(long[] numbers) {
+        return exactArithmetic.lcm(numbers);
+    }
+
+    /**
+     * Adds two arrays element-wise.
+     * 
+     * @param a first numbers
+     * @param b second numbers, same length as {@code a}
+     * @param out receives the sums; at least as long as {@code a}
+     * @throws IllegalArgumentException if the array lengths do not match
+     */
+    public void add(double[] a, double[] b, double[] out) {
+        checkLengths(a, b, out);
+        ArrayKernels.get().add(a, b, out, 0, a.length);
+    }
+
+    /**
+     * Subtracts the second array from the first element-wise.
+     * 
+     * @param a first numbers
+     * @param b numbers to subtract, same length as {@code a}
+     * @param out receives the differences; at least as long as {@code a}
+     * @throws IllegalArgumentException if the array lengths do not match
+     */
+    public void subtract(double[] a, double[] b, double[] out) {
+        checkLengths(a, b, out);
+        ArrayKernels.get().subtract(a, b, out, 0, a.length);
+    }
+
+    /**
+     * Multiplies two arrays element-wise.
+     * 
+     * @param a first numbers
+     * @param b second numbers, same length as {@code a}
+     * @param out receives the products; at least as long as {@code a}
+     * @throws IllegalArgumentException if the array lengths do not match
+     */
+    public void multiply(double[] a, double[] b, double[] out) {
+        checkLengths(a, b, out);
+        ArrayKernels.get().multiply(a, b, out, 0, a.length);
+    }
+
+    /**
+     * Divides the first array by the second element-wise.
+     * When a divisor is zero, every element before it has been written to {@code out}.
+     * 
+     * @param a dividends
+     * @param b divisors, same length as {@code a}
+     * @param out receives the quotients; at least as long as {@code a}
+     * @throws IllegalArgumentException if the array lengths do not match or a divisor is zero
+     */
+    public void divide(double[] a, double[] b, double[] out) {
+        checkLengths(a, b, out);
+        int index = ArrayKernels.get().divide(a, b, out, 0, a.length);
+        if (index != ArrayKernels.OK) {
+            throw new CalculationException(CalculationError.DIVISION_BY_ZERO,
+                    CalculationError.DIVISION_BY_ZERO.message() + " at index " + index);
+        }
+    }
+
+    /**
+     * Calculates percentages element-wise.
+     * 
+     * @param numbers the base numbers
+     * @param percentages the percentages to calculate, same length as {@code numbers}
+     * @param out receives the percentages of the numbers; at least as long as {@code numbers}
+     * @throws IllegalArgumentException if the array lengths do not match
+     */
+    public void percentage(double[] numbers, double[] percentages, double[] out) {
+        checkLengths(numbers, percentages, out);
+        ArrayKernels.get().percentage(numbers, percentages, out, 0, numbers.length);
+    }
+
+    /**
+     * Calculates square roots element-wise.
+     * When a number is negative, every element before it has been written to {@code out}.
+     * 
+     * @param numbers the numbers to find square roots of
+     * @param out receives the square roots; at least as long as {@code numbers}
+     * @throws IllegalArgumentException if {@code out} is too short or a number is negative
+     */
+    public void squareRoot(double[] numbers, double[] out) {
+        checkLengths(numbers, numbers, out);
+        int index = ArrayKernels.get().sqrt(numbers, out, 0, numbers.length);
+        if (index != ArrayKernels.OK) {
+            throw new CalculationException(CalculationError.NEGATIVE_SQRT,
+                    CalculationError.NEGATIVE_SQRT.message() + " at index " + index);
+        }
+    }
+
+    /**
+     * Multiplies two arrays element-wise modulo one modulus, reusing a single Montgomery context
+     * when the modulus is odd.
+     * 
+     * @param a first numbers
+     * @param b second numbers, same length as {@code a}
+     * @param modulus the modulus shared by all elements
+     * @param out receives the products; at least as long as {@code a}
+     * @throws IllegalArgumentException if the array lengths do not match or modulus is not positive
+     */
+    public void modMul(long[] a, long[] b, long modulus, long[] out) {
+        checkLengths(a, b, out);
+        ModularArithmetic.multiply(a, b, modulus, out);
+    }
+
+    /**
+     * Raises an array of bases to an array of exponents element-wise modulo one modulus, reusing a
+     * single Montgomery context when the modulus is odd.
+     * When an element fails, every element before it has been written to {@code out}.
+     * 
+     * @param bases the base numbers
+     * @param exponents the exponents, same length as {@code bases}
+     * @param modulus the modulus shared by all elements
+     * @param out receives the powers; at least as long as {@code bases}
+     * @throws IllegalArgumentException if the array lengths do not match, modulus is not positive,
+     *                                  or an exponent is negative and its base is not invertible
+     */
+    public void modPow(long[] bases, long[] exponents, long modulus, long[] out) {
+        checkLengths(bases, exponents, out);
+        ModularArithmetic.pow(bases, exponents, modulus, out);
+    }
+
+    /** Returns the groups coalescing identical concurrent factorials and prime counts. */
+    List<SingleFlight<?, ?>> singleFlights() {
+        return List.of(factorialFlight, primeCountFlight);
+    }
+
+    private record PrimeRange(long from, long to) {
+    }
+
+    private static void checkLengths(double[] a, double[] b, double[] out) {
+        if (b.length != a.length) {
+            throw new IllegalArgumentException("Operand arrays must have the same length");
+        }
+        if (out.length < a.length) {
+            throw new IllegalArgumentException("Output array is shorter than the operands");
+        }
+    }
+
+    private static void checkLengths(long[] a, long[] b, long[] out) {
+        if (b.length != a.length) {
+            throw new IllegalArgumentException("Operand arrays must have the same length");
+        }
+        if (out.length < a.length) {
+            throw new IllegalArgumentException("Output array is shorter than the operands");
         }
-        return Math.abs(a * b) / gcd(a, b);
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,32 @@
 package com.example.calculator;
 
+import com.example.calculator.dto.BatchRequest;
+import com.example.calculator.dto.BatchResponse;
+import com.example.calculator.dto.EvaluationRequest;
+import com.example.calculator.dto.EvaluationResponse;
+import com.example.calculator.dto.ModularBatchRequest;
+import com.example.calculator.dto.ModularBatchResponse;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Main application class for the Calculator application.
@@ -15,13 +36,40 @@ import org.springframework.beans.factory.annotation.Autowired;
 @RestController
 public class CalculatorApplication {
 
+    private static final int STREAM_CHUNK_SIZE = 1 << 16;
+
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private Calculator calculator;
 
+    @Autowired
+    private BatchCalculator batchCalculator;
+
+    @Autowired
+    private StreamingCalculator streamingCalculator;
+
+    @Autowired
+    private ExpressionCompiler expressionCompiler;
+
+    @Autowired
+    private CalculatorMetrics metrics;
+
+    @Autowired
+    private ComputePool computePool;
+
+    /** Rendering a large factorial costs as much as computing it, so identical requests share the digits. */
+    private final SingleFlight<Integer, String> factorialDigits = new SingleFlight<>("factorialDigits");
+
     public static void main(String[] args) {
         SpringApplication.run(CalculatorApplication.class, args);
     }
 
+    @PostConstruct
+    void registerMetrics() {
+        metrics.register(factorialDigits);
+    }
+
     /**
      * Health check endpoint.
      * 
@@ -37,12 +85,15 @@ public class CalculatorApplication {
      * 
      * @param a first number
      * @param b second number
-     * @return result of addition
+     * @param response receives the result as plain text
+     * @throws IOException if the response cannot be written
      */
     @GetMapping("/add")
-    public String add(@RequestParam double a, @RequestParam double b) {
+    public void add(@RequestParam double a, @RequestParam double b, HttpServletResponse response)
+            throws IOException {
         double result = calculator.add(a, b);
-        return String.format("%.2f + %.2f = %.2f", a, b, result);
+        ResponseWriter.get().appendFixed(a).append(" + ").appendFixed(b).append(" = ").appendFixed(result)
+                .writeTo(response);
     }
 
     /**
@@ -50,12 +101,15 @@ public class CalculatorApplication {
      * 
      * @param a first number
      * @param b second number
-     * @return result of subtraction
+     * @param response receives the result as plain text
+     * @throws IOException if the response cannot be written
      */
     @GetMapping("/subtract")
-    public String subtract(@RequestParam double a, @RequestParam double b) {
+    public void subtract(@RequestParam double a, @RequestParam double b, HttpServletResponse response)
+            throws IOException {
         double result = calculator.subtract(a, b);
-        return String.format("%.2f - %.2f = %.2f", a, b, result);
+        ResponseWriter.get().appendFixed(a).append(" - ").appendFixed(b).append(" = ").appendFixed(result)
+                .writeTo(response);
     }
 
     /**
@@ -63,12 +117,15 @@ public class CalculatorApplication {
      * 
      * @param a first number
      * @param b second number
-     * @return result of multiplication
+     * @param response receives the result as plain text
+     * @throws IOException if the response cannot be written
      */
     @GetMapping("/multiply")
-    public String multiply(@RequestParam double a, @RequestParam double b) {
+    public void multiply(@RequestParam double a, @RequestParam double b, HttpServletResponse response)
+            throws IOException {
         double result = calculator.multiply(a, b);
-        return String.format("%.2f * %.2f = %.2f", a, b, result);
+        ResponseWriter.get().appendFixed(a).append(" * ").appendFixed(b).append(" = ").appendFixed(result)
+                .writeTo(response);
     }
 
     /**
@@ -76,16 +133,20 @@ public class CalculatorApplication {
      * 
      * @param a first number
      * @param b second number
-     * @return result of division
+     * @param response receives the result as plain text
+     * @throws IOException if the response cannot be written
      */
     @GetMapping("/divide")
-    public String divide(@RequestParam double a, @RequestParam double b) {
-        try {
-            double result = calculator.divide(a, b);
-            return String.format("%.2f / %.2f = %.2f", a, b, result);
-        } catch (IllegalArgumentException e) {
-            return "Error: " + e.getMessage();
+    public void divide(@RequestParam double a, @RequestParam double b, HttpServletResponse response)
+            throws IOException {
+        ResponseWriter writer = ResponseWriter.get();
+        CalculationResult result = calculator.divide(a, b, CalculationResult.get());
+        if (result.isSuccess()) {
+            writer.appendFixed(a).append(" / ").appendFixed(b).append(" = ").appendFixed(result.value());
+        } else {
+            writer.append("Error: ").append(result.message());
         }
+        writer.writeTo(response);
     }
 
     /**
@@ -93,55 +154,359 @@ public class CalculatorApplication {
      * 
      * @param base the base number
      * @param exponent the exponent
-     * @return result of power calculation
+     * @param response receives the result as plain text
+     * @throws IOException if the response cannot be written
      */
     @GetMapping("/power")
-    public String power(@RequestParam double base, @RequestParam double exponent) {
+    public void power(@RequestParam double base, @RequestParam double exponent, HttpServletResponse response)
+            throws IOException {
         double result = calculator.power(base, exponent);
-        return String.format("%.2f ^ %.2f = %.2f", base, exponent, result);
+        ResponseWriter.get().appendFixed(base).append(" ^ ").appendFixed(exponent).append(" = ").appendFixed(result)
+                .writeTo(response);
+    }
+
+    /**
+     * Exact integer power endpoint.
+     * 
+     * @param base the base number
+     * @param exponent the non-negative exponent
+     * @param response receives the result as plain text
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping("/powerExact")
+    public void powerExact(@RequestParam long base, @RequestParam int exponent, HttpServletResponse response)
+            throws IOException {
+        ResponseWriter writer = ResponseWriter.get();
+        try {
+            long result = calculator.powerExact(base, exponent);
+            writer.append(base).append(" ^ ").append(exponent).append(" = ").append(result);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            writer.reset().append("Error: ").append(e.getMessage());
+        }
+        writer.writeTo(response);
+    }
+
+    /**
+     * Modular exponentiation endpoint.
+     * 
+     * @param base the base number
+     * @param exponent the exponent; a negative one raises the modular inverse
+     * @param modulus the positive modulus
+     * @param response receives the result as plain text
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping("/modPow")
+    public void modPow(@RequestParam long base, @RequestParam long exponent, @RequestParam long modulus,
+                       HttpServletResponse response) throws IOException {
+        ResponseWriter writer = ResponseWriter.get();
+        try {
+            long result = calculator.modPow(base, exponent, modulus);
+            writer.append(base).append(" ^ ").append(exponent).append(" mod ").append(modulus).append(" = ")
+                    .append(result);
+        } catch (IllegalArgumentException e) {
+            writer.reset().append("Error: ").append(e.getMessage());
+        }
+        writer.writeTo(response);
+    }
+
+    /**
+     * Modular multiplication endpoint.
+     * 
+     * @param a first number
+     * @param b second number
+     * @param modulus the positive modulus
+     * @param response receives the result as plain text
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping("/modMul")
+    public void modMul(@RequestParam long a, @RequestParam long b, @RequestParam long modulus,
+                       HttpServletResponse response) throws IOException {
+        ResponseWriter writer = ResponseWriter.get();
+        try {
+            long result = calculator.modMul(a, b, modulus);
+            writer.append(a).append(" * ").append(b).append(" mod ").append(modulus).append(" = ").append(result);
+        } catch (IllegalArgumentException e) {
+            writer.reset().append("Error: ").append(e.getMessage());
+        }
+        writer.writeTo(response);
+    }
+
+    /**
+     * Modular inverse endpoint.
+     * 
+     * @param a the number to invert
+     * @param modulus the positive modulus
+     * @param response receives the result as plain text
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping("/modInverse")
+    public void modInverse(@RequestParam long a, @RequestParam long modulus, HttpServletResponse response)
+            throws IOException {
+        ResponseWriter writer = ResponseWriter.get();
+        try {
+            long result = calculator.modInverse(a, modulus);
+            writer.append(a).append(" ^ -1 mod ").append(modulus).append(" = ").append(result);
+        } catch (IllegalArgumentException e) {
+            writer.reset().append("Error: ").append(e.getMessage());
+        }
+        writer.writeTo(response);
     }
 
     /**
      * Square root calculation endpoint.
      * 
      * @param number the number
-     * @return square root of the number
+     * @param response receives the result as plain text
+     * @throws IOException if the response cannot be written
      */
     @GetMapping("/sqrt")
-    public String squareRoot(@RequestParam double number) {
-        try {
-            double result = calculator.squareRoot(number);
-            return String.format("sqrt(%.2f) = %.2f", number, result);
-        } catch (IllegalArgumentException e) {
-            return "Error: " + e.getMessage();
+    public void squareRoot(@RequestParam double number, HttpServletResponse response) throws IOException {
+        ResponseWriter writer = ResponseWriter.get();
+        CalculationResult result = calculator.squareRoot(number, CalculationResult.get());
+        if (result.isSuccess()) {
+            writer.append("sqrt(").appendFixed(number).append(") = ").appendFixed(result.value());
+        } else {
+            writer.append("Error: ").append(result.message());
         }
+        writer.writeTo(response);
     }
 
     /**
      * Prime number check endpoint.
      * 
      * @param number the number to check
-     * @return whether the number is prime
+     * @param response receives the result as plain text
+     * @throws IOException if the response cannot be written
      */
     @GetMapping("/isPrime")
-    public String isPrime(@RequestParam int number) {
+    public void isPrime(@RequestParam long number, HttpServletResponse response) throws IOException {
         boolean result = calculator.isPrime(number);
-        return String.format("%d is %s", number, result ? "prime" : "not prime");
+        ResponseWriter.get().append(number).append(result ? " is prime" : " is not prime").writeTo(response);
+    }
+
+    /**
+     * Prime factorization endpoint, answering for example {@code 360 = 2^3 * 3^2 * 5}.
+     * 
+     * @param number the number to factor
+     * @param response receives the factorization as plain text
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping("/factorize")
+    public void factorize(@RequestParam long number, HttpServletResponse response) throws IOException {
+        ResponseWriter writer = ResponseWriter.get();
+        try {
+            long[] factors = calculator.factorize(number);
+            writer.append(number).append(" = ");
+            if (factors.length == 0) {
+                writer.append(1);
+            }
+            for (int i = 0; i < factors.length; ) {
+                int exponent = 1;
+                while (i + exponent < factors.length && factors[i + exponent] == factors[i]) {
+                    exponent++;
+                }
+                writer.append(i == 0 ? "" : " * ").append(factors[i]);
+                if (exponent > 1) {
+                    writer.append("^").append(exponent);
+                }
+                i += exponent;
+            }
+        } catch (IllegalArgumentException e) {
+            writer.reset().append("Error: ").append(e.getMessage());
+        }
+        writer.writeTo(response);
+    }
+
+    /**
+     * Prime range endpoint. In {@code list} mode the primes are streamed one per line
+     * as they are sieved, so the full list is never held in memory.
+     * 
+     * @param from inclusive lower bound
+     * @param to exclusive upper bound
+     * @param mode {@code count} or {@code list}
+     * @return the prime count or the streamed list of primes
+     */
+    @GetMapping("/primes")
+    public ResponseEntity<StreamingResponseBody> primes(@RequestParam long from, @RequestParam long to,
+                                                        @RequestParam(defaultValue = "count") String mode) {
+        StreamingResponseBody body;
+        if ("count".equals(mode)) {
+            try {
+                long count = calculator.countPrimes(from, to);
+                body = text(String.format("%d primes in [%d, %d)", count, from, to));
+            } catch (IllegalArgumentException e) {
+                body = text("Error: " + e.getMessage());
+            }
+        } else if ("list".equals(mode)) {
+            body = output -> {
+                ResponseWriter writer = new ResponseWriter();
+                try {
+                    // The range is validated before the first prime is written
+                    calculator.primes(from, to, prime -> writeLine(writer, prime, output));
+                } catch (IllegalArgumentException e) {
+                    writer.append("Error: ").append(e.getMessage());
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                writer.flushTo(output);
+            };
+        } else {
+            body = text("Error: Unknown mode: " + mode);
+        }
+        return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(body);
+    }
+
+    private static StreamingResponseBody text(String message) {
+        return output -> output.write(message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeLine(ResponseWriter writer, long value, OutputStream out) {
+        writer.append(value).append('\n');
+        if (writer.length() >= STREAM_CHUNK_SIZE) {
+            try {
+                writer.flushTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
     }
 
     /**
      * Factorial calculation endpoint.
      * 
      * @param number the number
-     * @return factorial of the number
+     * @param response receives the result as plain text
+     * @throws IOException if the response cannot be written
      */
     @GetMapping("/factorial")
-    public String factorial(@RequestParam int number) {
+    public void factorial(@RequestParam int number, HttpServletResponse response) throws IOException {
+        ResponseWriter writer = ResponseWriter.get();
+        if (number <= FactorialEngine.MAX_LONG_INPUT) {
+            // Negative input is the common invalid case; report it without an exception
+            CalculationResult result = calculator.factorial(number, CalculationResult.get());
+            if (result.isSuccess()) {
+                writer.append(number).append("! = ").append(result.longValue());
+            } else {
+                writer.append("Error: ").append(result.message());
+            }
+        } else {
+            try {
+                // Followers wait on their request thread, not on a compute worker
+                String digits = factorialDigits.execute(number,
+                        () -> computePool.call(() -> calculator.factorialDigits(number)));
+                writer.append(number).append("! = ").append(digits);
+            } catch (IllegalArgumentException e) {
+                writer.reset().append("Error: ").append(e.getMessage());
+            }
+        }
+        writer.writeTo(response);
+    }
+
+    /**
+     * Batch endpoint evaluating many operations in a single call.
+     * Invalid items are reported in place and do not fail the batch.
+     * 
+     * @param request individual items and/or operand columns
+     * @return results in request order
+     */
+    @PostMapping("/batch")
+    public BatchResponse batch(@RequestBody BatchRequest request) {
         try {
-            long result = calculator.factorial(number);
-            return String.format("%d! = %d", number, result);
+            return computePool.call(() -> batchCalculator.evaluate(request));
         } catch (IllegalArgumentException e) {
-            return "Error: " + e.getMessage();
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Modular batch endpoint applying {@code modPow} or {@code modMul} element-wise under one
+     * modulus, so that the Montgomery context is set up once for all elements.
+     * 
+     * @param request the operation, the modulus and the operand arrays
+     * @return one residue per element, in request order, or 400 when the arrays are longer than
+     *         {@code calculator.batch.max-items}
+     */
+    @PostMapping("/modBatch")
+    public ModularBatchResponse modBatch(@RequestBody ModularBatchRequest request) {
+        try {
+            long[] a = request.a() == null ? new long[0] : request.a();
+            long[] b = request.b() == null ? new long[0] : request.b();
+            batchCalculator.checkSize(Math.max(a.length, b.length));
+            return computePool.call(() -> {
+                long[] results = new long[a.length];
+                switch (request.op() == null ? "" : request.op()) {
+                    case "modPow" -> calculator.modPow(a, b, request.modulus(), results);
+                    case "modMul" -> calculator.modMul(a, b, request.modulus(), results);
+                    default -> throw new IllegalArgumentException("Unknown operation: " + request.op());
+                }
+                return new ModularBatchResponse(request.op(), request.modulus(), results);
+            });
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Streaming batch endpoint for inputs too large to buffer. Reads newline-delimited JSON
+     * operations such as {@code {"op":"add","a":5,"b":3}} from the request body and writes one
+     * {@code {"result":...}} or {@code {"error":"..."}} line per operation while the body is still
+     * arriving. A client that stops reading results is throttled by TCP flow control.
+     * 
+     * @param request body of newline-delimited JSON operations
+     * @param response receives the newline-delimited JSON results
+     * @throws IOException if the stream fails
+     */
+    @PostMapping("/stream")
+    public void stream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        streamingCalculator.evaluate(request.getInputStream(), response.getOutputStream());
+    }
+
+    /**
+     * Expression evaluation endpoint.
+     * 
+     * @param expr infix expression over numbers and calculator operations, for example {@code sqrt(3^2 + 4^2)}
+     * @param response receives the result as plain text
+     * @throws IOException if the response cannot be written
+     */
+    @GetMapping("/eval")
+    public void eval(@RequestParam String expr, HttpServletResponse response) throws IOException {
+        ResponseWriter writer = ResponseWriter.get();
+        try {
+            double result = expressionCompiler.evaluate(expr, null);
+            writer.append(expr).append(" = ").appendFixed(result);
+        } catch (IllegalArgumentException e) {
+            writer.append("Error: ").append(e.getMessage());
+        }
+        writer.writeTo(response);
+    }
+
+    /**
+     * Expression evaluation endpoint with variable bindings.
+     * Compiled expressions are cached, so repeated formulas with new values skip parsing.
+     * 
+     * @param request the expression and its variable values
+     * @return the result or the error message
+     */
+    @PostMapping("/eval")
+    public EvaluationResponse eval(@RequestBody EvaluationRequest request) {
+        try {
+            double result = expressionCompiler.evaluate(request.expr(), request.variables());
+            return new EvaluationResponse(request.expr(), result, null);
+        } catch (IllegalArgumentException e) {
+            return new EvaluationResponse(request.expr(), null, e.getMessage());
+        }
+    }
+
+    /**
+     * Metrics endpoint in the Prometheus text format.
+     * Reports latency quantiles per endpoint and per calculator operation, and error counts
+     * such as divisions by zero.
+     * 
+     * @return the exposition text
+     */
+    @GetMapping(value = "/metrics", produces = "text/plain;version=0.0.4;charset=UTF-8")
+    public String metrics() {
+        return metrics.scrape();
+    }
+}
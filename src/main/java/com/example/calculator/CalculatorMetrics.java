@@ -0,0 +1,245 @@
+package com.example.calculator;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Registry of per-operation latency histograms and error counters, rendered in the Prometheus
+ * text exposition format. Two families are tracked: HTTP endpoints, keyed by their path pattern,
+ * and {@link Calculator} methods, keyed by method name. Callers on hot paths should look a
+ * {@link Timer} up once and keep it, so that recording never touches the registry maps.
+ */
+@Component
+public class CalculatorMetrics {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Map<String, Timer> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, Timer> operations = new ConcurrentHashMap<>();
+    private final List<ResultCache> caches = new CopyOnWriteArrayList<>();
+    private final List<GradientLimiter> limiters = new CopyOnWriteArrayList<>();
+    private final List<SingleFlight<?, ?>> singleFlights = new CopyOnWriteArrayList<>();
+    private volatile ResultStore store;
+
+    /**
+     * Returns the timer of an HTTP endpoint, creating it on first use.
+     *
+     * @param pattern the request mapping pattern, for example {@code /add}
+     * @return the endpoint's timer
+     */
+    public Timer endpoint(String pattern) {
+        return endpoints.computeIfAbsent(pattern, key -> new Timer());
+    }
+
+    /**
+     * Returns the timer of a calculator operation, creating it on first use.
+     *
+     * @param operation the operation name, for example {@code divide}
+     * @return the operation's timer
+     */
+    public Timer operation(String operation) {
+        return operations.computeIfAbsent(operation, key -> new Timer());
+    }
+
+    /**
+     * Adds a result cache whose hit, miss and eviction counts are reported.
+     *
+     * @param cache the cache
+     */
+    void register(ResultCache cache) {
+        caches.add(cache);
+    }
+
+    /**
+     * Adds a concurrency limiter whose limit, in-flight count and rejections are reported.
+     *
+     * @param limiter the limiter
+     */
+    void register(GradientLimiter limiter) {
+        limiters.add(limiter);
+    }
+
+    /**
+     * Adds a single-flight group whose shared calls and running computations are reported.
+     *
+     * @param singleFlight the group
+     */
+    void register(SingleFlight<?, ?> singleFlight) {
+        singleFlights.add(singleFlight);
+    }
+
+    /**
+     * Sets the result store whose hits, misses and records are reported.
+     *
+     * @param store the store
+     */
+    void register(ResultStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Renders every metric in the Prometheus text format, version 0.0.4.
+     *
+     * @return the exposition text
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        writeSummary(out, "calculator_http_request_duration_seconds",
+                "Latency of HTTP endpoints", "endpoint", endpoints);
+        writeSummary(out, "calculator_operation_duration_seconds",
+                "Latency of Calculator methods", "operation", operations);
+        writeErrors(out, "calculator_operation_errors_total",
+                "Calculator method calls rejected with an error", "operation", operations);
+        if (!caches.isEmpty()) {
+            writeCaches(out);
+        }
+        if (!limiters.isEmpty()) {
+            writeLimiters(out);
+        }
+        if (!singleFlights.isEmpty()) {
+            writeSingleFlights(out);
+        }
+        ResultStore current = store;
+        if (current != null) {
+            writeStore(out, current);
+        }
+        return out.toString();
+    }
+
+    private static void writeSummary(StringBuilder out, String name, String help, String label,
+                                     Map<String, Timer> timers) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" summary\n");
+        timers.forEach((key, timer) -> {
+            LatencyHistogram.Snapshot snapshot = timer.histogram.snapshot();
+            for (double quantile : QUANTILES) {
+                out.append(name).append('{').append(label).append("=\"").append(escape(key))
+                        .append("\",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(snapshot.valueAt(quantile))).append('\n');
+            }
+            out.append(name).append("_sum{").append(label).append("=\"").append(escape(key)).append("\"} ")
+                    .append(seconds(snapshot.sum())).append('\n');
+            out.append(name).append("_count{").append(label).append("=\"").append(escape(key)).append("\"} ")
+                    .append(snapshot.count()).append('\n');
+        });
+    }
+
+    private static void writeErrors(StringBuilder out, String name, String help, String label,
+                                    Map<String, Timer> timers) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        timers.forEach((key, timer) -> timer.errors.forEach((error, count) ->
+                out.append(name).append('{').append(label).append("=\"").append(escape(key))
+                        .append("\",error=\"").append(escape(error)).append("\"} ")
+                        .append(count.sum()).append('\n')));
+    }
+
+    private void writeCaches(StringBuilder out) {
+        writeFamily(out, "calculator_cache_hits_total", "Result cache hits", "counter",
+                "operation", caches, ResultCache::name, ResultCache::hits);
+        writeFamily(out, "calculator_cache_misses_total", "Result cache misses", "counter",
+                "operation", caches, ResultCache::name, ResultCache::misses);
+        writeFamily(out, "calculator_cache_evictions_total", "Results dropped by admission or eviction", "counter",
+                "operation", caches, ResultCache::name, ResultCache::evictions);
+        writeFamily(out, "calculator_cache_size", "Cached results", "gauge",
+                "operation", caches, ResultCache::name, ResultCache::size);
+        writeFamily(out, "calculator_cache_capacity", "Result cache capacity", "gauge",
+                "operation", caches, ResultCache::name, ResultCache::capacity);
+    }
+
+    private void writeLimiters(StringBuilder out) {
+        writeFamily(out, "calculator_concurrency_limit", "Learned concurrency limit", "gauge",
+                "class", limiters, GradientLimiter::name, GradientLimiter::limit);
+        writeFamily(out, "calculator_concurrency_in_flight", "Requests being served", "gauge",
+                "class", limiters, GradientLimiter::name, GradientLimiter::inFlight);
+        writeFamily(out, "calculator_concurrency_rejected_total", "Requests rejected with 503", "counter",
+                "class", limiters, GradientLimiter::name, GradientLimiter::rejected);
+    }
+
+    private void writeSingleFlights(StringBuilder out) {
+        writeFamily(out, "calculator_singleflight_shared_total", "Calls that shared an identical computation in flight",
+                "counter", "operation", singleFlights, SingleFlight::name, SingleFlight::shared);
+        writeFamily(out, "calculator_singleflight_in_flight", "Coalescable computations running", "gauge",
+                "operation", singleFlights, SingleFlight::name, SingleFlight::inFlight);
+    }
+
+    private static void writeStore(StringBuilder out, ResultStore store) {
+        List<ResultStore.Kind> kinds = List.of(ResultStore.Kind.values());
+        writeFamily(out, "calculator_store_hits_total", "Results loaded from the store", "counter",
+                "kind", kinds, ResultStore.Kind::label, store::hits);
+        writeFamily(out, "calculator_store_misses_total", "Results not found in the store", "counter",
+                "kind", kinds, ResultStore.Kind::label, store::misses);
+        writeFamily(out, "calculator_store_records", "Stored results", "gauge",
+                "kind", kinds, ResultStore.Kind::label, store::records);
+        out.append("# HELP calculator_store_bytes Size of the store file\n");
+        out.append("# TYPE calculator_store_bytes gauge\n");
+        out.append("calculator_store_bytes ").append(store.bytes()).append('\n');
+        out.append("# HELP calculator_store_corrupt_total Records dropped for a checksum mismatch\n");
+        out.append("# TYPE calculator_store_corrupt_total counter\n");
+        out.append("calculator_store_corrupt_total ").append(store.corrupt()).append('\n');
+    }
+
+    private static <T> void writeFamily(StringBuilder out, String name, String help, String type, String label,
+                                        List<T> items, Function<T, String> key, ToLongFunction<T> value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        for (T item : items) {
+            out.append(name).append('{').append(label).append("=\"").append(escape(key.apply(item))).append("\"} ")
+                    .append(value.applyAsLong(item)).append('\n');
+        }
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /** Latency histogram and error counters of one endpoint or operation. */
+    public static final class Timer {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        /**
+         * Records the latency of one call.
+         *
+         * @param nanos elapsed nanoseconds
+         */
+        public void record(long nanos) {
+            histogram.record(nanos);
+        }
+
+        /**
+         * Counts one failed call.
+         *
+         * @param error short error kind, for example {@code division_by_zero}
+         */
+        public void error(String error) {
+            LongAdder counter = errors.get(error);
+            if (counter == null) {
+                counter = errors.computeIfAbsent(error, key -> new LongAdder());
+            }
+            counter.increment();
+        }
+
+        long count() {
+            return histogram.snapshot().count();
+        }
+
+        long errors(String error) {
+            LongAdder counter = errors.get(error);
+            return counter == null ? 0 : counter.sum();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.calculator;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An infix expression compiled into a tree of closures over {@link Calculator} operations.
+ * Variables are resolved to slots at compile time, so evaluating with new values does no parsing
+ * and no name lookups. Instances are immutable and safe to evaluate from several threads.
+ */
+public final class CompiledExpression {
+
+    /** A compiled subexpression reading variable values by slot. */
+    @FunctionalInterface
+    interface Node {
+        double evaluate(double[] variables);
+    }
+
+    private final String text;
+    private final Node root;
+    private final List<String> variables;
+
+    CompiledExpression(String text, Node root, List<String> variables) {
+        this.text = text;
+        this.root = root;
+        this.variables = List.copyOf(variables);
+    }
+
+    /**
+     * Returns the source text of this expression.
+     *
+     * @return expression text
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * Returns the variable names in slot order, that is in order of first appearance.
+     *
+     * @return variable names
+     */
+    public List<String> variables() {
+        return variables;
+    }
+
+    /**
+     * Evaluates the expression with variable values given by slot.
+     *
+     * @param values one value per entry of {@link #variables()}
+     * @return the result
+     * @throws IllegalArgumentException if the number of values is wrong or an operation fails,
+     *                                  for example on division by zero
+     */
+    public double evaluate(double... values) {
+        if (values.length != variables.size()) {
+            throw new IllegalArgumentException(
+                    "Expected " + variables.size() + " variable values but got " + values.length);
+        }
+        return root.evaluate(values);
+    }
+
+    /**
+     * Evaluates the expression with variable values given by name.
+     *
+     * @param bindings value of every variable in the expression; extra entries are ignored
+     * @return the result
+     * @throws IllegalArgumentException if a variable is unbound or an operation fails
+     */
+    public double evaluate(Map<String, Double> bindings) {
+        double[] values = new double[variables.size()];
+        for (int i = 0; i < values.length; i++) {
+            Double value = bindings == null ? null : bindings.get(variables.get(i));
+            if (value == null) {
+                throw new IllegalArgumentException("Unbound variable: " + variables.get(i));
+            }
+            values[i] = value;
+        }
+        return root.evaluate(values);
+    }
+}
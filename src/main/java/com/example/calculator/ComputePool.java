@@ -0,0 +1,79 @@
+package com.example.calculator;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool for CPU-heavy calculator work such as large factorials, prime ranges and batches.
+ *
+ * <p>Request threads only wait here: with virtual threads there may be thousands of them, and
+ * the pool keeps the number actually computing at the configured parallelism, so I/O concurrency
+ * and CPU parallelism are sized independently. The parallel algorithms in {@link Calculator}
+ * fork their subtasks into the same pool.
+ */
+@Component
+public class ComputePool {
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates the pool.
+     *
+     * @param parallelism number of worker threads; 0 uses one per available processor
+     */
+    public ComputePool(@Value("${calculator.cpu.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("calculator-cpu-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Returns the underlying pool.
+     *
+     * @return the fork/join pool
+     */
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    /**
+     * Runs a task in the pool and waits for its result. Tasks submitted from a worker of this
+     * pool run directly. Exceptions thrown by the task are rethrown unchanged.
+     *
+     * @param task the work
+     * @param <T> result type
+     * @return the task's result
+     */
+    public <T> T call(Supplier<T> task) {
+        if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+            return task.get();
+        }
+        try {
+            return CompletableFuture.supplyAsync(task, pool).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
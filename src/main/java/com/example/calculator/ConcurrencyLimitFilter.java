@@ -0,0 +1,150 @@
+package com.example.calculator;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Admission control in front of the calculator endpoints. Requests are split into a cheap and
+ * an expensive class, each with its own {@link GradientLimiter}, so a burst of large factorials
+ * or prime ranges can only exhaust its own limit and never the capacity left for {@code /add}.
+ * A request arriving at a full class is answered immediately with 503 and {@code Retry-After}.
+ *
+ * <p>Latency is measured until the response completes, including asynchronous streaming.
+ */
+@Component
+@ConditionalOnProperty(name = "calculator.limits.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    /** Inputs above this bound make {@code /isPrime} run Miller-Rabin with Montgomery arithmetic. */
+    private static final long LARGE_PRIME_INPUT = Integer.MAX_VALUE;
+
+    private final GradientLimiter cheap;
+    private final GradientLimiter expensive;
+
+    public ConcurrencyLimitFilter(@Value("${calculator.limits.cheap.initial:200}") int cheapInitial,
+                                  @Value("${calculator.limits.cheap.min:50}") int cheapMin,
+                                  @Value("${calculator.limits.cheap.max:2000}") int cheapMax,
+                                  @Value("${calculator.limits.expensive.initial:0}") int expensiveInitial,
+                                  @Value("${calculator.limits.expensive.min:1}") int expensiveMin,
+                                  @Value("${calculator.limits.expensive.max:256}") int expensiveMax,
+                                  CalculatorMetrics metrics) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        this.cheap = new GradientLimiter("cheap", cheapInitial, cheapMin, cheapMax);
+        this.expensive = new GradientLimiter("expensive",
+                expensiveInitial > 0 ? expensiveInitial : Math.min(expensiveMax, Math.max(expensiveMin, 2 * processors)),
+                expensiveMin, expensiveMax);
+        if (metrics != null) {
+            metrics.register(cheap);
+            metrics.register(expensive);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        GradientLimiter limiter = limiterFor(request);
+        if (limiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            ResponseWriter.get().append("Error: Too many concurrent ").append(limiter.name())
+                    .append(" requests, retry later").writeTo(response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseListener(limiter, start));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Picks the limiter of a request's operation class.
+     *
+     * @param request the request
+     * @return the limiter, or null for endpoints that are not limited
+     */
+    GradientLimiter limiterFor(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return switch (path) {
+            // A stream's latency is the length of its input, which says nothing about load
+            case "/", "/metrics", "/stream" -> null;
+            case "/primes", "/batch", "/modBatch" -> expensive;
+            case "/factorial" -> longParameter(request, "number") > FactorialEngine.MAX_LONG_INPUT ? expensive : cheap;
+            case "/isPrime" -> longParameter(request, "number") > LARGE_PRIME_INPUT ? expensive : cheap;
+            // Pollard's rho takes up to a millisecond on 63-bit semiprimes
+            case "/factorize" -> longParameter(request, "number") > LARGE_PRIME_INPUT ? expensive : cheap;
+            // Matrix bodies run to hundreds of megabytes and products are cubic; statistics uploads
+            // are streams like /stream
+            default -> path.startsWith("/actuator") || path.startsWith("/stats") ? null
+                    : path.startsWith("/matrix/") ? expensive : cheap;
+        };
+    }
+
+    private static long longParameter(HttpServletRequest request, String name) {
+        try {
+            String value = request.getParameter(name);
+            return value == null ? 0 : Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            // Rejected by the controller; cheap to answer
+            return 0;
+        }
+    }
+
+    /** Releases the permit of an asynchronous request once its response is complete. */
+    private static final class ReleaseListener implements AsyncListener {
+
+        private final GradientLimiter limiter;
+        private final long start;
+        private boolean released;
+
+        ReleaseListener(GradientLimiter limiter, long start) {
+            this.limiter = limiter;
+            this.start = start;
+        }
+
+        @Override
+        public synchronized void onComplete(AsyncEvent event) {
+            if (!released) {
+                released = true;
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // onComplete follows
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // onComplete follows
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.calculator;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Exact gcd and lcm. Scalars use Stein's binary gcd, which replaces division by shifts and
+ * subtraction, and detect overflow with {@link Math#multiplyHigh} instead of widening every
+ * product. The lcm of an array stays in {@code long} until a product overflows and only then
+ * continues in {@link BigInteger}. Arrays of at least {@value #PARALLEL_THRESHOLD} elements are
+ * reduced as a fork-join tree, each leaf reducing its slice sequentially.
+ */
+final class ExactArithmetic {
+
+    /** Below this length array reductions stay on the current thread. */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Leaves of the reduction tree reduce at most this many elements sequentially. */
+    private static final int LEAF_SIZE = 1 << 14;
+
+    private final ForkJoinPool pool;
+
+    ExactArithmetic(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Binary gcd of the magnitudes of two values, read as unsigned: {@code Long.MIN_VALUE} stands
+     * for 2^63, and a result of 2^63 comes back as {@code Long.MIN_VALUE}.
+     *
+     * @param a first value
+     * @param b second value
+     * @return the unsigned gcd; 0 only when both values are 0
+     */
+    static long unsignedGcd(long a, long b) {
+        a = Math.abs(a);
+        b = Math.abs(b);
+        if (a == 0) {
+            return b;
+        }
+        if (b == 0) {
+            return a;
+        }
+        int shift = Long.numberOfTrailingZeros(a | b);
+        // With the factors of two removed both values are odd and below 2^63
+        a >>>= Long.numberOfTrailingZeros(a);
+        do {
+            b >>>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long t = a;
+                a = b;
+                b = t;
+            }
+            b -= a;
+        } while (b != 0);
+        return a << shift;
+    }
+
+    /**
+     * Calculates the greatest common divisor.
+     *
+     * @param a first value
+     * @param b second value
+     * @return the non-negative gcd
+     * @throws ArithmeticException if the gcd is 2^63, which happens only for {@code Long.MIN_VALUE} and 0
+     */
+    static long gcd(long a, long b) {
+        long gcd = unsignedGcd(a, b);
+        if (gcd < 0) {
+            throw new ArithmeticException("gcd(" + a + ", " + b + ") overflows long");
+        }
+        return gcd;
+    }
+
+    /**
+     * Calculates the least common multiple.
+     *
+     * @param a first value
+     * @param b second value
+     * @return the non-negative lcm; 0 when either value is 0
+     * @throws ArithmeticException if the lcm does not fit in a long
+     */
+    static long lcm(long a, long b) {
+        long lcm = unsignedLcm(a, b);
+        if (lcm < 0) {
+            throw new ArithmeticException("lcm(" + a + ", " + b + ") overflows long");
+        }
+        return lcm;
+    }
+
+    /**
+     * Lcm of the magnitudes of two values.
+     *
+     * @return the lcm, or -1 when it does not fit in a long
+     */
+    private static long unsignedLcm(long a, long b) {
+        if (a == 0 || b == 0) {
+            return 0;
+        }
+        long quotient = Long.divideUnsigned(Math.abs(a), unsignedGcd(a, b));
+        long other = Math.abs(b);
+        long low = quotient * other;
+        if (Math.unsignedMultiplyHigh(quotient, other) != 0 || low < 0) {
+            return -1;
+        }
+        return low;
+    }
+
+    /**
+     * Calculates the greatest common divisor of all values, stopping early once it reaches 1.
+     *
+     * @param values the values; may be empty
+     * @return the non-negative gcd; 0 when all values are 0 or there are none
+     * @throws ArithmeticException if the gcd is 2^31, which happens only for {@code Integer.MIN_VALUE} and zeros
+     */
+    int gcd(int[] values) {
+        long gcd = values.length < PARALLEL_THRESHOLD
+                ? gcd(values, 0, values.length)
+                : pool.invoke(new GcdTask(values, 0, values.length));
+        if (gcd > Integer.MAX_VALUE) {
+            throw new ArithmeticException("gcd of the values overflows int");
+        }
+        return (int) gcd;
+    }
+
+    /**
+     * Calculates the least common multiple of all values, in {@code long} arithmetic for as long as
+     * the running result fits.
+     *
+     * @param values the values; may be empty
+     * @return the non-negative lcm; 1 when there are no values, 0 when any value is 0
+     */
+    BigInteger lcm(long[] values) {
+        if (values.length < PARALLEL_THRESHOLD) {
+            return lcm(values, 0, values.length);
+        }
+        return pool.invoke(new LcmTask(values, 0, values.length));
+    }
+
+    private static long gcd(int[] values, int from, int to) {
+        long gcd = 0;
+        for (int i = from; i < to && gcd != 1; i++) {
+            gcd = unsignedGcd(gcd, values[i]);
+        }
+        return gcd;
+    }
+
+    private static BigInteger lcm(long[] values, int from, int to) {
+        long lcm = 1;
+        int i = from;
+        for (; i < to; i++) {
+            long next = unsignedLcm(lcm, values[i]);
+            if (next < 0) {
+                break;
+            }
+            lcm = next;
+            if (lcm == 0) {
+                return BigInteger.ZERO;
+            }
+        }
+        if (i == to) {
+            return BigInteger.valueOf(lcm);
+        }
+        BigInteger big = BigInteger.valueOf(lcm);
+        for (; i < to; i++) {
+            if (values[i] == 0) {
+                return BigInteger.ZERO;
+            }
+            big = lcm(big, BigInteger.valueOf(values[i]).abs());
+        }
+        return big;
+    }
+
+    private static BigInteger lcm(BigInteger a, BigInteger b) {
+        if (a.signum() == 0 || b.signum() == 0) {
+            return BigInteger.ZERO;
+        }
+        return a.divide(a.gcd(b)).multiply(b);
+    }
+
+    /** Halves a slice until it fits a leaf, then combines the halves' gcds. */
+    private static final class GcdTask extends RecursiveTask<Long> {
+
+        private final int[] values;
+        private final int from;
+        private final int to;
+
+        GcdTask(int[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= LEAF_SIZE) {
+                return gcd(values, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            GcdTask right = new GcdTask(values, middle, to);
+            right.fork();
+            long left = new GcdTask(values, from, middle).compute();
+            return unsignedGcd(left, right.join());
+        }
+    }
+
+    /** Halves a slice until it fits a leaf, then combines the halves' lcms. */
+    private static final class LcmTask extends RecursiveTask<BigInteger> {
+
+        private final long[] values;
+        private final int from;
+        private final int to;
+
+        LcmTask(long[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            if (to - from <= LEAF_SIZE) {
+                return lcm(values, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            LcmTask right = new LcmTask(values, middle, to);
+            right.fork();
+            BigInteger left = new LcmTask(values, from, middle).compute();
+            BigInteger combined = right.join();
+            if (left.bitLength() < Long.SIZE && combined.bitLength() < Long.SIZE) {
+                long lcm = unsignedLcm(left.longValue(), combined.longValue());
+                if (lcm >= 0) {
+                    return BigInteger.valueOf(lcm);
+                }
+            }
+            return lcm(left, combined);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.calculator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles infix expressions over the {@link Calculator} operations and caches the results.
+ *
+ * <p>Grammar, from lowest to highest precedence:
+ * <pre>
+ * expression := term (('+' | '-') term)*
+ * term       := unary (('*' | '/') unary)*
+ * unary      := ('-' | '+') unary | power
+ * power      := primary ('^' unary)?          right-associative
+ * primary    := number | name | name '(' expression (',' expression)* ')' | '(' expression ')'
+ * </pre>
+ * Function names are the {@link Operation} names, for example {@code sqrt(x)} or
+ * {@code percentage(x, 15)}; any other name is a variable. Subtrees without variables are folded
+ * into constants at compile time unless evaluating them fails, in which case the error is raised
+ * on evaluation as it would be for the uncompiled expression.
+ *
+ * <p>Compiled expressions are kept in a {@link ResultCache} keyed by a 64-bit hash and the length
+ * of the expression text, so repeated formulas skip parsing entirely and lookups take no lock. A
+ * hit is used only when the cached expression has the same text, so hash collisions cost a
+ * recompilation, never a wrong result.
+ */
+@Service
+public class ExpressionCompiler {
+
+    /** Longest expression accepted, in characters. */
+    static final int MAX_LENGTH = 4096;
+
+    /** Deepest nesting of parentheses and unary operators accepted. */
+    static final int MAX_DEPTH = 128;
+
+    private final Calculator calculator;
+    private final ResultCache cache;
+
+    public ExpressionCompiler(Calculator calculator,
+                              @Value("${calculator.eval.cache-size:1024}") int cacheSize) {
+        this.calculator = calculator;
+        this.cache = new ResultCache("eval", cacheSize);
+    }
+
+    /**
+     * Returns the compiled form of an expression, from the cache when it was compiled before.
+     *
+     * @param text the expression
+     * @return compiled expression
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public CompiledExpression compile(String text) {
+        validate(text);
+        long hash = textHash(text);
+        ResultCache.Entry entry = cache.get(hash, text.length());
+        if (entry != null && ((CompiledExpression) entry.reference).text().equals(text)) {
+            return (CompiledExpression) entry.reference;
+        }
+        CompiledExpression compiled = new Parser(text).parse();
+        cache.put(hash, text.length(), 0, compiled);
+        return compiled;
+    }
+
+    /**
+     * Compiles and evaluates an expression.
+     *
+     * @param text the expression
+     * @param bindings variable values by name; may be null when the expression has no variables
+     * @return the result
+     * @throws IllegalArgumentException if the expression is malformed, a variable is unbound
+     *                                  or an operation fails
+     */
+    public double evaluate(String text, Map<String, Double> bindings) {
+        return compile(text).evaluate(bindings);
+    }
+
+    int cacheSize() {
+        return cache.size();
+    }
+
+    int cacheCapacity() {
+        return cache.capacity();
+    }
+
+    /** Rejects missing and over-long expressions before they are hashed or parsed. */
+    private static void validate(String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Expression must not be empty");
+        }
+        if (text.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("Expression must not exceed " + MAX_LENGTH + " characters");
+        }
+    }
+
+    private static long textHash(String text) {
+        long hash = 1125899906842597L;
+        for (int i = 0; i < text.length(); i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        return hash;
+    }
+
+    /** Recursive-descent parser producing a closure tree. */
+    private final class Parser {
+
+        private final String text;
+        private final List<String> variables = new ArrayList<>();
+        private int position;
+        private int depth;
+
+        Parser(String text) {
+            validate(text);
+            this.text = text;
+        }
+
+        CompiledExpression parse() {
+            Compiled root = expression();
+            skipWhitespace();
+            if (position < text.length()) {
+                throw error("Unexpected '" + text.charAt(position) + "'");
+            }
+            return new CompiledExpression(text, root.node, variables);
+        }
+
+        private Compiled expression() {
+            Compiled left = term();
+            while (true) {
+                if (accept('+')) {
+                    left = binary(Operation.ADD, left, term());
+                } else if (accept('-')) {
+                    left = binary(Operation.SUBTRACT, left, term());
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Compiled term() {
+            Compiled left = unary();
+            while (true) {
+                if (accept('*')) {
+                    left = binary(Operation.MULTIPLY, left, unary());
+                } else if (accept('/')) {
+                    left = binary(Operation.DIVIDE, left, unary());
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Compiled unary() {
+            enter();
+            try {
+                if (accept('-')) {
+                    Compiled operand = unary();
+                    if (operand.constant) {
+                        return constant(-operand.node.evaluate(null));
+                    }
+                    CompiledExpression.Node node = operand.node;
+                    return new Compiled(values -> -node.evaluate(values), false);
+                }
+                if (accept('+')) {
+                    return unary();
+                }
+                return power();
+            } finally {
+                depth--;
+            }
+        }
+
+        private Compiled power() {
+            Compiled base = primary();
+            if (accept('^')) {
+                return binary(Operation.POWER, base, unary());
+            }
+            return base;
+        }
+
+        private Compiled primary() {
+            skipWhitespace();
+            if (position >= text.length()) {
+                throw error("Unexpected end of expression");
+            }
+            char c = text.charAt(position);
+            if (accept('(')) {
+                enter();
+                Compiled inner = expression();
+                depth--;
+                expect(')');
+                return inner;
+            }
+            if (Character.isDigit(c) || c == '.') {
+                return number();
+            }
+            if (Character.isLetter(c) || c == '_') {
+                String name = name();
+                if (accept('(')) {
+                    return call(name);
+                }
+                return variable(name);
+            }
+            throw error("Unexpected '" + c + "'");
+        }
+
+        private Compiled number() {
+            int start = position;
+            while (position < text.length() && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.')) {
+                position++;
+            }
+            if (position < text.length() && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+                position++;
+                if (position < text.length() && (text.charAt(position) == '+' || text.charAt(position) == '-')) {
+                    position++;
+                }
+                while (position < text.length() && Character.isDigit(text.charAt(position))) {
+                    position++;
+                }
+            }
+            try {
+                return constant(Double.parseDouble(text.substring(start, position)));
+            } catch (NumberFormatException e) {
+                position = start;
+                throw error("Malformed number");
+            }
+        }
+
+        private String name() {
+            int start = position;
+            while (position < text.length()
+                    && (Character.isLetterOrDigit(text.charAt(position)) || text.charAt(position) == '_')) {
+                position++;
+            }
+            return text.substring(start, position);
+        }
+
+        private Compiled call(String name) {
+            Operation operation;
+            try {
+                operation = Operation.fromName(name);
+            } catch (IllegalArgumentException e) {
+                throw error("Unknown function: " + name);
+            }
+            List<Compiled> arguments = new ArrayList<>();
+            enter();
+            if (!accept(')')) {
+                do {
+                    arguments.add(expression());
+                } while (accept(','));
+                expect(')');
+            }
+            depth--;
+            int arity = operation.isUnary() ? 1 : 2;
+            if (arguments.size() != arity) {
+                throw error(name + " takes " + arity + (arity == 1 ? " argument" : " arguments"));
+            }
+            return binary(operation, arguments.get(0), arity == 1 ? constant(0) : arguments.get(1));
+        }
+
+        private Compiled variable(String name) {
+            int index = variables.indexOf(name);
+            if (index < 0) {
+                index = variables.size();
+                variables.add(name);
+            }
+            int slot = index;
+            return new Compiled(values -> values[slot], false);
+        }
+
+        private Compiled binary(Operation operation, Compiled left, Compiled right) {
+            CompiledExpression.Node a = left.node;
+            CompiledExpression.Node b = right.node;
+            if (left.constant && right.constant) {
+                CalculationResult folded = operation.apply(calculator, a.evaluate(null), b.evaluate(null),
+                        CalculationResult.get());
+                if (folded.isSuccess()) {
+                    return constant(folded.value());
+                }
+                // Not folded: the error is raised when the expression is evaluated
+            }
+            Calculator calc = calculator;
+            CompiledExpression.Node node = switch (operation) {
+                case ADD -> values -> calc.add(a.evaluate(values), b.evaluate(values));
+                case SUBTRACT -> values -> calc.subtract(a.evaluate(values), b.evaluate(values));
+                case MULTIPLY -> values -> calc.multiply(a.evaluate(values), b.evaluate(values));
+                case DIVIDE -> values -> calc.divide(a.evaluate(values), b.evaluate(values));
+                case POWER -> values -> calc.power(a.evaluate(values), b.evaluate(values));
+                case PERCENTAGE -> values -> calc.percentage(a.evaluate(values), b.evaluate(values));
+                case SQRT -> values -> calc.squareRoot(a.evaluate(values));
+            };
+            return new Compiled(node, false);
+        }
+
+        private Compiled constant(double value) {
+            return new Compiled(values -> value, true);
+        }
+
+        private void enter() {
+            if (++depth > MAX_DEPTH) {
+                throw error("Expression is nested too deeply");
+            }
+        }
+
+        private boolean accept(char c) {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!accept(c)) {
+                throw error("Expected '" + c + "'");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + position);
+        }
+    }
+
+    /** A compiled node and whether it is a compile-time constant. */
+    private record Compiled(CompiledExpression.Node node, boolean constant) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.calculator;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Exact factorials. Values up to 20! come from a table; larger ones use Luschny's prime-swing
+ * algorithm, {@code n! = ((n/2)!)^2 * swing(n)}, where the swing factor is assembled from its prime
+ * factorization with a balanced product tree. The recursion on {@code (n/2)!} and the product trees
+ * run as fork-join tasks, so large factorials use every core. Inside an asynchronous job, each
+ * recursion step reports progress and every task checks the job's {@link JobContext} for cancellation.
+ */
+final class FactorialEngine {
+
+    /** Largest n whose factorial fits in a {@code long}. */
+    static final int MAX_LONG_INPUT = 20;
+
+    private static final long[] LONG_FACTORIALS = new long[MAX_LONG_INPUT + 1];
+
+    static {
+        LONG_FACTORIALS[0] = 1;
+        for (int i = 1; i <= MAX_LONG_INPUT; i++) {
+            LONG_FACTORIALS[i] = LONG_FACTORIALS[i - 1] * i;
+        }
+    }
+
+    /** Below this n the swing recursion stays on the current thread. */
+    static final int PARALLEL_THRESHOLD = 2_000;
+
+    /** Product-tree leaves multiply at most this many factors sequentially. */
+    private static final int PRODUCT_LEAF_SIZE = 64;
+
+    private final ForkJoinPool pool;
+
+    FactorialEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Looks up a factorial that fits in a {@code long}.
+     *
+     * @param n a number between 0 and {@link #MAX_LONG_INPUT}
+     * @return n!
+     */
+    static long longFactorial(int n) {
+        return LONG_FACTORIALS[n];
+    }
+
+    /**
+     * Calculates an exact factorial.
+     *
+     * @param n a non-negative number
+     * @return n!
+     */
+    BigInteger factorial(int n) {
+        if (n <= MAX_LONG_INPUT) {
+            return BigInteger.valueOf(LONG_FACTORIALS[n]);
+        }
+        JobContext context = JobContext.current();
+        int steps = 0;
+        for (int m = n; m > MAX_LONG_INPUT; m /= 2) {
+            steps++;
+        }
+        context.addWork(steps);
+        int[] oddPrimes = PrimeSieve.oddPrimesUpTo(n);
+        if (n < PARALLEL_THRESHOLD) {
+            return new FactorialTask(n, oddPrimes, context).compute();
+        }
+        return pool.invoke(new FactorialTask(n, oddPrimes, context));
+    }
+
+    /**
+     * Computes the swing factor {@code n! / ((n/2)!)^2} from its prime factorization.
+     * The exponent of a prime p is the number of odd terms among {@code n/p, n/p^2, ...}.
+     */
+    private static BigInteger swing(int n, int[] oddPrimes, JobContext context) {
+        long[] factors = new long[oddPrimes.length + 1];
+        int count = 0;
+        long packed = 1;
+        int twos = 0;
+        for (int q = n / 2; q > 0; q /= 2) {
+            twos += q & 1;
+        }
+        if (twos > 0) {
+            factors[count++] = 1L << twos;
+        }
+        for (int p : oddPrimes) {
+            if (p > n) {
+                break;
+            }
+            long power = 1;
+            for (int q = n / p; q > 0; q /= p) {
+                if ((q & 1) != 0) {
+                    power *= p;
+                }
+            }
+            if (power == 1) {
+                continue;
+            }
+            // Pack several small prime powers into one long to shorten the product tree
+            if (packed <= Long.MAX_VALUE / power) {
+                packed *= power;
+            } else {
+                factors[count++] = packed;
+                packed = power;
+            }
+        }
+        if (packed != 1) {
+            factors[count++] = packed;
+        }
+        return product(factors, 0, count, count > PRODUCT_LEAF_SIZE * 4, context);
+    }
+
+    private static BigInteger product(long[] factors, int from, int to, boolean parallel, JobContext context) {
+        if (to - from <= PRODUCT_LEAF_SIZE) {
+            BigInteger result = BigInteger.ONE;
+            for (int i = from; i < to; i++) {
+                result = result.multiply(BigInteger.valueOf(factors[i]));
+            }
+            return result;
+        }
+        if (parallel) {
+            return new ProductTask(factors, from, to, context).compute();
+        }
+        int middle = (from + to) >>> 1;
+        return product(factors, from, middle, false, context).multiply(product(factors, middle, to, false, context));
+    }
+
+    /** Balanced product of a slice of factors, splitting into fork-join subtasks. */
+    private static final class ProductTask extends RecursiveTask<BigInteger> {
+
+        private final long[] factors;
+        private final int from;
+        private final int to;
+        private final JobContext context;
+
+        ProductTask(long[] factors, int from, int to, JobContext context) {
+            this.factors = factors;
+            this.from = from;
+            this.to = to;
+            this.context = context;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            context.checkCancelled();
+            if (to - from <= PRODUCT_LEAF_SIZE * 4) {
+                return product(factors, from, to, false, context);
+            }
+            int middle = (from + to) >>> 1;
+            ProductTask left = new ProductTask(factors, from, middle, context);
+            left.fork();
+            BigInteger right = new ProductTask(factors, middle, to, context).compute();
+            return left.join().multiply(right);
+        }
+    }
+
+    /** Computes {@code (n/2)!} in a forked subtask while this task computes {@code swing(n)}. */
+    private static final class FactorialTask extends RecursiveTask<BigInteger> {
+
+        private final int n;
+        private final int[] oddPrimes;
+        private final JobContext context;
+
+        FactorialTask(int n, int[] oddPrimes, JobContext context) {
+            this.n = n;
+            this.oddPrimes = oddPrimes;
+            this.context = context;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            if (n <= MAX_LONG_INPUT) {
+                return BigInteger.valueOf(LONG_FACTORIALS[n]);
+            }
+            context.checkCancelled();
+            FactorialTask half = new FactorialTask(n / 2, oddPrimes, context);
+            BigInteger result;
+            if (n < PARALLEL_THRESHOLD) {
+                BigInteger halfFactorial = half.compute();
+                result = halfFactorial.multiply(halfFactorial).multiply(swing(n, oddPrimes, context));
+            } else {
+                half.fork();
+                BigInteger swing = swing(n, oddPrimes, context);
+                BigInteger halfFactorial = half.join();
+                result = halfFactorial.multiply(halfFactorial).multiply(swing);
+            }
+            context.progress(1);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.calculator;
+
+import com.example.calculator.dto.FileJobStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * State of one bulk file job run by {@link FileJobService}. Chunks update the counters
+ * concurrently; {@link #status()} reads a consistent enough snapshot for progress reporting.
+ */
+final class FileJob {
+
+    enum State { RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final String op;
+    private final long total;
+    private final LongAdder processed = new LongAdder();
+    private final AtomicLong errors = new AtomicLong();
+    private final CompletableFuture<FileJob> completion = new CompletableFuture<>();
+
+    private long firstErrorIndex = -1;
+    private String firstError;
+    private volatile State state = State.RUNNING;
+    private volatile String failure;
+
+    FileJob(String id, String op, long total) {
+        this.id = id;
+        this.op = op;
+        this.total = total;
+    }
+
+    String id() {
+        return id;
+    }
+
+    State state() {
+        return state;
+    }
+
+    /**
+     * Returns a future completed with this job when it finishes, successfully or not.
+     *
+     * @return the completion future
+     */
+    CompletableFuture<FileJob> completion() {
+        return completion;
+    }
+
+    void progress(int elements) {
+        processed.add(elements);
+    }
+
+    /** Records failing elements, keeping the message of the lowest index. */
+    void errors(long count, long index, String message) {
+        errors.addAndGet(count);
+        synchronized (this) {
+            if (firstErrorIndex < 0 || index < firstErrorIndex) {
+                firstErrorIndex = index;
+                firstError = message;
+            }
+        }
+    }
+
+    /** Ends the job, failed if {@code cause} is not null; later calls are ignored. */
+    synchronized void finish(Throwable cause) {
+        if (state != State.RUNNING) {
+            return;
+        }
+        if (cause == null) {
+            state = State.COMPLETED;
+        } else {
+            failure = cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage();
+            state = State.FAILED;
+        }
+        completion.complete(this);
+    }
+
+    FileJobStatus status() {
+        State current = state;
+        synchronized (this) {
+            return new FileJobStatus(id, op, current.name(), processed.sum(), total, errors.get(),
+                    firstErrorIndex < 0 ? null : firstErrorIndex, firstError, failure);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.calculator;
+
+import com.example.calculator.dto.FileJobRequest;
+import com.example.calculator.dto.FileJobStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * REST endpoints of the bulk file jobs, present when {@code calculator.files.enabled} is true.
+ */
+@RestController
+@ConditionalOnProperty(name = "calculator.files.enabled", havingValue = "true")
+public class FileJobController {
+
+    private final FileJobService fileJobs;
+
+    public FileJobController(FileJobService fileJobs) {
+        this.fileJobs = fileJobs;
+    }
+
+    /**
+     * Starts a bulk job over files in the job directory.
+     *
+     * @param request operation, element type and file names
+     * @return 202 with the job's initial status and its location
+     * @throws IOException if the files cannot be opened
+     */
+    @PostMapping("/jobs/files")
+    public ResponseEntity<FileJobStatus> submit(@RequestBody FileJobRequest request) throws IOException {
+        FileJob job;
+        try {
+            job = fileJobs.submit(request);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return ResponseEntity.accepted().location(URI.create("/jobs/files/" + job.id())).body(job.status());
+    }
+
+    /**
+     * Reports the progress of a bulk job.
+     *
+     * @param id the job identifier
+     * @return the job's status
+     */
+    @GetMapping("/jobs/files/{id}")
+    public FileJobStatus status(@PathVariable String id) {
+        FileJob job = fileJobs.job(id);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown job: " + id);
+        }
+        return job.status();
+    }
+}
@@ -0,0 +1,388 @@
+package com.example.calculator;
+
+import com.example.calculator.dto.FileJobRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Runs bulk jobs over binary column files without moving the data through the heap or the
+ * network. Enabled by {@code calculator.files.enabled}.
+ *
+ * <p>Inputs are little-endian {@code double}, {@code int} or {@code long} columns. A job is split
+ * into chunks that run in parallel on the compute pool; each chunk maps its region of the input
+ * and output files with {@link FileChannel#map}, so files far larger than the heap work. A mapping
+ * is only released when its buffer is garbage collected, and jobs allocate little, so the
+ * mappings of finished chunks can add up to the whole files: that much address space stays
+ * reserved until the next collection, though their pages are file-backed and can be reclaimed by
+ * the operating system at any time. Values are copied between the mappings and
+ * small per-thread arrays in bulk, which lets arithmetic use the same SIMD kernels as column
+ * batches and leaves no garbage per element. Failing elements are written as {@code NaN} and
+ * counted, like in column batches.
+ */
+@Service
+@ConditionalOnProperty(name = "calculator.files.enabled", havingValue = "true")
+public class FileJobService {
+
+    /** Operation name of primality jobs, the only non-arithmetic operation. */
+    static final String IS_PRIME = "isPrime";
+
+    /** Elements copied between a mapping and the per-thread arrays at once. */
+    private static final int BLOCK = 8192;
+
+    /** Finished jobs beyond this count are forgotten, oldest first. */
+    private static final int RETAINED_JOBS = 256;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final Calculator calculator;
+    private final BatchCalculator batchCalculator;
+    private final ComputePool computePool;
+    private final Path directory;
+    private final int chunkElements;
+    private final Map<String, FileJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FileJob> eldest) {
+            return size() > RETAINED_JOBS && eldest.getValue().state() != FileJob.State.RUNNING;
+        }
+    });
+
+    /**
+     * Creates the service.
+     *
+     * @param calculator evaluates primality
+     * @param batchCalculator evaluates arithmetic blocks
+     * @param computePool runs the chunks
+     * @param directory directory holding input and output files; created if missing
+     * @param chunkElements elements per chunk, the unit of parallelism and of mapping
+     * @throws IOException if the directory cannot be created
+     */
+    public FileJobService(Calculator calculator, BatchCalculator batchCalculator, ComputePool computePool,
+                          @Value("${calculator.files.directory:${java.io.tmpdir}/calculator-files}") String directory,
+                          @Value("${calculator.files.chunk-elements:4194304}") int chunkElements) throws IOException {
+        if (chunkElements < 1 || chunkElements > Integer.MAX_VALUE / Double.BYTES) {
+            // A mapping holds at most 2 GiB
+            throw new IllegalArgumentException("Chunk size must be between 1 and 268435455, got " + chunkElements);
+        }
+        this.calculator = calculator;
+        this.batchCalculator = batchCalculator;
+        this.computePool = computePool;
+        this.directory = Files.createDirectories(Path.of(directory)).toRealPath();
+        this.chunkElements = chunkElements;
+    }
+
+    /**
+     * Validates a job, sizes its output file and starts it in the background.
+     *
+     * @param request the job
+     * @return the running job
+     * @throws IllegalArgumentException if the operation, type or files are invalid
+     * @throws IOException if the files cannot be opened
+     */
+    FileJob submit(FileJobRequest request) throws IOException {
+        ColumnType type = ColumnType.fromName(request.type());
+        boolean isPrime = IS_PRIME.equalsIgnoreCase(request.op());
+        Operation operation = isPrime ? null : Operation.fromName(request.op());
+        if (isPrime && type.longReader == null) {
+            throw new IllegalArgumentException("isPrime needs int or long input");
+        }
+        boolean binary = operation != null && !operation.isUnary();
+        Path a = input(request.a(), "a");
+        Path b = binary ? input(request.b(), "b") : null;
+        Path output = output(request.output());
+        if (overwrites(output, a) || (b != null && overwrites(output, b))) {
+            throw new IllegalArgumentException("Output must not overwrite an input");
+        }
+        long total = elements(a, type);
+        if (b != null && elements(b, type) != total) {
+            throw new IllegalArgumentException("Operand files must hold the same number of elements");
+        }
+
+        List<FileChannel> channels = new ArrayList<>(3);
+        try {
+            FileChannel inA = open(channels, a, StandardOpenOption.READ);
+            FileChannel inB = b == null ? null : open(channels, b, StandardOpenOption.READ);
+            // Not following links, so a link swapped in after validation fails here instead
+            FileChannel out = open(channels, output, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, LinkOption.NOFOLLOW_LINKS);
+            long outputSize = total * (isPrime ? 1 : Double.BYTES);
+            if (outputSize > 0) {
+                // Size the file up front so that concurrent chunk mappings never extend it
+                out.write(ByteBuffer.allocate(1), outputSize - 1);
+            }
+            FileJob job = new FileJob(UUID.randomUUID().toString(), isPrime ? IS_PRIME : operation.operationName(), total);
+            jobs.put(job.id(), job);
+            start(new Plan(job, operation, type, inA, inB, out), total, channels);
+            return job;
+        } catch (IOException | RuntimeException e) {
+            close(channels);
+            throw e;
+        }
+    }
+
+    /**
+     * Looks up a job.
+     *
+     * @param id the job identifier
+     * @return the job, or null if unknown or forgotten
+     */
+    FileJob job(String id) {
+        return jobs.get(id);
+    }
+
+    private void start(Plan plan, long total, List<FileChannel> channels) {
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (long first = 0; first < total; first += chunkElements) {
+            long start = first;
+            int count = (int) Math.min(chunkElements, total - first);
+            chunks.add(CompletableFuture.runAsync(() -> {
+                if (plan.job.state() != FileJob.State.FAILED) {
+                    processChunk(plan, start, count);
+                }
+            }, computePool.pool()).exceptionally(e -> {
+                plan.job.finish(e.getCause() == null ? e : e.getCause());
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).whenComplete((ignored, e) -> {
+            plan.job.finish(close(channels));
+        });
+    }
+
+    private void processChunk(Plan plan, long first, int count) {
+        try {
+            int size = plan.type.size;
+            MappedByteBuffer a = map(plan.a, FileChannel.MapMode.READ_ONLY, first * size, (long) count * size);
+            MappedByteBuffer b = plan.b == null ? null
+                    : map(plan.b, FileChannel.MapMode.READ_ONLY, first * size, (long) count * size);
+            Scratch scratch = SCRATCH.get();
+            MappedByteBuffer out;
+            if (plan.operation == null) {
+                out = map(plan.out, FileChannel.MapMode.READ_WRITE, first, count);
+                for (int offset = 0; offset < count; offset += BLOCK) {
+                    int n = Math.min(BLOCK, count - offset);
+                    plan.type.longReader.read(a, offset, scratch.longs, n);
+                    for (int i = 0; i < n; i++) {
+                        scratch.flags[i] = (byte) (calculator.isPrime(scratch.longs[i]) ? 1 : 0);
+                    }
+                    out.put(offset, scratch.flags, 0, n);
+                    plan.job.progress(n);
+                }
+            } else {
+                out = map(plan.out, FileChannel.MapMode.READ_WRITE, first * Double.BYTES, (long) count * Double.BYTES);
+                DoubleBuffer results = out.asDoubleBuffer();
+                for (int offset = 0; offset < count; offset += BLOCK) {
+                    int n = Math.min(BLOCK, count - offset);
+                    plan.type.readDoubles(a, offset, scratch.a, n);
+                    if (b != null) {
+                        plan.type.readDoubles(b, offset, scratch.b, n);
+                    }
+                    scratch.errors = 0;
+                    batchCalculator.evaluate(plan.operation, scratch.a, scratch.b, scratch.results, 0, n, scratch);
+                    if (scratch.errors > 0) {
+                        plan.job.errors(scratch.errors, first + offset + scratch.firstErrorIndex, scratch.firstError);
+                    }
+                    results.put(offset, scratch.results, 0, n);
+                    plan.job.progress(n);
+                }
+            }
+            out.force();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode, long position, long size)
+            throws IOException {
+        MappedByteBuffer buffer = channel.map(mode, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private Path input(String name, String operand) throws IOException {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Input file " + operand + " is required");
+        }
+        Path path = directory.resolve(name).normalize();
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("Input file not found: " + name);
+        }
+        return inDirectory(path.toRealPath(), name);
+    }
+
+    private Path output(String name) throws IOException {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Output file is required");
+        }
+        Path path = directory.resolve(name).normalize();
+        Path parent = path.getParent();
+        if (parent == null || !Files.isDirectory(parent)) {
+            throw new IllegalArgumentException("Output directory not found: " + name);
+        }
+        Path output = inDirectory(parent.toRealPath().resolve(path.getFileName()), name);
+        if (Files.isSymbolicLink(output)) {
+            throw new IllegalArgumentException("Output file must not be a symbolic link: " + name);
+        }
+        return output;
+    }
+
+    /** Whether writing the output would truncate the input, also through a hard link. */
+    private static boolean overwrites(Path output, Path input) throws IOException {
+        return output.equals(input) || (Files.exists(output, LinkOption.NOFOLLOW_LINKS) && Files.isSameFile(output, input));
+    }
+
+    private Path inDirectory(Path path, String name) {
+        if (!path.startsWith(directory)) {
+            throw new IllegalArgumentException("File is outside the job directory: " + name);
+        }
+        return path;
+    }
+
+    private static long elements(Path path, ColumnType type) throws IOException {
+        long size = Files.size(path);
+        if (size % type.size != 0) {
+            throw new IllegalArgumentException("Size of " + path.getFileName() + " is not a multiple of " + type.size);
+        }
+        return size / type.size;
+    }
+
+    private static FileChannel open(List<FileChannel> channels, Path path, OpenOption... options)
+            throws IOException {
+        FileChannel channel = FileChannel.open(path, options);
+        channels.add(channel);
+        return channel;
+    }
+
+    private static IOException close(List<FileChannel> channels) {
+        IOException failure = null;
+        for (FileChannel channel : channels) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        return failure;
+    }
+
+    /** Element types of input files. */
+    private enum ColumnType {
+
+        DOUBLE(Double.BYTES, null) {
+            @Override
+            void readDoubles(ByteBuffer in, int offset, double[] values, int n) {
+                in.asDoubleBuffer().get(offset, values, 0, n);
+            }
+        },
+        INT(Integer.BYTES, (in, offset, values, n) -> {
+            IntBuffer ints = in.asIntBuffer();
+            for (int i = 0; i < n; i++) {
+                values[i] = ints.get(offset + i);
+            }
+        }) {
+            @Override
+            void readDoubles(ByteBuffer in, int offset, double[] values, int n) {
+                IntBuffer ints = in.asIntBuffer();
+                for (int i = 0; i < n; i++) {
+                    values[i] = ints.get(offset + i);
+                }
+            }
+        },
+        LONG(Long.BYTES, (in, offset, values, n) -> in.asLongBuffer().get(offset, values, 0, n)) {
+            @Override
+            void readDoubles(ByteBuffer in, int offset, double[] values, int n) {
+                LongBuffer longs = in.asLongBuffer();
+                for (int i = 0; i < n; i++) {
+                    values[i] = longs.get(offset + i);
+                }
+            }
+        };
+
+        final int size;
+
+        /** Reader of the exact values, or null for a floating-point type. */
+        final LongReader longReader;
+
+        ColumnType(int size, LongReader longReader) {
+            this.size = size;
+            this.longReader = longReader;
+        }
+
+        /** Reads {@code n} elements starting at element {@code offset}, widened to double. */
+        abstract void readDoubles(ByteBuffer in, int offset, double[] values, int n);
+
+        static ColumnType fromName(String name) {
+            if (name == null) {
+                return DOUBLE;
+            }
+            for (ColumnType type : values()) {
+                if (type.name().toLowerCase(Locale.ROOT).equals(name.toLowerCase(Locale.ROOT))) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown element type: " + name);
+        }
+    }
+
+    /** Reads {@code n} integral elements starting at element {@code offset}. */
+    @FunctionalInterface
+    private interface LongReader {
+        void read(ByteBuffer in, int offset, long[] values, int n);
+    }
+
+    /**
+     * A started job and its open files; {@code operation} is null for primality jobs, whose type
+     * always has a {@link ColumnType#longReader}.
+     */
+    private record Plan(FileJob job, Operation operation, ColumnType type,
+                        FileChannel a, FileChannel b, FileChannel out) {
+    }
+
+    /**
+     * Per-thread block arrays, reused by every chunk the thread processes. Also collects the
+     * errors of a block, so that the job is updated once per block rather than per element.
+     */
+    private static final class Scratch implements ObjIntConsumer<String> {
+
+        final double[] a = new double[BLOCK];
+        final double[] b = new double[BLOCK];
+        final double[] results = new double[BLOCK];
+        final long[] longs = new long[BLOCK];
+        final byte[] flags = new byte[BLOCK];
+        int errors;
+        int firstErrorIndex;
+        String firstError;
+
+        @Override
+        public void accept(String message, int index) {
+            if (errors++ == 0) {
+                firstErrorIndex = index;
+                firstError = message;
+            }
+        }
+    }
+}
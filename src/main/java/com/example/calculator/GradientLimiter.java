@@ -0,0 +1,134 @@
+package com.example.calculator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit learned from latency, after the gradient limiters of Netflix's
+ * concurrency-limits library.
+ *
+ * <p>Two moving averages of request latency are kept: a short one following the last few
+ * requests and a long one describing the no-load baseline. Their ratio is the gradient. While
+ * latency stays near the baseline the gradient is 1 and the limit grows by a queue allowance of
+ * {@code sqrt(limit)}; once requests start queueing, latency rises above the baseline and the
+ * limit shrinks in proportion, down to half per update. Requests over the limit are rejected
+ * immediately rather than queued.
+ *
+ * <p>Admission is a CAS on the in-flight count. Limit updates are serialized, but a completion
+ * that finds an update in progress skips its sample instead of waiting.
+ */
+final class GradientLimiter {
+
+    /** Latency may exceed the baseline by this factor before the limit starts shrinking. */
+    private static final double TOLERANCE = 1.5;
+
+    /** Weight of a new limit estimate against the current limit. */
+    private static final double SMOOTHING = 0.2;
+
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+    private long samples;
+
+    /**
+     * Creates a limiter.
+     *
+     * @param name operation class name used in statistics
+     * @param initialLimit starting concurrency limit
+     * @param minLimit lowest limit the gradient may reach
+     * @param maxLimit highest limit the gradient may reach
+     */
+    GradientLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(
+                    "Limits must satisfy 1 <= min <= initial <= max, got " + minLimit + ", " + initialLimit + ", " + maxLimit);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Admits a request if the in-flight count is below the limit.
+     *
+     * @return true if admitted; the caller must then call {@link #release}
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Completes an admitted request and feeds its latency into the limit.
+     *
+     * @param rttNanos time from admission to completion
+     */
+    void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        if (rttNanos > 0 && updateLock.tryLock()) {
+            try {
+                update(rttNanos, current);
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    private void update(long rtt, int inFlightAtCompletion) {
+        samples++;
+        shortRtt = samples == 1 ? rtt : shortRtt + (rtt - shortRtt) / Math.min(samples, SHORT_WINDOW);
+        longRtt = samples == 1 ? rtt : longRtt + (rtt - longRtt) / Math.min(samples, LONG_WINDOW);
+
+        // After a period of overload the baseline is inflated; let it fall back quickly
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        // An underused limit says nothing about capacity, so it is neither grown nor shrunk
+        if (inFlightAtCompletion < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    String name() {
+        return name;
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.calculator;
+
+import com.example.calculator.dto.BatchColumnResult;
+import com.example.calculator.dto.BatchResponse;
+import com.example.calculator.dto.JobStatus;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * One asynchronous computation run by {@link JobService}. Jobs order themselves by descending
+ * priority, then by submission, so a priority queue of jobs is also fair within a priority.
+ */
+final class Job implements Runnable, Comparable<Job> {
+
+    enum State { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private final String id;
+    private final String op;
+    private final int priority;
+    private final long sequence;
+    private final Supplier<Object> work;
+    private final JobContext context = new JobContext();
+    private final Consumer<Job> onFinish;
+
+    private State state = State.QUEUED;
+    private Object result;
+    private long resultBytes;
+    private String error;
+
+    Job(String id, String op, int priority, long sequence, Supplier<Object> work, Consumer<Job> onFinish) {
+        this.id = id;
+        this.op = op;
+        this.priority = priority;
+        this.sequence = sequence;
+        this.work = work;
+        this.onFinish = onFinish;
+    }
+
+    String id() {
+        return id;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Returns the result of a completed job.
+     *
+     * @return the result, or null unless {@link State#COMPLETED}
+     */
+    synchronized Object result() {
+        return result;
+    }
+
+    synchronized long resultBytes() {
+        return resultBytes;
+    }
+
+    @Override
+    public void run() {
+        synchronized (this) {
+            if (state != State.QUEUED) {
+                return;
+            }
+            state = State.RUNNING;
+        }
+        Object value = null;
+        State outcome;
+        String message = null;
+        try {
+            value = context.call(work);
+            outcome = State.COMPLETED;
+        } catch (CancellationException e) {
+            outcome = State.CANCELLED;
+        } catch (RuntimeException e) {
+            outcome = State.FAILED;
+            message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        }
+        finish(outcome, value, message);
+    }
+
+    /**
+     * Cancels the job: a queued job is cancelled at once, a running one at its next check.
+     *
+     * @return true if the job was still queued and is now finished
+     */
+    boolean cancel() {
+        synchronized (this) {
+            if (state == State.RUNNING) {
+                context.cancel();
+            }
+            if (state != State.QUEUED) {
+                return false;
+            }
+            state = State.CANCELLED;
+        }
+        onFinish.accept(this);
+        return true;
+    }
+
+    /** Fails a completed job whose result cannot be retained, dropping the result. */
+    synchronized void discardResult(String reason) {
+        state = State.FAILED;
+        error = reason;
+        result = null;
+        resultBytes = 0;
+    }
+
+    synchronized JobStatus status() {
+        return new JobStatus(id, op, priority, state.name(), context.done(), context.total(), error);
+    }
+
+    @Override
+    public int compareTo(Job other) {
+        if (priority != other.priority) {
+            return Integer.compare(other.priority, priority);
+        }
+        return Long.compare(sequence, other.sequence);
+    }
+
+    private void finish(State outcome, Object value, String message) {
+        synchronized (this) {
+            result = value;
+            resultBytes = estimateSize(value);
+            error = message;
+        }
+        // Retention may still discard the result, so the outcome is published afterwards
+        onFinish.accept(this);
+        synchronized (this) {
+            if (state == State.RUNNING) {
+                state = outcome;
+            }
+        }
+    }
+
+    /** Rough retained size of a result, used to bound the memory held by finished jobs. */
+    private static long estimateSize(Object value) {
+        if (value instanceof CharSequence text) {
+            return 40L + text.length();
+        }
+        if (value instanceof BatchResponse response) {
+            long size = 64L + 48L * response.items().size();
+            for (BatchColumnResult column : response.columns()) {
+                size += 64L + 8L * column.results().length + 64L * column.errors().size();
+            }
+            return size;
+        }
+        return value == null ? 0 : 16;
+    }
+}
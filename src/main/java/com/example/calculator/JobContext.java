@@ -0,0 +1,100 @@
+package com.example.calculator;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cancellation flag and progress counters of the asynchronous job running on the current thread.
+ *
+ * <p>Long-running algorithms call {@link #current()} once on entry, hand the context to their
+ * fork-join subtasks, and call {@link #checkCancelled()} between units of work such as sieve
+ * segments or product-tree leaves. Outside a job, {@link #current()} returns a shared context
+ * that is never cancelled and ignores progress, so the checks cost a volatile read.
+ */
+final class JobContext {
+
+    private static final ThreadLocal<JobContext> CURRENT = new ThreadLocal<>();
+
+    private static final JobContext NONE = new JobContext();
+
+    private final LongAdder done = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private volatile boolean cancelled;
+
+    /**
+     * Returns the context of the job running on the calling thread.
+     *
+     * @return the job's context, or a context that is never cancelled outside jobs
+     */
+    static JobContext current() {
+        JobContext context = CURRENT.get();
+        return context == null ? NONE : context;
+    }
+
+    /**
+     * Runs work with this context bound to the calling thread.
+     *
+     * @param work the computation
+     * @param <T> result type
+     * @return the work's result
+     */
+    <T> T call(Supplier<T> work) {
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    /** Asks the computation to stop at its next check. */
+    void cancel() {
+        cancelled = true;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Stops the computation if cancellation was requested.
+     *
+     * @throws CancellationException if the job was cancelled
+     */
+    void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Job cancelled");
+        }
+    }
+
+    /**
+     * Announces more units of work.
+     *
+     * @param units units about to be scheduled
+     */
+    void addWork(long units) {
+        if (this != NONE) {
+            total.add(units);
+        }
+    }
+
+    /**
+     * Records finished units of work.
+     *
+     * @param units units just finished
+     */
+    void progress(long units) {
+        if (this != NONE) {
+            done.add(units);
+        }
+    }
+
+    long done() {
+        return done.sum();
+    }
+
+    long total() {
+        return total.sum();
+    }
+}
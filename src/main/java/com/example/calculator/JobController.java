@@ -0,0 +1,94 @@
+package com.example.calculator;
+
+import com.example.calculator.dto.JobRequest;
+import com.example.calculator.dto.JobStatus;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * REST endpoints of the asynchronous jobs: submit, poll, fetch the result and cancel.
+ */
+@RestController
+public class JobController {
+
+    private final JobService jobService;
+
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    /**
+     * Queues a computation.
+     *
+     * @param request operation, priority and parameters
+     * @return 202 with the job's status and location, or 503 when the queue is full
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<JobStatus> submit(@RequestBody JobRequest request) {
+        Job job;
+        try {
+            job = jobService.submit(request);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").build();
+        }
+        return ResponseEntity.accepted().location(URI.create("/jobs/" + job.id())).body(job.status());
+    }
+
+    /**
+     * Reports the state and progress of a job.
+     *
+     * @param id the job identifier
+     * @return the job's status
+     */
+    @GetMapping("/jobs/{id}")
+    public JobStatus status(@PathVariable String id) {
+        return find(jobService.job(id)).status();
+    }
+
+    /**
+     * Returns the result of a completed job: the digits of a factorial, a prime count, or a
+     * batch response.
+     *
+     * @param id the job identifier
+     * @return the result, or 409 while the job has not completed successfully
+     */
+    @GetMapping("/jobs/{id}/result")
+    public Object result(@PathVariable String id) {
+        Job job = find(jobService.job(id));
+        Object result = job.result();
+        if (result == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Job is " + job.state());
+        }
+        return result;
+    }
+
+    /**
+     * Cancels a queued or running job.
+     *
+     * @param id the job identifier
+     * @return the job's status; a running job reports {@code CANCELLED} once it has stopped
+     */
+    @DeleteMapping("/jobs/{id}")
+    public JobStatus cancel(@PathVariable String id) {
+        return find(jobService.cancel(id)).status();
+    }
+
+    private static Job find(Job job) {
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown or expired job");
+        }
+        return job;
+    }
+}
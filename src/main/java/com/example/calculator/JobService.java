@@ -0,0 +1,192 @@
+package com.example.calculator;
+
+import com.example.calculator.dto.BatchRequest;
+import com.example.calculator.dto.JobRequest;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs long computations such as huge factorials, prime ranges and large batches as
+ * asynchronous jobs, so that no request thread waits for them and a client timeout loses nothing.
+ *
+ * <p>Jobs wait in a priority queue of bounded length and run on a small fixed set of threads;
+ * the parallel algorithms they call still fork their work into the compute pool. A cancelled job
+ * stops at the next {@link JobContext#checkCancelled()} of the algorithm it runs. Finished jobs are
+ * kept for polling until the number of finished jobs or the estimated size of their results
+ * exceeds its bound, and are then forgotten oldest first.
+ */
+@Service
+public class JobService {
+
+    private final Calculator calculator;
+    private final BatchCalculator batchCalculator;
+    private final int maxQueued;
+    private final int maxRetained;
+    private final long maxResultBytes;
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Deque<Job> finished = new ArrayDeque<>();
+    private long retainedBytes;
+
+    /**
+     * Creates the service.
+     *
+     * @param calculator runs factorials and prime ranges
+     * @param batchCalculator runs batches
+     * @param threads jobs running at the same time
+     * @param maxQueued jobs that may wait to run before submissions are rejected
+     * @param maxRetained finished jobs kept for polling
+     * @param maxResultBytes estimated size of the results kept for finished jobs
+     */
+    public JobService(Calculator calculator, BatchCalculator batchCalculator,
+                      @Value("${calculator.jobs.threads:2}") int threads,
+                      @Value("${calculator.jobs.max-queued:1000}") int maxQueued,
+                      @Value("${calculator.jobs.max-retained:1000}") int maxRetained,
+                      @Value("${calculator.jobs.max-result-bytes:67108864}") long maxResultBytes) {
+        if (threads < 1 || maxQueued < 1 || maxRetained < 1 || maxResultBytes < 1) {
+            throw new IllegalArgumentException("Job threads, queue length and retention limits must be positive");
+        }
+        this.calculator = calculator;
+        this.batchCalculator = batchCalculator;
+        this.maxQueued = maxQueued;
+        this.maxRetained = maxRetained;
+        this.maxResultBytes = maxResultBytes;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task, "calculator-job-" + threadNumber.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }) {
+            @Override
+            protected void beforeExecute(Thread thread, Runnable task) {
+                // Taken from the queue; jobs cancelled while queued are removed from it instead
+                queued.decrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * Queues a job.
+     *
+     * @param request the computation
+     * @return the queued job
+     * @throws IllegalArgumentException if the operation or its parameters are missing
+     * @throws RejectedExecutionException if the queue is full
+     */
+    Job submit(JobRequest request) {
+        Supplier<Object> work = work(request);
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            throw new RejectedExecutionException("Job queue is full, retry later");
+        }
+        Job job = new Job(UUID.randomUUID().toString(), request.op(), request.priority(),
+                sequence.getAndIncrement(), work, this::retain);
+        jobs.put(job.id(), job);
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id());
+            queued.decrementAndGet();
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * Looks up a job.
+     *
+     * @param id the job identifier
+     * @return the job, or null if unknown or forgotten
+     */
+    Job job(String id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * Cancels a job. Queued jobs are removed from the queue; running jobs stop at their next
+     * cancellation check. Finished jobs are left as they are.
+     *
+     * @param id the job identifier
+     * @return the job, or null if unknown or forgotten
+     */
+    Job cancel(String id) {
+        Job job = jobs.get(id);
+        if (job != null && job.cancel() && executor.remove(job)) {
+            queued.decrementAndGet();
+        }
+        return job;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Supplier<Object> work(JobRequest request) {
+        String op = request.op() == null ? "" : request.op();
+        return switch (op) {
+            case "factorial" -> {
+                int number = required(request.number(), "number");
+                yield () -> {
+                    // Rendering millions of digits takes as long as the multiplications; count it as a step
+                    JobContext context = JobContext.current();
+                    context.addWork(1);
+                    String digits = calculator.factorialDigits(number);
+                    context.progress(1);
+                    return digits;
+                };
+            }
+            case "primes" -> {
+                long from = required(request.from(), "from");
+                long to = required(request.to(), "to");
+                yield () -> calculator.countPrimes(from, to);
+            }
+            case "batch" -> {
+                BatchRequest batch = required(request.batch(), "batch");
+                yield () -> batchCalculator.evaluate(batch);
+            }
+            default -> throw new IllegalArgumentException("Unknown job operation: " + request.op());
+        };
+    }
+
+    private static <T> T required(T value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing job parameter: " + name);
+        }
+        return value;
+    }
+
+    /** Keeps a finished job for polling and forgets the oldest ones beyond the retention bounds. */
+    private void retain(Job job) {
+        if (job.resultBytes() > maxResultBytes) {
+            job.discardResult("Result of about " + job.resultBytes() + " bytes exceeds the retention limit of "
+                    + maxResultBytes);
+        }
+        synchronized (finished) {
+            finished.addLast(job);
+            retainedBytes += job.resultBytes();
+            while (finished.size() > maxRetained || retainedBytes > maxResultBytes) {
+                Job oldest = finished.removeFirst();
+                retainedBytes -= oldest.resultBytes();
+                jobs.remove(oldest.id());
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.calculator;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear latency histogram in the style of HdrHistogram.
+ * Every power-of-two range of nanoseconds is split into 32 linear sub-buckets, bounding the
+ * relative error of reported quantiles to about 3%. Values from 0 to 2^36 ns (about 68 s) are
+ * tracked; larger values are clamped into the top bucket.
+ *
+ * <p>Recording is a single atomic increment plus an atomic add to the sum. To keep concurrent
+ * writers off each other's cache lines, counts are striped by thread; snapshots merge the stripes.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 36;
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+
+    /** Buckets per stripe: the linear range below 32, then 32 per power of two up to 2^36. */
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    /** Slots per stripe: the buckets followed by the running sum. */
+    private static final int STRIDE = BUCKETS + 1;
+
+    private static final int STRIPES = Math.min(8, Integer.highestOneBit(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1);
+
+    private final AtomicLongArray slots = new AtomicLongArray(STRIPES * STRIDE);
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos elapsed nanoseconds; negative values count as zero
+     */
+    void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+        int base = ((int) Thread.currentThread().threadId() & (STRIPES - 1)) * STRIDE;
+        slots.incrementAndGet(base + bucketIndex(value));
+        slots.addAndGet(base + BUCKETS, value);
+    }
+
+    /**
+     * Merges the stripes into a consistent-enough point-in-time view.
+     *
+     * @return snapshot of counts, total and sum
+     */
+    Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        long sum = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            int base = stripe * STRIDE;
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = slots.get(base + i);
+                counts[i] += count;
+                total += count;
+            }
+            sum += slots.get(base + BUCKETS);
+        }
+        return new Snapshot(counts, total, sum);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /** Returns the highest value that maps to a bucket. */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /** Merged histogram counts. */
+    static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+
+        Snapshot(long[] counts, long count, long sum) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+        }
+
+        long count() {
+            return count;
+        }
+
+        long sum() {
+            return sum;
+        }
+
+        /**
+         * Returns the value at a quantile, as the upper bound of the bucket holding it.
+         *
+         * @param quantile quantile between 0 and 1
+         * @return latency in nanoseconds, or 0 when nothing was recorded
+         */
+        long valueAt(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return bucketUpperBound(i);
+                }
+            }
+            return MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.calculator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+
+/**
+ * Dense matrix of doubles stored row-major in one flat array, so that rows are contiguous and
+ * whole matrices move through the element-wise kernels without copying.
+ *
+ * <p>The binary form used by the matrix endpoints is little-endian, like the bulk job files: the
+ * row count and column count as 4-byte ints, followed by every element as an 8-byte double in
+ * row-major order.
+ */
+public final class Matrix {
+
+    /** Bytes of the binary header: the row count and the column count. */
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    /** Bytes moved between a stream and the element array at once. */
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    private final int rows;
+    private final int cols;
+    private final double[] values;
+
+    /**
+     * Creates a matrix of zeros.
+     *
+     * @param rows number of rows
+     * @param cols number of columns
+     * @throws IllegalArgumentException if a dimension is not positive or the matrix exceeds an array
+     */
+    public Matrix(int rows, int cols) {
+        this(rows, cols, new double[checkedSize(rows, cols)]);
+    }
+
+    /**
+     * Wraps row-major values without copying them.
+     *
+     * @param rows number of rows
+     * @param cols number of columns
+     * @param values {@code rows * cols} elements in row-major order
+     * @throws IllegalArgumentException if a dimension is not positive or the length does not match
+     */
+    public Matrix(int rows, int cols, double[] values) {
+        if (values.length != checkedSize(rows, cols)) {
+            throw new IllegalArgumentException("Matrix of " + rows + " x " + cols + " needs "
+                    + (long) rows * cols + " values, got " + values.length);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.values = values;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Returns one element.
+     *
+     * @param row row index
+     * @param col column index
+     * @return the element
+     */
+    public double get(int row, int col) {
+        return values[row * cols + col];
+    }
+
+    /**
+     * Returns the backing array in row-major order; changes to it change the matrix.
+     *
+     * @return the elements, not copied
+     */
+    public double[] values() {
+        return values;
+    }
+
+    /**
+     * Reads a matrix in the binary form. The element array grows as data arrives rather than
+     * being sized from the header, so a header that claims more than the stream holds costs no
+     * more memory than the data actually sent.
+     *
+     * @param in the stream, positioned at a header
+     * @param maxElements largest accepted number of elements, checked before reading any element
+     * @return the matrix
+     * @throws IllegalArgumentException if the dimensions are invalid or too large, or the stream ends early
+     * @throws IOException if the stream fails
+     */
+    public static Matrix read(InputStream in, long maxElements) throws IOException {
+        ByteBuffer header = ByteBuffer.wrap(readFully(in, new byte[HEADER_BYTES], HEADER_BYTES))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        int rows = header.getInt();
+        int cols = header.getInt();
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Matrix dimensions must be positive, got " + rows + " x " + cols);
+        }
+        if ((long) rows * cols > maxElements) {
+            throw new IllegalArgumentException("Matrix of " + rows + " x " + cols + " exceeds the limit of "
+                    + maxElements + " elements");
+        }
+        int size = checkedSize(rows, cols);
+        byte[] chunk = new byte[CHUNK_BYTES];
+        DoubleBuffer doubles = ByteBuffer.wrap(chunk).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        double[] values = new double[Math.min(size, CHUNK_BYTES / Double.BYTES)];
+        for (int offset = 0; offset < size; ) {
+            int count = Math.min(CHUNK_BYTES / Double.BYTES, size - offset);
+            readFully(in, chunk, count * Double.BYTES);
+            if (offset + count > values.length) {
+                values = Arrays.copyOf(values, (int) Math.min(size, 2L * values.length));
+            }
+            doubles.clear();
+            doubles.get(values, offset, count);
+            offset += count;
+        }
+        return new Matrix(rows, cols, values);
+    }
+
+    /**
+     * Writes this matrix in the binary form.
+     *
+     * @param out the stream
+     * @throws IOException if the stream fails
+     */
+    public void write(OutputStream out) throws IOException {
+        byte[] chunk = new byte[CHUNK_BYTES];
+        ByteBuffer buffer = ByteBuffer.wrap(chunk).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(rows).putInt(cols);
+        out.write(chunk, 0, HEADER_BYTES);
+        DoubleBuffer doubles = buffer.clear().asDoubleBuffer();
+        for (int offset = 0; offset < values.length; ) {
+            int count = Math.min(CHUNK_BYTES / Double.BYTES, values.length - offset);
+            doubles.clear();
+            doubles.put(values, offset, count);
+            out.write(chunk, 0, count * Double.BYTES);
+            offset += count;
+        }
+    }
+
+    /**
+     * Returns the size of the binary form.
+     *
+     * @return header and element bytes
+     */
+    public long byteSize() {
+        return HEADER_BYTES + (long) values.length * Double.BYTES;
+    }
+
+    private static byte[] readFully(InputStream in, byte[] buffer, int length) throws IOException {
+        if (in.readNBytes(buffer, 0, length) < length) {
+            throw new IllegalArgumentException("Matrix data ends early");
+        }
+        return buffer;
+    }
+
+    private static int checkedSize(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Matrix dimensions must be positive, got " + rows + " x " + cols);
+        }
+        long size = (long) rows * cols;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Matrix of " + rows + " x " + cols + " is too large");
+        }
+        return (int) size;
+    }
+}
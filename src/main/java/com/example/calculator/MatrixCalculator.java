@@ -0,0 +1,337 @@
+package com.example.calculator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Dense linear algebra on {@link Matrix}: products, sums, transposes, scaling and the solution of
+ * linear systems.
+ *
+ * <p>Products are cache-blocked. Each band of {@value #ROW_TILE} result rows walks tiles of
+ * {@value #K_TILE} inner indices by {@value #COL_TILE} columns. The slice of the right matrix
+ * stays in L2 while {@link ArrayKernels#multiplyTile} streams the band's rows over it. Bands run
+ * as fork-join tasks on the compute pool once a product has {@value #PARALLEL_THRESHOLD}
+ * multiply-adds. Systems are solved by blocked LU decomposition with partial pivoting, whose
+ * trailing updates are such blocked products.
+ */
+@Service
+public class MatrixCalculator {
+
+    /** Products with fewer multiply-adds than this stay on the current thread. */
+    static final long PARALLEL_THRESHOLD = 1L << 21;
+
+    /** Result rows per fork-join band of a product. */
+    static final int ROW_TILE = 64;
+
+    /** Inner indices per tile; with {@link #COL_TILE} a tile of the right matrix is 256 KB. */
+    static final int K_TILE = 128;
+
+    /** Result columns per tile. */
+    static final int COL_TILE = 256;
+
+    /** Side of the square blocks a transpose copies, small enough for both blocks to stay in L1. */
+    private static final int TRANSPOSE_TILE = 32;
+
+    /** Columns per LU panel; also the inner dimension of each trailing update. */
+    static final int LU_BLOCK = 64;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a matrix calculator running its parallel algorithms on the application's compute pool.
+     *
+     * @param computePool bounded pool for products and eliminations
+     */
+    @Autowired
+    public MatrixCalculator(ComputePool computePool) {
+        this(computePool.pool());
+    }
+
+    /**
+     * Creates a matrix calculator running its parallel algorithms on the given pool.
+     *
+     * @param pool pool for products and eliminations
+     */
+    public MatrixCalculator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Multiplies two matrices.
+     *
+     * @param a left matrix
+     * @param b right matrix with as many rows as {@code a} has columns
+     * @return the product {@code a * b}
+     * @throws IllegalArgumentException if the dimensions do not match
+     */
+    public Matrix multiply(Matrix a, Matrix b) {
+        if (a.cols() != b.rows()) {
+            throw new IllegalArgumentException("Cannot multiply " + a.rows() + " x " + a.cols() + " by "
+                    + b.rows() + " x " + b.cols());
+        }
+        Matrix c = new Matrix(a.rows(), b.cols());
+        MultiplyTask task = new MultiplyTask(a.values(), b.values(), c.values(), a.cols(), b.cols(), 0, a.rows(),
+                0, a.cols(), 0, b.cols());
+        if ((long) a.rows() * a.cols() * b.cols() < PARALLEL_THRESHOLD) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        return c;
+    }
+
+    /**
+     * Adds two matrices element-wise.
+     *
+     * @param a first matrix
+     * @param b second matrix of the same dimensions
+     * @return the sum
+     * @throws IllegalArgumentException if the dimensions differ
+     */
+    public Matrix add(Matrix a, Matrix b) {
+        checkSameDimensions(a, b);
+        Matrix sum = new Matrix(a.rows(), a.cols());
+        ArrayKernels.get().add(a.values(), b.values(), sum.values(), 0, sum.values().length);
+        return sum;
+    }
+
+    /**
+     * Subtracts the second matrix from the first element-wise.
+     *
+     * @param a first matrix
+     * @param b matrix to subtract, of the same dimensions
+     * @return the difference
+     * @throws IllegalArgumentException if the dimensions differ
+     */
+    public Matrix subtract(Matrix a, Matrix b) {
+        checkSameDimensions(a, b);
+        Matrix difference = new Matrix(a.rows(), a.cols());
+        ArrayKernels.get().subtract(a.values(), b.values(), difference.values(), 0, difference.values().length);
+        return difference;
+    }
+
+    /**
+     * Multiplies every element by a scalar.
+     *
+     * @param a the matrix
+     * @param factor the scalar
+     * @return the scaled matrix
+     */
+    public Matrix scale(Matrix a, double factor) {
+        double[] in = a.values();
+        double[] out = new double[in.length];
+        for (int i = 0; i < in.length; i++) {
+            out[i] = in[i] * factor;
+        }
+        return new Matrix(a.rows(), a.cols(), out);
+    }
+
+    /**
+     * Transposes a matrix block by block, so that neither the reads nor the writes stride through
+     * memory a whole row at a time.
+     *
+     * @param a the matrix
+     * @return the transpose
+     */
+    public Matrix transpose(Matrix a) {
+        int rows = a.rows();
+        int cols = a.cols();
+        double[] in = a.values();
+        double[] out = new double[in.length];
+        for (int rowTile = 0; rowTile < rows; rowTile += TRANSPOSE_TILE) {
+            int rowEnd = Math.min(rowTile + TRANSPOSE_TILE, rows);
+            for (int colTile = 0; colTile < cols; colTile += TRANSPOSE_TILE) {
+                int colEnd = Math.min(colTile + TRANSPOSE_TILE, cols);
+                for (int i = rowTile; i < rowEnd; i++) {
+                    for (int j = colTile; j < colEnd; j++) {
+                        out[j * rows + i] = in[i * cols + j];
+                    }
+                }
+            }
+        }
+        return new Matrix(cols, rows, out);
+    }
+
+    /**
+     * Solves {@code a * x = b} by blocked LU decomposition with partial pivoting. Each panel of
+     * {@value #LU_BLOCK} columns is factored row by row; the rest of the matrix is then updated
+     * with one blocked product, so the bulk of the work runs in the product kernel.
+     *
+     * @param a square coefficient matrix
+     * @param b right-hand sides, one per column, with as many rows as {@code a}
+     * @return the solutions {@code x}, one per column of {@code b}
+     * @throws IllegalArgumentException if {@code a} is not square, the row counts differ, or
+     *                                  {@code a} is singular
+     */
+    public Matrix solve(Matrix a, Matrix b) {
+        int n = a.rows();
+        if (a.cols() != n) {
+            throw new IllegalArgumentException("Coefficient matrix must be square, got " + n + " x " + a.cols());
+        }
+        if (b.rows() != n) {
+            throw new IllegalArgumentException("Right-hand side needs " + n + " rows, got " + b.rows());
+        }
+        int m = b.cols();
+        double[] lu = a.values().clone();
+        double[] x = b.values().clone();
+        double[] lower = new double[n * LU_BLOCK];
+        double[] upper = new double[LU_BLOCK * n];
+        for (int block = 0; block < n; block += LU_BLOCK) {
+            int blockEnd = Math.min(block + LU_BLOCK, n);
+            factorPanel(lu, x, n, m, block, blockEnd);
+            if (blockEnd == n) {
+                break;
+            }
+            // Block row of U right of the panel: solve with the panel's unit lower triangle
+            for (int i = block + 1; i < blockEnd; i++) {
+                for (int k = block; k < i; k++) {
+                    axpy(-lu[i * n + k], lu, k * n, lu, i * n, blockEnd, n);
+                }
+            }
+            // Trailing matrix minus L21 * U12, as one product into lu with both factors packed
+            int width = blockEnd - block;
+            for (int i = blockEnd; i < n; i++) {
+                for (int k = 0; k < width; k++) {
+                    lower[i * LU_BLOCK + k] = -lu[i * n + block + k];
+                }
+            }
+            for (int k = 0; k < width; k++) {
+                System.arraycopy(lu, (block + k) * n + blockEnd, upper, k * n + blockEnd, n - blockEnd);
+            }
+            MultiplyTask update = new MultiplyTask(lower, upper, lu, LU_BLOCK, n, blockEnd, n, 0, width, blockEnd, n);
+            if ((long) (n - blockEnd) * (n - blockEnd) * width < PARALLEL_THRESHOLD) {
+                update.compute();
+            } else {
+                pool.invoke(update);
+            }
+        }
+        // Forward substitution with the unit lower triangle, all right-hand sides at once
+        for (int i = 1; i < n; i++) {
+            for (int k = 0; k < i; k++) {
+                axpy(-lu[i * n + k], x, k * m, x, i * m, 0, m);
+            }
+        }
+        // Back substitution with the upper triangle
+        for (int i = n - 1; i >= 0; i--) {
+            for (int k = i + 1; k < n; k++) {
+                axpy(-lu[i * n + k], x, k * m, x, i * m, 0, m);
+            }
+            double diagonal = lu[i * n + i];
+            for (int j = 0; j < m; j++) {
+                x[i * m + j] /= diagonal;
+            }
+        }
+        return new Matrix(n, m, x);
+    }
+
+    /**
+     * Factors columns {@code [from, to)} below the diagonal with partial pivoting. Pivot rows are
+     * swapped across the whole matrix and the right-hand sides; multipliers replace the
+     * eliminated entries, and only the panel's own columns are updated.
+     */
+    private static void factorPanel(double[] lu, double[] x, int n, int m, int from, int to) {
+        for (int k = from; k < to; k++) {
+            int pivot = k;
+            for (int i = k + 1; i < n; i++) {
+                if (Math.abs(lu[i * n + k]) > Math.abs(lu[pivot * n + k])) {
+                    pivot = i;
+                }
+            }
+            if (lu[pivot * n + k] == 0) {
+                throw new IllegalArgumentException("Matrix is singular");
+            }
+            if (pivot != k) {
+                swapRows(lu, n, pivot, k);
+                swapRows(x, m, pivot, k);
+            }
+            double diagonal = lu[k * n + k];
+            for (int i = k + 1; i < n; i++) {
+                double factor = lu[i * n + k] / diagonal;
+                lu[i * n + k] = factor;
+                if (factor != 0) {
+                    axpy(-factor, lu, k * n, lu, i * n, k + 1, to);
+                }
+            }
+        }
+    }
+
+    /** Adds {@code factor} times the columns {@code [from, to)} of one row to those of another. */
+    private static void axpy(double factor, double[] source, int sourceRow, double[] target, int targetRow,
+                             int from, int to) {
+        for (int j = from; j < to; j++) {
+            target[targetRow + j] += factor * source[sourceRow + j];
+        }
+    }
+
+    private static void swapRows(double[] values, int cols, int r1, int r2) {
+        int o1 = r1 * cols;
+        int o2 = r2 * cols;
+        for (int j = 0; j < cols; j++) {
+            double t = values[o1 + j];
+            values[o1 + j] = values[o2 + j];
+            values[o2 + j] = t;
+        }
+    }
+
+    private static void checkSameDimensions(Matrix a, Matrix b) {
+        if (a.rows() != b.rows() || a.cols() != b.cols()) {
+            throw new IllegalArgumentException("Matrix dimensions differ: " + a.rows() + " x " + a.cols()
+                    + " and " + b.rows() + " x " + b.cols());
+        }
+    }
+
+    /**
+     * Accumulates a band of result rows over the inner range {@code [kFrom, kTo)} and the column
+     * range {@code [colFrom, colTo)}, halving the band until it fits {@link #ROW_TILE}.
+     */
+    private static final class MultiplyTask extends RecursiveAction {
+
+        private final double[] a;
+        private final double[] b;
+        private final double[] c;
+        private final int inner;
+        private final int cols;
+        private final int rowFrom;
+        private final int rowTo;
+        private final int kFrom;
+        private final int kTo;
+        private final int colFrom;
+        private final int colTo;
+
+        MultiplyTask(double[] a, double[] b, double[] c, int inner, int cols, int rowFrom, int rowTo,
+                     int kFrom, int kTo, int colFrom, int colTo) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.inner = inner;
+            this.cols = cols;
+            this.rowFrom = rowFrom;
+            this.rowTo = rowTo;
+            this.kFrom = kFrom;
+            this.kTo = kTo;
+            this.colFrom = colFrom;
+            this.colTo = colTo;
+        }
+
+        @Override
+        protected void compute() {
+            if (rowTo - rowFrom > ROW_TILE && getPool() != null) {
+                int middle = (rowFrom + rowTo) >>> 1;
+                invokeAll(new MultiplyTask(a, b, c, inner, cols, rowFrom, middle, kFrom, kTo, colFrom, colTo),
+                        new MultiplyTask(a, b, c, inner, cols, middle, rowTo, kFrom, kTo, colFrom, colTo));
+                return;
+            }
+            ArrayKernels kernels = ArrayKernels.get();
+            for (int colTile = colFrom; colTile < colTo; colTile += COL_TILE) {
+                int colEnd = Math.min(colTile + COL_TILE, colTo);
+                for (int kTile = kFrom; kTile < kTo; kTile += K_TILE) {
+                    int kEnd = Math.min(kTile + K_TILE, kTo);
+                    kernels.multiplyTile(a, b, c, inner, cols, rowFrom, rowTo, kTile, kEnd, colTile, colEnd);
+                }
+            }
+        }
+    }
+}
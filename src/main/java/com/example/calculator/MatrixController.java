@@ -0,0 +1,136 @@
+package com.example.calculator;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Binary matrix endpoints. Request bodies hold one or two matrices and responses hold one, all in
+ * the binary form described by {@link Matrix}. Computation runs on the compute pool, and invalid
+ * input is answered with 400 and the reason.
+ *
+ * <ul>
+ *   <li>{@code POST /matrix/multiply}, {@code /matrix/add}, {@code /matrix/subtract}: body {@code a}, {@code b}</li>
+ *   <li>{@code POST /matrix/solve}: body {@code a}, {@code b}; answers {@code x} with {@code a * x = b}</li>
+ *   <li>{@code POST /matrix/transpose}: body {@code a}</li>
+ *   <li>{@code POST /matrix/scale?factor=f}: body {@code a}</li>
+ * </ul>
+ */
+@RestController
+public class MatrixController {
+
+    private final MatrixCalculator matrixCalculator;
+    private final ComputePool computePool;
+    private final long maxElements;
+
+    /**
+     * Creates the controller.
+     *
+     * @param matrixCalculator the matrix operations
+     * @param computePool pool the operations run on
+     * @param maxElements largest accepted number of elements per matrix, read or computed
+     */
+    public MatrixController(MatrixCalculator matrixCalculator, ComputePool computePool,
+                            @Value("${calculator.matrix.max-elements:16777216}") long maxElements) {
+        this.matrixCalculator = matrixCalculator;
+        this.computePool = computePool;
+        this.maxElements = maxElements;
+    }
+
+    /**
+     * Applies the operation named by the path, {@code multiply}, {@code add}, {@code subtract} or
+     * {@code solve}, to the two matrices of the request body.
+     *
+     * @param request body of two matrices
+     * @param response receives the resulting matrix
+     * @throws IOException if the body cannot be read or the response cannot be written
+     */
+    @PostMapping(value = {"/matrix/multiply", "/matrix/add", "/matrix/subtract", "/matrix/solve"},
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void binary(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String op = request.getServletPath().substring("/matrix/".length());
+        Matrix result;
+        try {
+            InputStream in = request.getInputStream();
+            Matrix a = Matrix.read(in, maxElements);
+            Matrix b = Matrix.read(in, maxElements);
+            checkEnd(in);
+            if (op.equals("multiply") && a.cols() == b.rows() && (long) a.rows() * b.cols() > maxElements) {
+                throw new IllegalArgumentException("Product of " + a.rows() + " x " + b.cols()
+                        + " exceeds the limit of " + maxElements + " elements");
+            }
+            result = computePool.call(() -> switch (op) {
+                case "multiply" -> matrixCalculator.multiply(a, b);
+                case "add" -> matrixCalculator.add(a, b);
+                case "subtract" -> matrixCalculator.subtract(a, b);
+                default -> matrixCalculator.solve(a, b);
+            });
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        write(result, response);
+    }
+
+    /**
+     * Transposes the matrix of the request body.
+     *
+     * @param request body of one matrix
+     * @param response receives the transpose
+     * @throws IOException if the body cannot be read or the response cannot be written
+     */
+    @PostMapping(value = "/matrix/transpose", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void transpose(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Matrix a = readSingle(request);
+        write(computePool.call(() -> matrixCalculator.transpose(a)), response);
+    }
+
+    /**
+     * Multiplies the matrix of the request body by a scalar.
+     *
+     * @param factor the scalar
+     * @param request body of one matrix
+     * @param response receives the scaled matrix
+     * @throws IOException if the body cannot be read or the response cannot be written
+     */
+    @PostMapping(value = "/matrix/scale", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void scale(@RequestParam double factor, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Matrix a = readSingle(request);
+        write(computePool.call(() -> matrixCalculator.scale(a, factor)), response);
+    }
+
+    private Matrix readSingle(HttpServletRequest request) throws IOException {
+        try {
+            InputStream in = request.getInputStream();
+            Matrix a = Matrix.read(in, maxElements);
+            checkEnd(in);
+            return a;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    private static void checkEnd(InputStream in) throws IOException {
+        if (in.read() != -1) {
+            throw new IllegalArgumentException("Unexpected data after the matrices");
+        }
+    }
+
+    private static void write(Matrix matrix, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(matrix.byteSize());
+        OutputStream out = response.getOutputStream();
+        matrix.write(out);
+        out.flush();
+    }
+}
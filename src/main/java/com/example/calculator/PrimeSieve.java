@@ -0,0 +1,168 @@
+package com.example.calculator;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lazily built, odd-only bitset Sieve of Eratosthenes answering primality lookups in constant time.
+ * Only odd numbers are stored, one bit each, and the bitset is split into fixed-size segments that
+ * are sieved on first use. Segments are immutable once published, so lookups never lock; two threads
+ * racing on the same cold segment may both sieve it, and either result is kept. With a
+ * {@link ResultStore}, sieved segments are saved and later loaded instead of sieved again.
+ */
+final class PrimeSieve {
+
+    /** Default upper bound of the sieve: 64M numbers, at most 4 MB of bits. */
+    static final long DEFAULT_LIMIT = 1L << 26;
+
+    /** Upper bound accepted by the sieve: 2^36 numbers, at most 4 GB of bits. */
+    static final long MAX_LIMIT = 1L << 36;
+
+    /** Odd numbers covered by one segment: 2^19 bits, 64 KB per segment. */
+    static final int SEGMENT_BITS = 1 << 19;
+
+    private static final long SEGMENT_SPAN = 2L * SEGMENT_BITS;
+
+    private final long limit;
+    private final int[] basePrimes;
+    private final AtomicReferenceArray<long[]> segments;
+    private final ResultStore store;
+
+    /**
+     * Creates a sieve covering {@code [0, limit)}. No segment is sieved until it is first queried.
+     *
+     * @param limit exclusive upper bound, at most {@link #MAX_LIMIT}
+     * @throws IllegalArgumentException if the limit is not positive or exceeds {@link #MAX_LIMIT}
+     */
+    PrimeSieve(long limit) {
+        this(limit, null);
+    }
+
+    /**
+     * Creates a sieve covering {@code [0, limit)} that saves and loads its segments in a store.
+     *
+     * @param limit exclusive upper bound, at most {@link #MAX_LIMIT}
+     * @param store keeps sieved segments across restarts; may be null
+     * @throws IllegalArgumentException if the limit is not positive or exceeds {@link #MAX_LIMIT}
+     */
+    PrimeSieve(long limit, ResultStore store) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Sieve limit must be between 1 and " + MAX_LIMIT);
+        }
+        this.limit = limit;
+        this.basePrimes = oddPrimesUpTo((int) Math.sqrt((double) limit) + 1);
+        this.segments = new AtomicReferenceArray<>((int) ((limit + SEGMENT_SPAN - 1) / SEGMENT_SPAN));
+        this.store = store;
+    }
+
+    /**
+     * Returns the exclusive upper bound of the numbers this sieve can answer for.
+     *
+     * @return sieve limit
+     */
+    long limit() {
+        return limit;
+    }
+
+    /**
+     * Determines if a number below the limit is prime.
+     *
+     * @param n the number to check, below {@link #limit()}
+     * @return true if n is prime, false otherwise
+     */
+    boolean isPrime(long n) {
+        if ((n & 1) == 0) {
+            return n == 2;
+        }
+        if (n < 3) {
+            return false;
+        }
+        int segmentIndex = (int) (n / SEGMENT_SPAN);
+        long[] bits = segments.get(segmentIndex);
+        if (bits == null) {
+            bits = buildSegment(segmentIndex);
+        }
+        int bit = (int) ((n % SEGMENT_SPAN) >>> 1);
+        return (bits[bit >>> 6] & (1L << bit)) == 0;
+    }
+
+    private long[] buildSegment(int segmentIndex) {
+        long[] bits = new long[SEGMENT_BITS / Long.SIZE];
+        // The base primes, and so the segment's bits near the limit, depend on the limit
+        ByteBuffer stored = store == null ? null : store.get(ResultStore.Kind.SIEVE_SEGMENT, segmentIndex, limit);
+        if (stored != null && stored.remaining() == bits.length * Long.BYTES) {
+            stored.asLongBuffer().get(bits);
+        } else {
+            markComposites(segmentIndex * SEGMENT_SPAN, SEGMENT_BITS, bits, basePrimes);
+            if (store != null) {
+                ByteBuffer payload = ByteBuffer.allocate(bits.length * Long.BYTES);
+                payload.asLongBuffer().put(bits);
+                store.put(ResultStore.Kind.SIEVE_SEGMENT, segmentIndex, limit, payload);
+            }
+        }
+        if (segments.compareAndSet(segmentIndex, null, bits)) {
+            return bits;
+        }
+        return segments.get(segmentIndex);
+    }
+
+    /**
+     * Sieves one odd-only segment. Bit {@code i} stands for {@code low + 2i + 1} and is set when that
+     * number is composite (or is 1). Numbers above the square of the largest base prime are only
+     * reliable if {@code basePrimes} reaches the square root of the segment end.
+     *
+     * @param low even start of the segment
+     * @param bitCount odd numbers in the segment
+     * @param bits zeroed bitset receiving the composite marks
+     * @param basePrimes odd primes in ascending order
+     */
+    static void markComposites(long low, int bitCount, long[] bits, int[] basePrimes) {
+        long high = low + 2L * bitCount;
+        for (int p : basePrimes) {
+            long square = (long) p * p;
+            if (square >= high) {
+                break;
+            }
+            long start = Math.max(square, (low + p - 1) / p * p);
+            if ((start & 1) == 0) {
+                start += p;
+            }
+            for (long i = (start - low) >>> 1; i < bitCount; i += p) {
+                bits[(int) (i >>> 6)] |= 1L << i;
+            }
+        }
+        if (low == 0) {
+            bits[0] |= 1L;
+        }
+    }
+
+    /**
+     * Lists the odd primes up to a bound with a plain sieve.
+     *
+     * @param max inclusive upper bound
+     * @return odd primes {@code <= max} in ascending order
+     */
+    static int[] oddPrimesUpTo(int max) {
+        if (max < 3) {
+            return new int[0];
+        }
+        boolean[] composite = new boolean[max + 1];
+        int count = 0;
+        for (int i = 3; i <= max; i += 2) {
+            if (!composite[i]) {
+                count++;
+                for (long j = (long) i * i; j <= max; j += 2L * i) {
+                    composite[(int) j] = true;
+                }
+            }
+        }
+        int[] primes = new int[count];
+        int index = 0;
+        for (int i = 3; i <= max; i += 2) {
+            if (!composite[i]) {
+                primes[index++] = i;
+            }
+        }
+        return primes;
+    }
+}
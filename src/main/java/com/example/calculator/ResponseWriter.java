@@ -0,0 +1,223 @@
+package com.example.calculator;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Renders plain-text responses into a reusable byte buffer without going through
+ * {@link String#format}. Output is byte-identical to the {@code %.2f} and {@code %d}
+ * conversions of {@link java.util.Formatter} in the default locale.
+ *
+ * <p>Doubles are rendered from {@code |value| * 100}: the result is decided by which side of the
+ * next {@code .5} boundary that product lies on. Values so close to a boundary that the decision
+ * depends on {@code Double.toString}'s digit selection (for example 1.005, which Formatter rounds
+ * up) and values outside the fast range are delegated to {@link String#format}, as is every value
+ * when the default locale does not use ASCII digits and a '.' separator.
+ */
+final class ResponseWriter {
+
+    private static final String CONTENT_TYPE = "text/plain;charset=UTF-8";
+
+    /** Above this magnitude the scaled value may no longer be an exact integer in a double. */
+    private static final double FAST_PATH_LIMIT = 1e12;
+
+    private static final boolean ASCII_LOCALE = isAsciiLocale();
+
+    private static final ThreadLocal<ResponseWriter> CURRENT = ThreadLocal.withInitial(ResponseWriter::new);
+
+    private static final int INITIAL_CAPACITY = 128;
+
+    /**
+     * Largest buffer kept between responses. A rare large response, such as the digits of a big
+     * factorial, would otherwise stay pinned to its request thread for good.
+     */
+    static final int RETAINED_CAPACITY = 64 * 1024;
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int length;
+
+    /**
+     * Returns this thread's writer, emptied and ready for a new response. Virtual threads live
+     * for a single request, so they get a fresh writer instead of a thread-local one.
+     *
+     * @return the reusable writer of the calling thread
+     */
+    static ResponseWriter get() {
+        if (Thread.currentThread().isVirtual()) {
+            return new ResponseWriter();
+        }
+        return CURRENT.get().reset();
+    }
+
+    /**
+     * Empties the buffer, keeping its capacity up to {@link #RETAINED_CAPACITY}.
+     *
+     * @return this writer
+     */
+    ResponseWriter reset() {
+        length = 0;
+        if (buffer.length > RETAINED_CAPACITY) {
+            buffer = new byte[INITIAL_CAPACITY];
+        }
+        return this;
+    }
+
+    int length() {
+        return length;
+    }
+
+    int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Appends text. ASCII characters are copied directly; other text is UTF-8 encoded.
+     *
+     * @param text the text to append
+     * @return this writer
+     */
+    ResponseWriter append(String text) {
+        int size = text.length();
+        ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                return appendBytes(text.getBytes(StandardCharsets.UTF_8));
+            }
+            buffer[length + i] = (byte) c;
+        }
+        length += size;
+        return this;
+    }
+
+    /**
+     * Appends a single ASCII character.
+     *
+     * @param c the character to append
+     * @return this writer
+     */
+    ResponseWriter append(char c) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) c;
+        return this;
+    }
+
+    /**
+     * Appends an integer, formatted like {@code %d}.
+     *
+     * @param value the value to append
+     * @return this writer
+     */
+    ResponseWriter append(long value) {
+        if (!ASCII_LOCALE) {
+            return append(String.format("%d", value));
+        }
+        if (value == Long.MIN_VALUE) {
+            return append("-9223372036854775808");
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[length++] = '-';
+            value = -value;
+        }
+        appendDigits(value, 1);
+        return this;
+    }
+
+    /**
+     * Appends a double with two fraction digits, formatted like {@code %.2f}.
+     *
+     * @param value the value to append
+     * @return this writer
+     */
+    ResponseWriter appendFixed(double value) {
+        double magnitude = Math.abs(value);
+        if (!ASCII_LOCALE || !(magnitude < FAST_PATH_LIMIT)) {
+            return append(String.format("%.2f", value));
+        }
+        double scaled = magnitude * 100;
+        double whole = Math.floor(scaled);
+        double fraction = scaled - whole;
+        if (Math.abs(fraction - 0.5) <= 4 * Math.ulp(scaled)) {
+            return append(String.format("%.2f", value));
+        }
+        long cents = (long) whole + (fraction > 0.5 ? 1 : 0);
+        ensureCapacity(24);
+        // Formatter prints the sign of every negative value, including -0.0 and values rounding to zero
+        if (value < 0 || (value == 0 && 1 / value < 0)) {
+            buffer[length++] = '-';
+        }
+        appendDigits(cents / 100, 1);
+        buffer[length++] = '.';
+        appendDigits(cents % 100, 2);
+        return this;
+    }
+
+    /**
+     * Writes the buffer as a UTF-8 plain-text response body.
+     *
+     * @param response the response to write to
+     * @throws IOException if the response cannot be written
+     */
+    void writeTo(HttpServletResponse response) throws IOException {
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(length);
+        response.getOutputStream().write(buffer, 0, length);
+    }
+
+    /**
+     * Writes the buffer to a stream and empties it.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    void flushTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, length);
+        length = 0;
+    }
+
+    @Override
+    public String toString() {
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /** Writes a non-negative value with at least {@code minDigits} digits, zero-padded. */
+    private void appendDigits(long value, int minDigits) {
+        int digits = 1;
+        for (long v = value / 10; v != 0; v /= 10) {
+            digits++;
+        }
+        digits = Math.max(digits, minDigits);
+        int position = length + digits;
+        for (int i = 0; i < digits; i++) {
+            buffer[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    private ResponseWriter appendBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+        return this;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    private static boolean isAsciiLocale() {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        return symbols.getZeroDigit() == '0' && symbols.getDecimalSeparator() == '.'
+                && symbols.getMinusSign() == '-';
+    }
+}
@@ -0,0 +1,347 @@
+package com.example.calculator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded memoization table for pure functions of up to two primitive arguments.
+ *
+ * <p>Keys are two {@code long}s, so doubles are stored by their bit patterns and ints widened;
+ * nothing is boxed on lookup. Callers with wider keys, such as expression text, key by a hash
+ * and check the entry's reference on a hit. The table is 8-way set associative: a key hashes to one set and
+ * can only live in one of its 8 slots, so lookups scan a single cache line's worth of references
+ * without locks, and inserts lock only the stripe owning the set.
+ *
+ * <p>Admission and eviction follow W-TinyLFU within each set. Slot 0 is a window that always
+ * takes the newest key; the key it displaces then competes with the least frequently used of
+ * the other 7 slots and only replaces it when a count-min sketch of recent accesses rates it
+ * more popular. One-hit wonders therefore pass through the window without flushing the hot keys.
+ *
+ * <p>Lookups do not touch the sketch. Each records its key's hash in one of several small ring
+ * buffers, picked by thread, and whichever thread fills a buffer drains all of them into the
+ * sketch if it can take the drain lock without waiting; inserts drain too, so admission sees
+ * current counts. When a buffer is full or its slot is contended the access is dropped, which
+ * only makes an estimate slightly low. Concurrent hits thus share no written state beyond
+ * their own buffer's tail and the hit counter.
+ */
+final class ResultCache {
+
+    private static final int WAYS = 8;
+    private static final int LOCK_STRIPES = 64;
+
+    /** Access buffers, a power of two with about four per CPU so threads rarely share one. */
+    private static final int READ_BUFFERS =
+            Math.min(64, Integer.highestOneBit(4 * Runtime.getRuntime().availableProcessors() - 1) << 1);
+
+    private final String name;
+    private final int sets;
+    private final AtomicReferenceArray<Entry> slots;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final FrequencySketch sketch;
+    private final ReadBuffer[] readBuffers = new ReadBuffer[READ_BUFFERS];
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache.
+     *
+     * @param name operation name used in statistics
+     * @param maximumSize upper bound on the number of entries, rounded up to a power of two
+     *                    of at least 8
+     */
+    ResultCache(String name, int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        int capacity = Math.max(WAYS, Integer.highestOneBit(Math.min(maximumSize, 1 << 30) - 1) << 1);
+        this.name = name;
+        this.sets = capacity / WAYS;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sketch = new FrequencySketch(capacity);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        for (int i = 0; i < READ_BUFFERS; i++) {
+            readBuffers[i] = new ReadBuffer();
+        }
+    }
+
+    /**
+     * Looks a key up and records the access for admission decisions.
+     *
+     * @param a first key component
+     * @param b second key component
+     * @return the cached entry, or null on a miss
+     */
+    Entry get(long a, long b) {
+        long hash = hash(a, b);
+        ReadBuffer buffer = readBuffers[(int) Thread.currentThread().threadId() & (READ_BUFFERS - 1)];
+        if (buffer.offer(hash)) {
+            drain();
+        }
+        int base = setIndex(hash) * WAYS;
+        for (int way = 0; way < WAYS; way++) {
+            Entry entry = slots.get(base + way);
+            if (entry != null && entry.a == a && entry.b == b) {
+                hits.increment();
+                return entry;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Offers a computed result. The key enters the set's window slot; whichever key leaves the
+     * window is admitted to the main slots only if it is more frequent than their coldest entry.
+     *
+     * @param a first key component
+     * @param b second key component
+     * @param value primitive result, for example the bits of a double
+     * @param reference object result, or null when the result is primitive
+     */
+    void put(long a, long b, long value, Object reference) {
+        drain();
+        long hash = hash(a, b);
+        int set = setIndex(hash);
+        int base = set * WAYS;
+        synchronized (locks[set & (LOCK_STRIPES - 1)]) {
+            for (int way = 0; way < WAYS; way++) {
+                Entry entry = slots.get(base + way);
+                if (entry != null && entry.a == a && entry.b == b) {
+                    return;
+                }
+            }
+            Entry candidate = slots.get(base);
+            slots.set(base, new Entry(a, b, hash, value, reference));
+            if (candidate == null) {
+                return;
+            }
+            int victim = -1;
+            int victimFrequency = Integer.MAX_VALUE;
+            for (int way = 1; way < WAYS; way++) {
+                Entry entry = slots.get(base + way);
+                if (entry == null) {
+                    slots.set(base + way, candidate);
+                    return;
+                }
+                int frequency = sketch.frequency(entry.hash);
+                if (frequency < victimFrequency) {
+                    victim = way;
+                    victimFrequency = frequency;
+                }
+            }
+            if (sketch.frequency(candidate.hash) > victimFrequency) {
+                slots.set(base + victim, candidate);
+            }
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Folds the buffered accesses into the sketch, unless another thread is already doing so.
+     */
+    void drain() {
+        if (drainLock.tryLock()) {
+            try {
+                for (ReadBuffer buffer : readBuffers) {
+                    buffer.drainTo(sketch);
+                }
+            } finally {
+                drainLock.unlock();
+            }
+        }
+    }
+
+    /** Estimates how often a key was looked up recently, after draining the buffered accesses. */
+    int frequency(long a, long b) {
+        drain();
+        return sketch.frequency(hash(a, b));
+    }
+
+    String name() {
+        return name;
+    }
+
+    int capacity() {
+        return slots.length();
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    /** Counts the occupied slots; linear in the capacity, meant for statistics. */
+    int size() {
+        int size = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private int setIndex(long hash) {
+        return (int) (hash >>> 32) & (sets - 1);
+    }
+
+    static long hash(long a, long b) {
+        long h = a * 0x9E3779B97F4A7C15L + b;
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    /** An immutable cached result. */
+    static final class Entry {
+
+        final long a;
+        final long b;
+        final long hash;
+        final long value;
+        final Object reference;
+
+        Entry(long a, long b, long hash, long value, Object reference) {
+            this.a = a;
+            this.b = b;
+            this.hash = hash;
+            this.value = value;
+            this.reference = reference;
+        }
+    }
+
+    /**
+     * Lossy ring of recently accessed hashes, filled by any thread and emptied under the drain
+     * lock. A writer claims a slot by advancing the tail and then publishes the hash; the drain
+     * stops at the first claimed slot not yet published and takes it up next time.
+     */
+    static final class ReadBuffer {
+
+        static final int SIZE = 16;
+
+        /** Hashes, with 0 marking a slot that is free or claimed but not yet written. */
+        private final AtomicLongArray hashes = new AtomicLongArray(SIZE);
+        private final AtomicLong tail = new AtomicLong();
+        private volatile long head;
+
+        /**
+         * Records an access, or drops it when the buffer is full or another thread claims the
+         * same slot first.
+         *
+         * @param hash hash of the accessed key
+         * @return whether the buffer is full and should be drained
+         */
+        boolean offer(long hash) {
+            long head = this.head;
+            long tail = this.tail.get();
+            if (tail - head >= SIZE) {
+                return true;
+            }
+            if (!this.tail.compareAndSet(tail, tail + 1)) {
+                return false;
+            }
+            hashes.setRelease((int) tail & (SIZE - 1), hash == 0 ? 1 : hash);
+            return tail + 1 - head >= SIZE;
+        }
+
+        /** Moves the published hashes into the sketch; called only under the drain lock. */
+        void drainTo(FrequencySketch sketch) {
+            long head = this.head;
+            long tail = this.tail.get();
+            for (; head < tail; head++) {
+                int index = (int) head & (SIZE - 1);
+                long hash = hashes.getAcquire(index);
+                if (hash == 0) {
+                    break;
+                }
+                hashes.setRelease(index, 0);
+                sketch.increment(hash);
+            }
+            this.head = head;
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters, four per key, packed sixteen to a long. Once the
+     * number of increments reaches ten times the cache capacity every counter is halved, so
+     * the estimates follow recent popularity rather than all-time totals. Only the drain writes
+     * it; inserts read it without locking and may see a count one drain old.
+     */
+    static final class FrequencySketch {
+
+        private static final long[] SEEDS = {
+            0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L
+        };
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            this.table = new long[Math.max(8, capacity)];
+            this.sampleSize = 10 * capacity;
+        }
+
+        int frequency(long hash) {
+            int frequency = 15;
+            for (long seed : SEEDS) {
+                long h = rehash(hash, seed);
+                int count = (int) (table[index(h)] >>> shift(h)) & 15;
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        void increment(long hash) {
+            boolean added = false;
+            for (long seed : SEEDS) {
+                long h = rehash(hash, seed);
+                int index = index(h);
+                int shift = shift(h);
+                long word = table[index];
+                if (((word >>> shift) & 15) < 15) {
+                    table[index] = word + (1L << shift);
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions = 0;
+        }
+
+        private int index(long h) {
+            return (int) h & (table.length - 1);
+        }
+
+        private static int shift(long h) {
+            return (int) (h >>> 60) << 2;
+        }
+
+        private static long rehash(long hash, long seed) {
+            long h = (hash ^ seed) * 0x9E3779B97F4A7C15L;
+            return h ^ (h >>> 29);
+        }
+    }
+}
@@ -0,0 +1,404 @@
+package com.example.calculator;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only file of expensive results, so that a restarted instance starts warm. Enabled by
+ * {@code calculator.store.enabled}.
+ *
+ * <p>Each record holds a kind, a two-part key, a payload and a CRC32C over all of them. At startup
+ * a background thread maps the file, verifies every record and builds an in-memory index; the
+ * application serves requests meanwhile and the store simply misses until the index is ready.
+ * A damaged record is skipped, and a torn tail, for example after a crash during an append, is
+ * cut off. Checksums are verified only then: records written before the start are read straight
+ * from the mapping, and newer ones, written by this process, are read from the file, both
+ * without hashing the payload again.
+ *
+ * <p>Appends are not synced: losing the last records in a crash only costs recomputing them.
+ * When the file outgrows its bound, it is compacted into a new file holding the newest records
+ * up to half the bound, which then atomically replaces it.
+ */
+@Component
+@ConditionalOnProperty(name = "calculator.store.enabled", havingValue = "true")
+public class ResultStore {
+
+    /**
+     * Kinds of stored results. Codes are part of the file format and must not change. Code 1 held
+     * factorials as magnitude bytes next to their digits; intact records of unknown kinds are
+     * skipped and disappear at the next compaction.
+     */
+    enum Kind {
+        FACTORIAL_DIGITS(4), PRIME_COUNT(2), SIEVE_SEGMENT(3);
+
+        private final byte code;
+
+        Kind(int code) {
+            this.code = (byte) code;
+        }
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        static Kind of(byte code) {
+            for (Kind kind : values()) {
+                if (kind.code == code) {
+                    return kind;
+                }
+            }
+            return null;
+        }
+    }
+
+    /** Largest accepted bound; the whole file must fit in one mapping. */
+    static final long MAX_BYTES = Integer.MAX_VALUE;
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultStore.class);
+
+    private static final String FILE_NAME = "results.log";
+    private static final int MAGIC = 0x52535431;
+    /** Magic, CRC, kind, two key parts and payload length. */
+    private static final int HEADER = 4 + 4 + 1 + 8 + 8 + 4;
+
+    private final Path directory;
+    private final Path file;
+    private final long maxBytes;
+    private final Map<Key, Location> index = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Kind, LongAdder> hits = counters();
+    private final Map<Kind, LongAdder> misses = counters();
+    private final LongAdder corrupt = new LongAdder();
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private long size;
+    private volatile boolean available;
+
+    /**
+     * Creates the store and starts loading its file in the background.
+     *
+     * @param directory directory of the store file; created if missing
+     * @param maxBytes size beyond which the file is compacted, at most {@link #MAX_BYTES}
+     * @param metrics receives the store for hit and size reporting; may be null
+     */
+    public ResultStore(@Value("${calculator.store.directory:${java.io.tmpdir}/calculator-store}") String directory,
+                       @Value("${calculator.store.max-bytes:1073741824}") long maxBytes,
+                       CalculatorMetrics metrics) {
+        if (maxBytes < 1 || maxBytes > MAX_BYTES) {
+            throw new IllegalArgumentException("Store size bound must be between 1 and " + MAX_BYTES);
+        }
+        this.directory = Path.of(directory);
+        this.file = this.directory.resolve(FILE_NAME);
+        this.maxBytes = maxBytes;
+        if (metrics != null) {
+            metrics.register(this);
+        }
+        Thread loader = new Thread(this::load, "calculator-store-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Returns a stored result.
+     *
+     * @param kind the kind of result
+     * @param a first key part
+     * @param b second key part
+     * @return a read-only view of the payload, or null if absent, corrupt or not loaded yet
+     */
+    ByteBuffer get(Kind kind, long a, long b) {
+        if (!available) {
+            misses.get(kind).increment();
+            return null;
+        }
+        Key key = new Key(kind, a, b);
+        ByteBuffer payload;
+        lock.readLock().lock();
+        try {
+            Location location = index.get(key);
+            payload = location == null ? null : read(key, location);
+        } finally {
+            lock.readLock().unlock();
+        }
+        (payload == null ? misses : hits).get(kind).increment();
+        return payload;
+    }
+
+    /**
+     * Appends a result unless it is already stored. Results offered before the file is loaded,
+     * or larger than half the size bound, are not stored.
+     *
+     * @param kind the kind of result
+     * @param a first key part
+     * @param b second key part
+     * @param payload the result's encoding; read from its position to its limit
+     */
+    void put(Kind kind, long a, long b, ByteBuffer payload) {
+        int length = HEADER + payload.remaining();
+        if (!available || length > maxBytes / 2) {
+            return;
+        }
+        Key key = new Key(kind, a, b);
+        lock.writeLock().lock();
+        try {
+            if (!available || index.containsKey(key)) {
+                return;
+            }
+            ByteBuffer record = encode(key, payload);
+            long position = size;
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+            index.put(key, new Location(size, length));
+            size += length;
+            if (size > maxBytes) {
+                compact();
+            }
+        } catch (IOException e) {
+            disable("Could not append to " + file, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Completes once the file has been loaded, or has failed to load. */
+    CompletableFuture<Void> loaded() {
+        return loaded;
+    }
+
+    long hits(Kind kind) {
+        return hits.get(kind).sum();
+    }
+
+    long misses(Kind kind) {
+        return misses.get(kind).sum();
+    }
+
+    /** Returns the number of records dropped because their checksum did not match. */
+    long corrupt() {
+        return corrupt.sum();
+    }
+
+    /** Returns the number of stored results of a kind. */
+    long records(Kind kind) {
+        return index.keySet().stream().filter(key -> key.kind() == kind).count();
+    }
+
+    /** Returns the size of the store file in bytes. */
+    long bytes() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        lock.writeLock().lock();
+        try {
+            if (channel != null) {
+                available = false;
+                channel.force(false);
+                channel.close();
+                channel = null;
+            }
+        } catch (IOException e) {
+            logger.warn("Could not close {}", file, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+        lock.writeLock().lock();
+        try {
+            Files.createDirectories(directory);
+            Files.deleteIfExists(compactionFile());
+            open();
+            if (size > maxBytes) {
+                compact();
+            }
+            available = true;
+            logger.info("Loaded {} stored results ({} bytes) from {}", index.size(), size, file);
+        } catch (IOException | RuntimeException e) {
+            disable("Could not load " + file, e);
+        } finally {
+            lock.writeLock().unlock();
+            loaded.complete(null);
+        }
+    }
+
+    /** Opens and indexes the store file, cutting off everything after the last intact record. */
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long fileSize = Math.min(channel.size(), MAX_BYTES);
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        index.clear();
+        int position = 0;
+        while (position + HEADER <= fileSize) {
+            int length = HEADER + mapped.getInt(position + 25);
+            if (mapped.getInt(position) != MAGIC || length < HEADER || position + (long) length > fileSize) {
+                break;
+            }
+            ByteBuffer record = mapped.slice(position, length);
+            Kind kind = Kind.of(record.get(8));
+            if (intact(record)) {
+                if (kind != null) {
+                    index.put(new Key(kind, record.getLong(9), record.getLong(17)), new Location(position, length));
+                }
+            } else if (startsRecord(position + length, fileSize)) {
+                // Damaged inside, but its length led to the next record: skip only this one
+                corrupt.increment();
+            } else {
+                break;
+            }
+            position += length;
+        }
+        if (position < channel.size()) {
+            logger.warn("Discarding {} bytes after the last intact record of {}", channel.size() - position, file);
+            channel.truncate(position);
+        }
+        size = position;
+    }
+
+    private boolean startsRecord(long position, long fileSize) {
+        return position == fileSize || (position + HEADER <= fileSize && mapped.getInt((int) position) == MAGIC);
+    }
+
+    /** Reads a record verified at load or written since; the caller holds the read lock. */
+    private ByteBuffer read(Key key, Location location) {
+        ByteBuffer record;
+        if (location.offset() + location.length() <= mapped.capacity()) {
+            record = mapped.slice((int) location.offset(), location.length());
+        } else {
+            record = ByteBuffer.allocate(location.length());
+            try {
+                while (record.hasRemaining()) {
+                    if (channel.read(record, location.offset() + record.position()) < 0) {
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Could not read {}", file, e);
+                return null;
+            }
+            record.flip();
+        }
+        if (record.remaining() != location.length()) {
+            corrupt.increment();
+            index.remove(key, location);
+            return null;
+        }
+        return record.slice(HEADER, location.length() - HEADER).asReadOnlyBuffer();
+    }
+
+    /**
+     * Rewrites the newest records up to half the size bound into a new file and replaces the store
+     * file with it; the caller holds the write lock. Records are copied between the files without
+     * passing through the heap.
+     */
+    private void compact() throws IOException {
+        List<Map.Entry<Key, Location>> records = new ArrayList<>(index.entrySet());
+        records.sort(Comparator.comparingLong(entry -> -entry.getValue().offset()));
+        long budget = maxBytes / 2;
+        List<Map.Entry<Key, Location>> kept = new ArrayList<>();
+        for (Map.Entry<Key, Location> entry : records) {
+            if (entry.getValue().length() > budget) {
+                break;
+            }
+            budget -= entry.getValue().length();
+            kept.add(entry);
+        }
+        kept.sort(Comparator.comparingLong(entry -> entry.getValue().offset()));
+
+        Path compacted = compactionFile();
+        try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = 0;
+            for (Map.Entry<Key, Location> entry : kept) {
+                Location location = entry.getValue();
+                long copied = 0;
+                while (copied < location.length()) {
+                    copied += channel.transferTo(location.offset() + copied, location.length() - copied, target);
+                }
+                position += copied;
+            }
+            target.force(true);
+            logger.info("Compacted {} from {} to {} bytes", file, size, position);
+        }
+        channel.close();
+        Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        open();
+    }
+
+    private Path compactionFile() {
+        return directory.resolve(FILE_NAME + ".compact");
+    }
+
+    private void disable(String message, Exception e) {
+        logger.warn("{}; results will not be stored", message, e);
+        available = false;
+        index.clear();
+    }
+
+    private static ByteBuffer encode(Key key, ByteBuffer payload) {
+        ByteBuffer record = ByteBuffer.allocate(HEADER + payload.remaining());
+        record.putInt(MAGIC).putInt(0).put(key.kind().code).putLong(key.a()).putLong(key.b())
+                .putInt(payload.remaining()).put(payload.duplicate()).flip();
+        record.putInt(4, checksum(record));
+        return record;
+    }
+
+    private static boolean intact(ByteBuffer record) {
+        return record.getInt(4) == checksum(record);
+    }
+
+    /** CRC32C of everything after the checksum field. */
+    private static int checksum(ByteBuffer record) {
+        CRC32C crc = new CRC32C();
+        crc.update(record.slice(8, record.limit() - 8));
+        return (int) crc.getValue();
+    }
+
+    private static Map<Kind, LongAdder> counters() {
+        Map<Kind, LongAdder> counters = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            counters.put(kind, new LongAdder());
+        }
+        return counters;
+    }
+
+    private record Key(Kind kind, long a, long b) {
+    }
+
+    private record Location(long offset, int length) {
+    }
+}
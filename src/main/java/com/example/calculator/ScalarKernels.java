@@ -0,0 +1,73 @@
+package com.example.calculator;
+
+/**
+ * Portable scalar implementation of {@link ArrayKernels}, also used for the tails of the SIMD loops.
+ */
+final class ScalarKernels implements ArrayKernels {
+
+    @Override
+    public void add(double[] a, double[] b, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = a[i] + b[i];
+        }
+    }
+
+    @Override
+    public void subtract(double[] a, double[] b, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = a[i] - b[i];
+        }
+    }
+
+    @Override
+    public void multiply(double[] a, double[] b, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = a[i] * b[i];
+        }
+    }
+
+    @Override
+    public void percentage(double[] a, double[] b, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = (a[i] * b[i]) / 100;
+        }
+    }
+
+    @Override
+    public int divide(double[] a, double[] b, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (b[i] == 0) {
+                return i;
+            }
+            out[i] = a[i] / b[i];
+        }
+        return OK;
+    }
+
+    @Override
+    public int sqrt(double[] in, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (in[i] < 0) {
+                return i;
+            }
+            out[i] = Math.sqrt(in[i]);
+        }
+        return OK;
+    }
+
+    @Override
+    public void multiplyTile(double[] a, double[] b, double[] c, int inner, int cols,
+                             int rowFrom, int rowTo, int kFrom, int kTo, int colFrom, int colTo) {
+        for (int i = rowFrom; i < rowTo; i++) {
+            int aRow = i * inner;
+            int cRow = i * cols;
+            for (int k = kFrom; k < kTo; k++) {
+                double aik = a[aRow + k];
+                int bRow = k * cols;
+                for (int j = colFrom; j < colTo; j++) {
+                    c[cRow + j] += aik * b[bRow + j];
+                }
+            }
+        }
+    }
+}
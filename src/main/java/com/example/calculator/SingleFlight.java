@@ -0,0 +1,120 @@
+package com.example.calculator;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical computations: the first caller for a key computes, and callers
+ * arriving while it runs wait for and share its result or exception. Nothing is remembered once
+ * the computation finishes, so this only removes duplicate work during bursts; memoization is
+ * {@link ResultCache}'s job.
+ *
+ * <p>Callers for different keys never contend: joining is a single {@code putIfAbsent} on a
+ * concurrent map. Waiting callers inside an asynchronous job stay cancellable, an interrupted
+ * waiting caller stops waiting with its interrupt status kept, and if the computing caller's own
+ * job is cancelled, the waiting callers compute again instead of failing.
+ *
+ * @param <K> key type; must implement {@code equals} and {@code hashCode}
+ * @param <V> result type
+ */
+final class SingleFlight<K, V> {
+
+    /** How often waiting callers check their own job for cancellation. */
+    private static final long CANCELLATION_CHECK_MILLIS = 50;
+
+    private final String name;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final LongAdder shared = new LongAdder();
+
+    /**
+     * Creates a single-flight group.
+     *
+     * @param name operation name used in statistics
+     */
+    SingleFlight(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Computes a value, or waits for the identical computation already in flight.
+     *
+     * @param key identifies the computation
+     * @param computation computes the value; runs on the calling thread
+     * @return the value
+     */
+    V execute(K key, Supplier<V> computation) {
+        while (true) {
+            CompletableFuture<V> call = new CompletableFuture<>();
+            CompletableFuture<V> inFlight = calls.putIfAbsent(key, call);
+            if (inFlight == null) {
+                return lead(key, call, computation);
+            }
+            shared.increment();
+            try {
+                return await(inFlight);
+            } catch (CancellationException e) {
+                // Only the computing caller's cancellation is retried; when this caller was
+                // interrupted or its own job cancelled, the wait ends here
+                if (!inFlight.isCancelled() || Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                JobContext.current().checkCancelled();
+            }
+        }
+    }
+
+    private V lead(K key, CompletableFuture<V> call, Supplier<V> computation) {
+        try {
+            V value = computation.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    private V await(CompletableFuture<V> inFlight) {
+        JobContext context = JobContext.current();
+        while (true) {
+            try {
+                return inFlight.get(CANCELLATION_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                context.checkCancelled();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for " + name);
+            }
+        }
+    }
+
+    String name() {
+        return name;
+    }
+
+    /** Returns the number of calls that shared another caller's computation. */
+    long shared() {
+        return shared.sum();
+    }
+
+    /** Returns the number of computations currently running. */
+    long inFlight() {
+        return calls.size();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.calculator;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keeps the beans that must be ready before the first request eager when the
+ * {@code fast-startup} profile turns on lazy initialization: the controller serving the
+ * arithmetic endpoints with the calculator and pool behind it, the result store, which starts
+ * loading in the background, and the binary protocol server, which has to listen. Everything else,
+ * such as the job services, is created on first use.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfiguration {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerCalculatorBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(CalculatorApplication.class, ComputePool.class,
+                ResultStore.class, BinaryProtocolServer.class);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.calculator;
+
+import com.example.calculator.dto.StatisticsSummary;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Statistics endpoints. Request bodies are numbers separated by whitespace or commas, or, with
+ * {@code Content-Type: application/octet-stream}, little-endian 8-byte doubles. Bodies are read
+ * as they arrive and never buffered whole. Every endpoint answers with a {@link StatisticsSummary};
+ * {@code quantiles} selects the estimated quantiles and defaults to the median, 0.9 and 0.99.
+ *
+ * <ul>
+ *   <li>{@code POST /stats}: summarizes the body</li>
+ *   <li>{@code POST /stats/series/{name}}: adds the body to a series, creating it if needed</li>
+ *   <li>{@code GET /stats/series/{name}}, {@code DELETE /stats/series/{name}}</li>
+ *   <li>{@code GET /stats/merged?series=a,b}: summarizes several series as one</li>
+ * </ul>
+ */
+@RestController
+public class StatisticsController {
+
+    private static final String DEFAULT_QUANTILES = "0.5,0.9,0.99";
+
+    private final StatisticsService statisticsService;
+
+    public StatisticsController(StatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+
+    /**
+     * Summarizes the values of the request body.
+     *
+     * @param quantiles quantiles to estimate
+     * @param request body of values
+     * @return the summary, or 400 if a value is malformed or not finite
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping("/stats")
+    public StatisticsSummary summarize(@RequestParam(defaultValue = DEFAULT_QUANTILES) double[] quantiles,
+                                       HttpServletRequest request) throws IOException {
+        try {
+            return statisticsService.summarize(request.getInputStream(), isBinary(request), quantiles);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Adds the values of the request body to a series.
+     *
+     * @param name the series
+     * @param quantiles quantiles to estimate
+     * @param request body of values
+     * @return the summary of the whole series, 400 if a value is malformed, or 409 when a new series
+     *         would exceed the limit
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping("/stats/series/{name}")
+    public StatisticsSummary update(@PathVariable String name,
+                                    @RequestParam(defaultValue = DEFAULT_QUANTILES) double[] quantiles,
+                                    HttpServletRequest request) throws IOException {
+        try {
+            return statisticsService.update(name, request.getInputStream(), isBinary(request), quantiles);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reports a series.
+     *
+     * @param name the series
+     * @param quantiles quantiles to estimate
+     * @return the summary, or 404 if there is no such series
+     */
+    @GetMapping("/stats/series/{name}")
+    public StatisticsSummary series(@PathVariable String name,
+                                    @RequestParam(defaultValue = DEFAULT_QUANTILES) double[] quantiles) {
+        StatisticsSummary summary;
+        try {
+            summary = statisticsService.summary(name, quantiles);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        if (summary == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown series");
+        }
+        return summary;
+    }
+
+    /**
+     * Reports several series as one.
+     *
+     * @param series the series to combine
+     * @param quantiles quantiles to estimate
+     * @return the combined summary, or 400 if a series does not exist
+     */
+    @GetMapping("/stats/merged")
+    public StatisticsSummary merged(@RequestParam List<String> series,
+                                    @RequestParam(defaultValue = DEFAULT_QUANTILES) double[] quantiles) {
+        try {
+            return statisticsService.merged(series, quantiles);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Forgets a series.
+     *
+     * @param name the series
+     * @return 204, or 404 if there is no such series
+     */
+    @DeleteMapping("/stats/series/{name}")
+    public ResponseEntity<Void> delete(@PathVariable String name) {
+        if (!statisticsService.delete(name)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown series");
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private static boolean isBinary(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.startsWith(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    }
+}
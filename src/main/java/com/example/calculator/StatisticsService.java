@@ -0,0 +1,290 @@
+package com.example.calculator;
+
+import com.example.calculator.dto.StatisticsSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Summarizes streams of numbers with {@link StreamingStatistics}, either once per upload or into
+ * named series that later uploads extend.
+ *
+ * <p>Uploads are read in chunks of {@value #CHUNK_VALUES} values. Each chunk is summarized as
+ * fork-join shards on the compute pool, and the shard summaries are merged into the upload's
+ * summary, so an upload holds one chunk and one summary however long it is. Uploads to a series
+ * are summarized without holding its lock and merged into it at the end. Each series keeps only
+ * its summary, and at most {@code maxSeries} series exist at a time.
+ */
+@Service
+public class StatisticsService {
+
+    /** Values read from an upload before they are summarized. */
+    static final int CHUNK_VALUES = 1 << 16;
+
+    /** Chunks of fewer values are summarized on the current thread. */
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /** Values per shard of a parallel summary. */
+    private static final int LEAF_SIZE = 1 << 13;
+
+    /** Longest accepted number in a text upload. */
+    static final int MAX_TOKEN_LENGTH = 64;
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final double compression;
+    private final int maxSeries;
+    private final Map<String, StreamingStatistics> series = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the service on the application's compute pool.
+     *
+     * @param computePool pool the shards are summarized on
+     * @param compression accuracy of the quantile sketches
+     * @param maxSeries named series kept at a time
+     */
+    @Autowired
+    public StatisticsService(ComputePool computePool,
+                             @Value("${calculator.stats.compression:100}") double compression,
+                             @Value("${calculator.stats.max-series:1000}") int maxSeries) {
+        this(computePool.pool(), compression, maxSeries);
+    }
+
+    /**
+     * Creates the service on the given pool.
+     *
+     * @param pool pool the shards are summarized on
+     * @param compression accuracy of the quantile sketches
+     * @param maxSeries named series kept at a time
+     */
+    public StatisticsService(ForkJoinPool pool, double compression, int maxSeries) {
+        if (!(compression >= 10) || maxSeries < 1) {
+            throw new IllegalArgumentException("Compression must be at least 10 and the series limit positive");
+        }
+        this.pool = pool;
+        this.compression = compression;
+        this.maxSeries = maxSeries;
+    }
+
+    /**
+     * Summarizes an upload.
+     *
+     * @param in the values, as text or as little-endian doubles
+     * @param binary whether the values are little-endian 8-byte doubles rather than text separated
+     *               by whitespace or commas
+     * @param quantiles quantiles to estimate
+     * @return the summary
+     * @throws IllegalArgumentException if a value is malformed or not finite, or a quantile is out of range
+     * @throws IOException if the upload cannot be read
+     */
+    public StatisticsSummary summarize(InputStream in, boolean binary, double[] quantiles) throws IOException {
+        checkQuantiles(quantiles);
+        return read(in, binary).summary(quantiles);
+    }
+
+    /**
+     * Adds an upload to a series, creating the series if needed.
+     *
+     * @param name the series
+     * @param in the values, as for {@link #summarize(InputStream, boolean, double[])}
+     * @param binary whether the values are little-endian doubles
+     * @param quantiles quantiles to estimate
+     * @return the summary of the whole series after the update
+     * @throws IllegalArgumentException if a value is malformed or not finite, or a quantile is out of
+     *                                  range; the series is then left unchanged
+     * @throws IllegalStateException if the series does not exist and the limit on series is reached
+     * @throws IOException if the upload cannot be read
+     */
+    public StatisticsSummary update(String name, InputStream in, boolean binary, double[] quantiles)
+            throws IOException {
+        checkQuantiles(quantiles);
+        StreamingStatistics upload = read(in, binary);
+        StreamingStatistics target = series.computeIfAbsent(name, key -> {
+            if (series.size() >= maxSeries) {
+                throw new IllegalStateException("Too many series, at most " + maxSeries + " are kept");
+            }
+            return new StreamingStatistics(compression);
+        });
+        synchronized (target) {
+            target.merge(upload);
+            return target.summary(quantiles);
+        }
+    }
+
+    /**
+     * Reports a series.
+     *
+     * @param name the series
+     * @param quantiles quantiles to estimate
+     * @return the summary, or null if there is no such series
+     * @throws IllegalArgumentException if a quantile is out of range
+     */
+    public StatisticsSummary summary(String name, double[] quantiles) {
+        checkQuantiles(quantiles);
+        StreamingStatistics statistics = series.get(name);
+        if (statistics == null) {
+            return null;
+        }
+        synchronized (statistics) {
+            return statistics.summary(quantiles);
+        }
+    }
+
+    /**
+     * Reports several series as one, as if all their values had been uploaded to a single series.
+     *
+     * @param names the series
+     * @param quantiles quantiles to estimate
+     * @return the combined summary
+     * @throws IllegalArgumentException if a series does not exist or a quantile is out of range
+     */
+    public StatisticsSummary merged(List<String> names, double[] quantiles) {
+        checkQuantiles(quantiles);
+        StreamingStatistics combined = new StreamingStatistics(compression);
+        for (String name : names) {
+            StreamingStatistics statistics = series.get(name);
+            if (statistics == null) {
+                throw new IllegalArgumentException("Unknown series: " + name);
+            }
+            synchronized (statistics) {
+                combined.merge(statistics);
+            }
+        }
+        return combined.summary(quantiles);
+    }
+
+    /**
+     * Forgets a series.
+     *
+     * @param name the series
+     * @return whether the series existed
+     */
+    public boolean delete(String name) {
+        return series.remove(name) != null;
+    }
+
+    /**
+     * Summarizes an array, in parallel shards from {@value #PARALLEL_THRESHOLD} values on.
+     *
+     * @param values the values
+     * @param length number of leading values to summarize
+     * @return the summary
+     * @throws IllegalArgumentException if a value is {@code NaN} or infinite
+     */
+    StreamingStatistics summarize(double[] values, int length) {
+        if (length < PARALLEL_THRESHOLD) {
+            StreamingStatistics statistics = new StreamingStatistics(compression);
+            statistics.add(values, 0, length);
+            return statistics;
+        }
+        return pool.invoke(new SummaryTask(values, 0, length));
+    }
+
+    private StreamingStatistics read(InputStream in, boolean binary) throws IOException {
+        StreamingStatistics statistics = new StreamingStatistics(compression);
+        double[] chunk = new double[CHUNK_VALUES];
+        if (binary) {
+            byte[] bytes = new byte[CHUNK_VALUES * Double.BYTES];
+            DoubleBuffer doubles = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+            int read;
+            while ((read = in.readNBytes(bytes, 0, bytes.length)) > 0) {
+                if (read % Double.BYTES != 0) {
+                    throw new IllegalArgumentException("Binary values must be 8 bytes each, got "
+                            + read % Double.BYTES + " trailing bytes");
+                }
+                int count = read / Double.BYTES;
+                doubles.clear();
+                doubles.get(chunk, 0, count);
+                statistics.merge(summarize(chunk, count));
+            }
+            return statistics;
+        }
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        char[] token = new char[MAX_TOKEN_LENGTH];
+        int length = 0;
+        int count = 0;
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            for (int i = 0; i < read; i++) {
+                byte b = buffer[i];
+                if (b == ' ' || b == ',' || b == '\n' || b == '\r' || b == '\t') {
+                    if (length > 0) {
+                        chunk[count++] = parse(token, length);
+                        length = 0;
+                        if (count == CHUNK_VALUES) {
+                            statistics.merge(summarize(chunk, count));
+                            count = 0;
+                        }
+                    }
+                } else if (length == MAX_TOKEN_LENGTH) {
+                    throw new IllegalArgumentException("Value exceeds " + MAX_TOKEN_LENGTH + " characters");
+                } else {
+                    token[length++] = (char) b;
+                }
+            }
+        }
+        if (length > 0) {
+            chunk[count++] = parse(token, length);
+        }
+        statistics.merge(summarize(chunk, count));
+        return statistics;
+    }
+
+    private static double parse(char[] token, int length) {
+        String text = new String(token, 0, length);
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number: " + text);
+        }
+    }
+
+    private static void checkQuantiles(double[] quantiles) {
+        for (double q : quantiles) {
+            if (!(q >= 0 && q <= 1)) {
+                throw new IllegalArgumentException("Quantiles must be between 0 and 1, got " + q);
+            }
+        }
+    }
+
+    /** Halves a range until it fits a shard, then merges the halves' summaries. */
+    private final class SummaryTask extends RecursiveTask<StreamingStatistics> {
+
+        private final double[] values;
+        private final int from;
+        private final int to;
+
+        SummaryTask(double[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected StreamingStatistics compute() {
+            if (to - from <= LEAF_SIZE) {
+                StreamingStatistics statistics = new StreamingStatistics(compression);
+                statistics.add(values, from, to);
+                return statistics;
+            }
+            int middle = (from + to) >>> 1;
+            SummaryTask right = new SummaryTask(values, middle, to);
+            right.fork();
+            StreamingStatistics left = new SummaryTask(values, from, middle).compute();
+            left.merge(right.join());
+            return left;
+        }
+    }
+}
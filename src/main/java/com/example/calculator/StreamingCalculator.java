@@ -0,0 +1,200 @@
+package com.example.calculator;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Evaluates an unbounded stream of newline-delimited JSON operations such as
+ * {@code {"op":"add","a":5,"b":3}}, writing one {@code {"result":8.0}} or {@code {"error":"..."}}
+ * line per non-blank input line, in input order.
+ *
+ * <p>Input is read through a fixed buffer and each line is parsed in place, so memory use does
+ * not depend on the length of the stream. Results are written as soon as their line is
+ * evaluated and flushed whenever no more input is immediately available. Reading and writing
+ * happen on the same thread with blocking I/O: when the client stops reading results, writes
+ * block, reading stops, and the client's own writes block in turn.
+ */
+@Service
+public class StreamingCalculator {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private final Calculator calculator;
+    private final int maxLineLength;
+
+    /**
+     * Creates a streaming calculator.
+     *
+     * @param calculator evaluates the operations
+     * @param maxLineLength longest accepted line in bytes; longer lines are reported as errors
+     */
+    public StreamingCalculator(Calculator calculator,
+                               @Value("${calculator.stream.max-line-length:4096}") int maxLineLength) {
+        if (maxLineLength < 1) {
+            throw new IllegalArgumentException("Maximum line length must be positive, got " + maxLineLength);
+        }
+        this.calculator = calculator;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Evaluates every line of the input until it ends.
+     *
+     * @param in newline-delimited JSON operations
+     * @param out receives one result line per non-blank input line; not closed
+     * @return the number of lines evaluated, including failed ones
+     * @throws IOException if the input cannot be read or the output cannot be written
+     */
+    public long evaluate(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[Math.max(READ_BUFFER_SIZE, maxLineLength + 1)];
+        int start = 0;
+        int end = 0;
+        long lines = 0;
+        // True while skipping the rest of a line already reported as too long
+        boolean discarding = false;
+        try (JsonGenerator generator = JSON.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Values are separated by the newlines written after each of them
+            generator.setRootValueSeparator(null);
+            while (true) {
+                int newline = indexOf(buffer, start, end);
+                if (newline >= 0) {
+                    if (!discarding && evaluateLine(buffer, start, newline, generator)) {
+                        lines++;
+                    }
+                    discarding = false;
+                    start = newline + 1;
+                    continue;
+                }
+                if (!discarding && end - start > maxLineLength) {
+                    writeError(generator, "Line exceeds " + maxLineLength + " bytes");
+                    lines++;
+                    discarding = true;
+                }
+                if (discarding) {
+                    start = end;
+                }
+                if (start > 0) {
+                    System.arraycopy(buffer, start, buffer, 0, end - start);
+                    end -= start;
+                    start = 0;
+                }
+                if (in.available() <= 0) {
+                    // About to block for input: let the client see everything evaluated so far
+                    generator.flush();
+                }
+                int read = in.read(buffer, end, buffer.length - end);
+                if (read < 0) {
+                    break;
+                }
+                end += read;
+            }
+            if (!discarding && evaluateLine(buffer, start, end, generator)) {
+                lines++;
+            }
+            generator.flush();
+        }
+        return lines;
+    }
+
+    /** Evaluates one line and writes its result; returns false for a blank line. */
+    private boolean evaluateLine(byte[] buffer, int from, int to, JsonGenerator generator) throws IOException {
+        while (from < to && isWhitespace(buffer[from])) {
+            from++;
+        }
+        while (to > from && isWhitespace(buffer[to - 1])) {
+            to--;
+        }
+        if (from == to) {
+            return false;
+        }
+        try {
+            evaluate(buffer, from, to - from, generator);
+        } catch (JsonProcessingException e) {
+            writeError(generator, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (IllegalArgumentException e) {
+            writeError(generator, e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Parses one operation, evaluates it and writes its result; only malformed lines throw, unknown
+     * operations and invalid operands do not.
+     */
+    private void evaluate(byte[] buffer, int offset, int length, JsonGenerator generator) throws IOException {
+        String op = null;
+        double a = 0;
+        double b = 0;
+        try (JsonParser parser = JSON.createParser(buffer, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "op" -> op = parser.getValueAsString();
+                    case "a" -> a = number(parser, value, field);
+                    case "b" -> b = number(parser, value, field);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (parser.nextToken() != null) {
+                throw new IllegalArgumentException("Expected one JSON object per line");
+            }
+        }
+        Operation operation = Operation.find(op);
+        if (operation == null) {
+            writeError(generator, Operation.unknown(op));
+            return;
+        }
+        CalculationResult result = operation.apply(calculator, a, b, CalculationResult.get());
+        if (!result.isSuccess()) {
+            writeError(generator, result.message());
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeNumberField("result", result.value());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static double number(JsonParser parser, JsonToken token, String field) throws IOException {
+        if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT) {
+            throw new IllegalArgumentException("Operand " + field + " must be a number");
+        }
+        return parser.getDoubleValue();
+    }
+
+    private static void writeError(JsonGenerator generator, String message) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("error", message);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static int indexOf(byte[] buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.calculator;
+
+import com.example.calculator.dto.StatisticsSummary;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Single-pass summary of a stream of doubles: count, sum, mean, variance, extremes and a
+ * {@link TDigest} for quantiles, in constant memory however many values arrive.
+ *
+ * <p>The sum is compensated with Neumaier's variant of Kahan summation, so adding many small
+ * values to a large one loses nothing. The variance follows Welford's recurrence over deviations
+ * from the running mean, avoiding the cancellation of the sum-of-squares formula. Summaries of
+ * separate shards combine with {@link #merge} (Chan's pairwise update for the moments), which is
+ * how parallel summaries are reduced. Not thread-safe.
+ */
+final class StreamingStatistics {
+
+    private long count;
+    private double sum;
+    private double compensation;
+    private double mean;
+    private double squaredDeviations;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private final TDigest digest;
+
+    /**
+     * Creates an empty summary.
+     *
+     * @param compression accuracy of the quantile sketch, see {@link TDigest}
+     */
+    StreamingStatistics(double compression) {
+        digest = new TDigest(compression);
+    }
+
+    /**
+     * Adds one value.
+     *
+     * @param value the value
+     * @throws IllegalArgumentException if the value is {@code NaN} or infinite
+     */
+    void add(double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Values must be finite, got " + value);
+        }
+        addToSum(value);
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        squaredDeviations += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        digest.add(value);
+    }
+
+    /**
+     * Adds a range of values.
+     *
+     * @param values the values
+     * @param from first index, inclusive
+     * @param to last index, exclusive
+     * @throws IllegalArgumentException if a value is {@code NaN} or infinite
+     */
+    void add(double[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            add(values[i]);
+        }
+    }
+
+    /**
+     * Folds another summary into this one, as if its values had been added here. The other
+     * summary keeps its values.
+     *
+     * @param other summary of further values
+     */
+    void merge(StreamingStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        addToSum(other.sum);
+        addToSum(other.compensation);
+        long combined = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / combined;
+        squaredDeviations += other.squaredDeviations + delta * delta * ((double) count * other.count / combined);
+        count = combined;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        digest.merge(other.digest);
+    }
+
+    long count() {
+        return count;
+    }
+
+    /** Returns the compensated sum; 0 when empty. */
+    double sum() {
+        return sum + compensation;
+    }
+
+    /** Returns the arithmetic mean, or {@code NaN} when empty. */
+    double mean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /** Returns the sample variance, dividing by {@code count - 1}, or {@code NaN} below two values. */
+    double variance() {
+        return count < 2 ? Double.NaN : squaredDeviations / (count - 1);
+    }
+
+    /** Returns the smallest value, or {@code NaN} when empty. */
+    double min() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    /** Returns the largest value, or {@code NaN} when empty. */
+    double max() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    /**
+     * Estimates a quantile from the sketch.
+     *
+     * @param q quantile between 0 and 1
+     * @return the estimate, or {@code NaN} when empty
+     */
+    double quantile(double q) {
+        return digest.quantile(q);
+    }
+
+    /**
+     * Reports the summary, leaving out statistics that are undefined for this few values.
+     *
+     * @param quantiles quantiles to estimate, each between 0 and 1
+     * @return the summary
+     */
+    StatisticsSummary summary(double[] quantiles) {
+        if (count == 0) {
+            return new StatisticsSummary(0, 0.0, null, null, null, null, null, null);
+        }
+        Map<String, Double> estimates = new LinkedHashMap<>();
+        for (double q : quantiles) {
+            estimates.put(Double.toString(q), quantile(q));
+        }
+        Double variance = count < 2 ? null : variance();
+        return new StatisticsSummary(count, sum(), mean, variance, variance == null ? null : Math.sqrt(variance),
+                min, max, estimates);
+    }
+
+    private void addToSum(double value) {
+        double total = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - total) + value;
+        } else {
+            compensation += (value - total) + sum;
+        }
+        sum = total;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.calculator;
+
+import java.util.Arrays;
+
+/**
+ * Merging t-digest: a quantile sketch of weighted centroids that are small near the tails and
+ * large near the median, so extreme quantiles stay accurate while memory stays constant.
+ *
+ * <p>Values are buffered and folded into the sorted centroids in batches. A fold walks both
+ * sorted lists once and merges neighbours while the merged centroid spans at most one unit of
+ * the scale {@code k(q) = compression / (2 pi) * asin(2q - 1)}, which bounds the digest to fewer
+ * than {@code compression + 2} centroids. Two digests merge the same way, so shards summarized in
+ * parallel combine into one digest of the whole. Not thread-safe.
+ */
+final class TDigest {
+
+    private final double compression;
+
+    private double[] means;
+    private double[] weights;
+    private double[] mergedMeans;
+    private double[] mergedWeights;
+    private int centroids;
+    private double totalWeight;
+
+    private final double[] buffer;
+    private int buffered;
+
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Creates an empty digest.
+     *
+     * @param compression accuracy parameter; larger keeps more centroids
+     * @throws IllegalArgumentException if the compression is below 10
+     */
+    TDigest(double compression) {
+        if (!(compression >= 10)) {
+            throw new IllegalArgumentException("Compression must be at least 10, got " + compression);
+        }
+        this.compression = compression;
+        // Twice the bound, so rounding at the limits can never overflow the arrays
+        int capacity = 2 * (int) Math.ceil(compression) + 4;
+        means = new double[capacity];
+        weights = new double[capacity];
+        mergedMeans = new double[capacity];
+        mergedWeights = new double[capacity];
+        buffer = new double[5 * capacity];
+    }
+
+    /**
+     * Adds one value.
+     *
+     * @param value a finite value
+     */
+    void add(double value) {
+        if (buffered == buffer.length) {
+            flush();
+        }
+        buffer[buffered++] = value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Folds another digest into this one. The other digest keeps its contents.
+     *
+     * @param other digest of further values
+     */
+    void merge(TDigest other) {
+        other.flush();
+        flush();
+        fold(other.means, other.weights, other.centroids, other.totalWeight);
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Estimates a quantile, interpolating between centroid centres and, at the ends, the exact
+     * minimum and maximum.
+     *
+     * @param q quantile between 0 and 1
+     * @return the estimate, or {@code NaN} for an empty digest
+     */
+    double quantile(double q) {
+        flush();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        double index = q * totalWeight;
+        int last = centroids - 1;
+        if (index <= weights[0] / 2) {
+            return min + (means[0] - min) * index / (weights[0] / 2);
+        }
+        if (index >= totalWeight - weights[last] / 2) {
+            return max - (max - means[last]) * (totalWeight - index) / (weights[last] / 2);
+        }
+        double centre = weights[0] / 2;
+        for (int i = 0; i < last; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+            if (index < centre + gap) {
+                return means[i] + (means[i + 1] - means[i]) * (index - centre) / gap;
+            }
+            centre += gap;
+        }
+        return means[last];
+    }
+
+    /** Returns the number of centroids after folding in the buffered values. */
+    int centroids() {
+        flush();
+        return centroids;
+    }
+
+    private void flush() {
+        if (buffered > 0) {
+            Arrays.sort(buffer, 0, buffered);
+            fold(buffer, null, buffered, buffered);
+            buffered = 0;
+        }
+    }
+
+    /** Merges sorted centroids, with unit weights when {@code otherWeights} is null, into these. */
+    private void fold(double[] otherMeans, double[] otherWeights, int otherCount, double otherWeight) {
+        if (otherCount == 0) {
+            return;
+        }
+        double total = totalWeight + otherWeight;
+        double normalizer = compression / (2 * Math.PI);
+        // Weight before the centroid being built, and the weight it may grow to: one unit of the
+        // scale past its start, found once per centroid rather than per value
+        double before = 0;
+        double limit = 0;
+        int out = -1;
+        int i = 0;
+        int j = 0;
+        while (i < centroids || j < otherCount) {
+            double mean;
+            double weight;
+            if (j == otherCount || (i < centroids && means[i] <= otherMeans[j])) {
+                mean = means[i];
+                weight = weights[i++];
+            } else {
+                mean = otherMeans[j];
+                weight = otherWeights == null ? 1 : otherWeights[j];
+                j++;
+            }
+            if (out >= 0 && before + mergedWeights[out] + weight <= limit) {
+                mergedWeights[out] += weight;
+                mergedMeans[out] += (mean - mergedMeans[out]) * weight / mergedWeights[out];
+            } else {
+                if (out >= 0) {
+                    before += mergedWeights[out];
+                }
+                out++;
+                mergedMeans[out] = mean;
+                mergedWeights[out] = weight;
+                limit = weightLimit(before, total, normalizer);
+            }
+        }
+        double[] swap = means;
+        means = mergedMeans;
+        mergedMeans = swap;
+        swap = weights;
+        weights = mergedWeights;
+        mergedWeights = swap;
+        centroids = out + 1;
+        totalWeight = total;
+    }
+
+    /** Cumulative weight at which the scale is one unit past its value at {@code before}. */
+    private static double weightLimit(double before, double total, double normalizer) {
+        double start = Math.asin(Math.min(1, 2 * before / total - 1));
+        double end = start + 1 / normalizer;
+        return end >= Math.PI / 2 ? total : total * (Math.sin(end) + 1) / 2;
+    }
+}
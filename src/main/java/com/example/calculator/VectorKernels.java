@@ -0,0 +1,123 @@
+package com.example.calculator;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation of {@link ArrayKernels} built on the incubating Vector API.
+ * Only instantiated through {@link ArrayKernels#get()} when the {@code jdk.incubator.vector}
+ * module is available. Results are bit-identical to {@link ScalarKernels}.
+ */
+final class VectorKernels implements ArrayKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private final ScalarKernels tail = new ScalarKernels();
+
+    @Override
+    public void add(double[] a, double[] b, double[] out, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).add(DoubleVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+        }
+        tail.add(a, b, out, i, to);
+    }
+
+    @Override
+    public void subtract(double[] a, double[] b, double[] out, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).sub(DoubleVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+        }
+        tail.subtract(a, b, out, i, to);
+    }
+
+    @Override
+    public void multiply(double[] a, double[] b, double[] out, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).mul(DoubleVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+        }
+        tail.multiply(a, b, out, i, to);
+    }
+
+    @Override
+    public void percentage(double[] a, double[] b, double[] out, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).mul(DoubleVector.fromArray(SPECIES, b, i))
+                    .div(100).intoArray(out, i);
+        }
+        tail.percentage(a, b, out, i, to);
+    }
+
+    @Override
+    public int divide(double[] a, double[] b, double[] out, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            DoubleVector divisor = DoubleVector.fromArray(SPECIES, b, i);
+            if (divisor.compare(VectorOperators.EQ, 0).anyTrue()) {
+                // Let the scalar loop locate the zero and write the lanes before it
+                break;
+            }
+            DoubleVector.fromArray(SPECIES, a, i).div(divisor).intoArray(out, i);
+        }
+        return tail.divide(a, b, out, i, to);
+    }
+
+    @Override
+    public int sqrt(double[] in, double[] out, int from, int to) {
+        int i = from;
+        for (int bound = from + SPECIES.loopBound(to - from); i < bound; i += SPECIES.length()) {
+            DoubleVector v = DoubleVector.fromArray(SPECIES, in, i);
+            if (v.compare(VectorOperators.LT, 0).anyTrue()) {
+                break;
+            }
+            v.sqrt().intoArray(out, i);
+        }
+        return tail.sqrt(in, out, i, to);
+    }
+
+    /**
+     * Keeps a block of four rows by one vector of columns in registers for the whole {@code k}
+     * range, so each vector of {@code b} is loaded once for four rows and {@code c} is loaded and
+     * stored once per tile instead of once per {@code k}.
+     */
+    @Override
+    public void multiplyTile(double[] a, double[] b, double[] c, int inner, int cols,
+                             int rowFrom, int rowTo, int kFrom, int kTo, int colFrom, int colTo) {
+        int bound = colFrom + SPECIES.loopBound(colTo - colFrom);
+        int i = rowFrom;
+        for (; i + 4 <= rowTo; i += 4) {
+            int a0 = i * inner;
+            int a1 = a0 + inner;
+            int a2 = a1 + inner;
+            int a3 = a2 + inner;
+            int c0 = i * cols;
+            int c1 = c0 + cols;
+            int c2 = c1 + cols;
+            int c3 = c2 + cols;
+            for (int j = colFrom; j < bound; j += SPECIES.length()) {
+                DoubleVector s0 = DoubleVector.fromArray(SPECIES, c, c0 + j);
+                DoubleVector s1 = DoubleVector.fromArray(SPECIES, c, c1 + j);
+                DoubleVector s2 = DoubleVector.fromArray(SPECIES, c, c2 + j);
+                DoubleVector s3 = DoubleVector.fromArray(SPECIES, c, c3 + j);
+                for (int k = kFrom; k < kTo; k++) {
+                    DoubleVector bk = DoubleVector.fromArray(SPECIES, b, k * cols + j);
+                    // Multiply and add separately, not fused, to stay bit-identical to the scalar loop
+                    s0 = s0.add(bk.mul(a[a0 + k]));
+                    s1 = s1.add(bk.mul(a[a1 + k]));
+                    s2 = s2.add(bk.mul(a[a2 + k]));
+                    s3 = s3.add(bk.mul(a[a3 + k]));
+                }
+                s0.intoArray(c, c0 + j);
+                s1.intoArray(c, c1 + j);
+                s2.intoArray(c, c2 + j);
+                s3.intoArray(c, c3 + j);
+            }
+            tail.multiplyTile(a, b, c, inner, cols, i, i + 4, kFrom, kTo, bound, colTo);
+        }
+        tail.multiplyTile(a, b, c, inner, cols, i, rowTo, kFrom, kTo, colFrom, colTo);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.calculator;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Serves every request, and every streamed response body, on its own virtual thread when
+ * {@code calculator.execution.mode} is {@code virtual}. The default {@code platform} mode keeps
+ * Tomcat's bounded thread pool. CPU-heavy work runs on {@link ComputePool} in both modes.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "calculator.execution.mode", havingValue = "virtual")
+public class VirtualThreadConfiguration implements WebMvcConfigurer {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return handler -> handler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor()));
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.calculator.dto;
+
+/**
+ * A column-oriented batch: one operation applied element-wise to two operand arrays.
+ *
+ * @param op operation name, for example {@code multiply}
+ * @param a first operands
+ * @param b second operands; may be omitted for unary operations
+ */
+public record BatchColumn(String op, double[] a, double[] b) {
+}
@@ -0,0 +1,14 @@
+package com.example.calculator.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a column batch. Failing elements hold {@code NaN} in {@code results}
+ * and are listed in {@code errors}.
+ *
+ * @param op operation name
+ * @param results computed values, one per input element
+ * @param errors per-element errors, empty when every element succeeded
+ */
+public record BatchColumnResult(String op, double[] results, List<BatchError> errors) {
+}
@@ -0,0 +1,10 @@
+package com.example.calculator.dto;
+
+/**
+ * An error reported for one element of a column batch.
+ *
+ * @param index position of the failing element
+ * @param error error message
+ */
+public record BatchError(int index, String error) {
+}
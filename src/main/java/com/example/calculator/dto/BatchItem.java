@@ -0,0 +1,11 @@
+package com.example.calculator.dto;
+
+/**
+ * A single operation in a batch request.
+ *
+ * @param op operation name, for example {@code add} or {@code sqrt}
+ * @param a first operand
+ * @param b second operand, ignored by unary operations
+ */
+public record BatchItem(String op, double a, double b) {
+}
@@ -0,0 +1,12 @@
+package com.example.calculator.dto;
+
+import java.util.List;
+
+/**
+ * Request body of the batch endpoint. Either list may be omitted.
+ *
+ * @param items individual operations, evaluated in order
+ * @param columns column-oriented operations, evaluated in order
+ */
+public record BatchRequest(List<BatchItem> items, List<BatchColumn> columns) {
+}
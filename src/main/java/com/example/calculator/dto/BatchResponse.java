@@ -0,0 +1,12 @@
+package com.example.calculator.dto;
+
+import java.util.List;
+
+/**
+ * Response body of the batch endpoint, mirroring the layout of {@link BatchRequest}.
+ *
+ * @param items results for the individual operations
+ * @param columns results for the column-oriented operations
+ */
+public record BatchResponse(List<BatchResult> items, List<BatchColumnResult> columns) {
+}
@@ -0,0 +1,21 @@
+package com.example.calculator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of a single batch item: either a result or an error message.
+ *
+ * @param result computed value, absent on error
+ * @param error error message, absent on success
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchResult(Double result, String error) {
+
+    public static BatchResult success(double result) {
+        return new BatchResult(result, null);
+    }
+
+    public static BatchResult failure(String error) {
+        return new BatchResult(null, error);
+    }
+}
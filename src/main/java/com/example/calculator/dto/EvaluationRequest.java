@@ -0,0 +1,12 @@
+package com.example.calculator.dto;
+
+import java.util.Map;
+
+/**
+ * Request body of the expression evaluation endpoint.
+ *
+ * @param expr infix expression, for example {@code sqrt(x^2 + y^2)}
+ * @param variables value of every variable used in the expression
+ */
+public record EvaluationRequest(String expr, Map<String, Double> variables) {
+}
@@ -0,0 +1,14 @@
+package com.example.calculator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of an expression evaluation: either a result or an error message.
+ *
+ * @param expr the evaluated expression
+ * @param result computed value, absent on error
+ * @param error error message, absent on success
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EvaluationResponse(String expr, Double result, String error) {
+}
@@ -0,0 +1,14 @@
+package com.example.calculator.dto;
+
+/**
+ * A bulk job applying one operation to columns stored in files. File names are resolved
+ * against the configured job directory and may not leave it.
+ *
+ * @param op operation name, for example {@code multiply}, {@code sqrt} or {@code isPrime}
+ * @param type element type of the input files: {@code double} (default), {@code int} or {@code long}
+ * @param a file holding the first operands as little-endian values
+ * @param b file holding the second operands; omitted for unary operations
+ * @param output file to write; little-endian doubles, or one byte per element for {@code isPrime}
+ */
+public record FileJobRequest(String op, String type, String a, String b, String output) {
+}
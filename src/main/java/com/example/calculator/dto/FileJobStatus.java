@@ -0,0 +1,21 @@
+package com.example.calculator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Progress of a bulk file job.
+ *
+ * @param id job identifier
+ * @param op operation name
+ * @param state {@code RUNNING}, {@code COMPLETED} or {@code FAILED}
+ * @param processed elements computed so far
+ * @param total elements in the input
+ * @param errors elements that failed and hold {@code NaN} in the output
+ * @param firstErrorIndex lowest failing element index, absent when none failed
+ * @param firstError error message of that element
+ * @param failure why the job failed, absent unless {@code FAILED}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FileJobStatus(String id, String op, String state, long processed, long total, long errors,
+                            Long firstErrorIndex, String firstError, String failure) {
+}
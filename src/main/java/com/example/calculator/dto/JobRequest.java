@@ -0,0 +1,14 @@
+package com.example.calculator.dto;
+
+/**
+ * An asynchronous computation. Only the parameters of the chosen operation are read.
+ *
+ * @param op {@code factorial}, {@code primes} or {@code batch}
+ * @param priority scheduling priority; higher runs first, equal priorities run in submission order
+ * @param number input of {@code factorial}
+ * @param from inclusive lower bound of {@code primes}
+ * @param to exclusive upper bound of {@code primes}
+ * @param batch operations of {@code batch}, as for the batch endpoint
+ */
+public record JobRequest(String op, int priority, Integer number, Long from, Long to, BatchRequest batch) {
+}
@@ -0,0 +1,18 @@
+package com.example.calculator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * State and progress of an asynchronous computation.
+ *
+ * @param id job identifier
+ * @param op operation name
+ * @param priority scheduling priority
+ * @param state {@code QUEUED}, {@code RUNNING}, {@code COMPLETED}, {@code FAILED} or {@code CANCELLED}
+ * @param done units of work finished so far, such as sieve segments or batch operations
+ * @param total units of work announced so far; may grow while the job runs
+ * @param error why the job failed, absent unless {@code FAILED}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JobStatus(String id, String op, int priority, String state, long done, long total, String error) {
+}
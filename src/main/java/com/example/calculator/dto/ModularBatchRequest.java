@@ -0,0 +1,13 @@
+package com.example.calculator.dto;
+
+/**
+ * Request body of the modular batch endpoint: one operation applied element-wise to two operand
+ * arrays under a single modulus.
+ *
+ * @param op {@code modPow} or {@code modMul}
+ * @param modulus the modulus shared by all elements
+ * @param a bases for {@code modPow}, first factors for {@code modMul}
+ * @param b exponents for {@code modPow}, second factors for {@code modMul}
+ */
+public record ModularBatchRequest(String op, long modulus, long[] a, long[] b) {
+}
@@ -0,0 +1,11 @@
+package com.example.calculator.dto;
+
+/**
+ * Results of a modular batch, in request order.
+ *
+ * @param op the applied operation
+ * @param modulus the modulus shared by all elements
+ * @param results one residue per element
+ */
+public record ModularBatchResponse(String op, long modulus, long[] results) {
+}
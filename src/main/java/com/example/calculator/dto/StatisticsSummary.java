@@ -0,0 +1,22 @@
+package com.example.calculator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Summary of a series of values.
+ *
+ * @param count number of values
+ * @param sum compensated sum of the values
+ * @param mean arithmetic mean, absent when there are no values
+ * @param variance sample variance, absent below two values
+ * @param standardDeviation square root of the sample variance, absent below two values
+ * @param min smallest value, absent when there are no values
+ * @param max largest value, absent when there are no values
+ * @param quantiles estimated quantiles keyed by the requested quantile, absent when there are no values
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record StatisticsSummary(long count, Double sum, Double mean, Double variance, Double standardDeviation,
+                                Double min, Double max, Map<String, Double> quantiles) {
+}
@@ -0,0 +1,90 @@
+package com.example.calculator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that the SIMD kernels produce exactly the same results as the scalar kernels.
+ */
+@DisplayName("Array Kernel Tests")
+class ArrayKernelsTest {
+
+    private static final int LENGTH = 1027;
+
+    private final ArrayKernels scalar = new ScalarKernels();
+    private final ArrayKernels vector = new VectorKernels();
+
+    private double[] a;
+    private double[] b;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        a = new double[LENGTH];
+        b = new double[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            a[i] = random.nextDouble() * 1000;
+            b[i] = random.nextDouble() * 1000 + 1;
+        }
+    }
+
+    @Test
+    @DisplayName("Should use the SIMD kernels when the vector module is present")
+    void testSelection() {
+        assertThat(ArrayKernels.get()).isInstanceOf(VectorKernels.class);
+    }
+
+    @Test
+    @DisplayName("Should match scalar results for arithmetic kernels")
+    void testArithmetic() {
+        double[] expected = new double[LENGTH];
+        double[] actual = new double[LENGTH];
+
+        scalar.add(a, b, expected, 0, LENGTH);
+        vector.add(a, b, actual, 0, LENGTH);
+        assertThat(actual).containsExactly(expected);
+
+        scalar.subtract(a, b, expected, 0, LENGTH);
+        vector.subtract(a, b, actual, 0, LENGTH);
+        assertThat(actual).containsExactly(expected);
+
+        scalar.multiply(a, b, expected, 0, LENGTH);
+        vector.multiply(a, b, actual, 0, LENGTH);
+        assertThat(actual).containsExactly(expected);
+
+        scalar.percentage(a, b, expected, 0, LENGTH);
+        vector.percentage(a, b, actual, 0, LENGTH);
+        assertThat(actual).containsExactly(expected);
+
+        assertThat(vector.divide(a, b, actual, 0, LENGTH)).isEqualTo(ArrayKernels.OK);
+        scalar.divide(a, b, expected, 0, LENGTH);
+        assertThat(actual).containsExactly(expected);
+
+        assertThat(vector.sqrt(a, actual, 0, LENGTH)).isEqualTo(ArrayKernels.OK);
+        scalar.sqrt(a, expected, 0, LENGTH);
+        assertThat(actual).containsExactly(expected);
+    }
+
+    @Test
+    @DisplayName("Should report the first invalid index and write every element before it")
+    void testFailingKernels() {
+        b[700] = 0.0;
+        b[900] = -0.0;
+        double[] out = new double[LENGTH];
+
+        assertThat(vector.divide(a, b, out, 0, LENGTH)).isEqualTo(700);
+        assertThat(vector.divide(a, b, out, 701, LENGTH)).isEqualTo(900);
+        for (int i = 0; i < 700; i++) {
+            assertThat(out[i]).isEqualTo(a[i] / b[i]);
+        }
+
+        a[3] = -1;
+        assertThat(vector.sqrt(a, out, 0, LENGTH)).isEqualTo(3);
+        assertThat(scalar.sqrt(a, out, 0, LENGTH)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.calculator;
+
+import com.example.calculator.dto.BatchColumn;
+import com.example.calculator.dto.BatchColumnResult;
+import com.example.calculator.dto.BatchItem;
+import com.example.calculator.dto.BatchRequest;
+import com.example.calculator.dto.BatchResponse;
+import com.example.calculator.dto.BatchResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the batch evaluation of calculator operations.
+ */
+@DisplayName("Batch Calculator Tests")
+class BatchCalculatorTest {
+
+    private BatchCalculator batchCalculator;
+
+    @BeforeEach
+    void setUp() {
+        batchCalculator = new BatchCalculator(new Calculator(), 10);
+    }
+
+    @Nested
+    @DisplayName("Item Batches")
+    class ItemTests {
+
+        @Test
+        @DisplayName("Should evaluate items in order")
+        void testItems() {
+            // Given
+            BatchRequest request = new BatchRequest(List.of(
+                    new BatchItem("add", 5, 3),
+                    new BatchItem("multiply", 4, 3),
+                    new BatchItem("sqrt", 9, 0)), null);
+
+            // When
+            BatchResponse response = batchCalculator.evaluate(request);
+
+            // Then
+            assertThat(response.items()).extracting(BatchResult::result).containsExactly(8.0, 12.0, 3.0);
+            assertThat(response.columns()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should report item errors in place")
+        void testItemErrors() {
+            // Given
+            BatchRequest request = new BatchRequest(List.of(
+                    new BatchItem("divide", 1, 0),
+                    new BatchItem("subtract", 10, 3),
+                    new BatchItem("sqrt", -4, 0),
+                    new BatchItem("modulo", 1, 2)), null);
+
+            // When
+            List<BatchResult> results = batchCalculator.evaluate(request).items();
+
+            // Then
+            assertThat(results.get(0).error()).isEqualTo("Division by zero is not allowed");
+            assertThat(results.get(1).result()).isEqualTo(7.0);
+            assertThat(results.get(2).error()).isEqualTo("Cannot calculate square root of negative number");
+            assertThat(results.get(3).error()).isEqualTo("Unknown operation: modulo");
+        }
+    }
+
+    @Nested
+    @DisplayName("Column Batches")
+    class ColumnTests {
+
+        @Test
+        @DisplayName("Should evaluate columns element-wise")
+        void testColumns() {
+            // Given
+            BatchColumn column = new BatchColumn("percentage", new double[] {200, 50}, new double[] {15, 10});
+
+            // When
+            BatchColumnResult result = batchCalculator.evaluate(column);
+
+            // Then
+            assertThat(result.results()).containsExactly(30.0, 5.0);
+            assertThat(result.errors()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should mark failing elements with NaN and an indexed error")
+        void testColumnErrors() {
+            // Given
+            BatchColumn column = new BatchColumn("divide", new double[] {6, 1, 9}, new double[] {3, 0, 3});
+
+            // When
+            BatchColumnResult result = batchCalculator.evaluate(column);
+
+            // Then
+            assertThat(result.results()[0]).isEqualTo(2.0);
+            assertThat(result.results()[1]).isNaN();
+            assertThat(result.results()[2]).isEqualTo(3.0);
+            assertThat(result.errors()).singleElement()
+                    .satisfies(error -> assertThat(error.index()).isEqualTo(1));
+        }
+
+        @Test
+        @DisplayName("Should reject mismatched column lengths")
+        void testMismatchedColumns() {
+            BatchColumn column = new BatchColumn("add", new double[] {1, 2}, new double[] {1});
+
+            BatchColumnResult result = batchCalculator.evaluate(column);
+
+            assertThat(result.errors()).singleElement()
+                    .satisfies(error -> assertThat(error.index()).isEqualTo(BatchCalculator.COLUMN_ERROR));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject batches above the configured limit")
+    void testBatchLimit() {
+        BatchRequest request = new BatchRequest(null,
+                List.of(new BatchColumn("sqrt", new double[11], null)));
+
+        assertThrows(IllegalArgumentException.class, () -> batchCalculator.evaluate(request));
+    }
+}
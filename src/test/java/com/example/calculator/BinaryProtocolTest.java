@@ -0,0 +1,124 @@
+package com.example.calculator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the binary protocol server and client over loopback.
+ */
+@DisplayName("Binary Protocol Tests")
+class BinaryProtocolTest {
+
+    private BinaryProtocolServer server;
+    private BinaryProtocolClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new BinaryProtocolServer(new Calculator(), "127.0.0.1", 0, 2);
+        server.start();
+        client = new BinaryProtocolClient("127.0.0.1", server.port());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("Should perform floating-point and integer operations")
+    void testOperations() throws IOException {
+        assertThat(client.add(5, 3)).isEqualTo(8.0);
+        assertThat(client.divide(10, 4)).isEqualTo(2.5);
+        assertThat(client.power(2, 10)).isEqualTo(1024.0);
+        assertThat(client.squareRoot(16)).isEqualTo(4.0);
+        assertThat(client.percentage(200, 15)).isEqualTo(30.0);
+        assertThat(client.isPrime(1_000_000_007L)).isTrue();
+        assertThat(client.factorial(20)).isEqualTo(2_432_902_008_176_640_000L);
+        assertThat(client.gcd(48, 18)).isEqualTo(6);
+        assertThat(client.lcm(4, 6)).isEqualTo(12);
+        assertThat(client.gcd(1L << 40, 3L << 38)).isEqualTo(1L << 38);
+        assertThat(client.lcm(1L << 40, 3)).isEqualTo(3L << 40);
+    }
+
+    @Test
+    @DisplayName("Should report errors and keep the connection usable")
+    void testErrors() throws IOException {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> client.divide(1, 0));
+        assertThat(exception.getMessage()).isEqualTo("Division by zero is not allowed");
+
+        assertThrows(IllegalArgumentException.class, () -> client.squareRoot(-1));
+        assertThrows(IllegalArgumentException.class, () -> client.factorial(-1));
+        assertThrows(ArithmeticException.class, () -> client.factorial(21));
+        assertThrows(ArithmeticException.class, () -> client.lcm(1L << 62, 3));
+        exception = assertThrows(IllegalArgumentException.class, () -> client.evaluate((byte) 99, 1, 2));
+        assertThat(exception.getMessage()).isEqualTo("Unknown operation");
+
+        assertThat(client.subtract(5, 3)).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should answer pipelined requests in order")
+    void testPipelining() throws IOException {
+        // Given
+        double[] a = new double[5_000];
+        double[] b = new double[a.length];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = i;
+            b[i] = i % 7 + 1;
+        }
+
+        // When
+        double[] results = client.evaluateAll(BinaryProtocol.MULTIPLY, a, b);
+
+        // Then
+        for (int i = 0; i < a.length; i++) {
+            assertThat(results[i]).isEqualTo(a[i] * b[i]);
+        }
+        b[1234] = 0;
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> client.evaluateAll(BinaryProtocol.DIVIDE, a, b));
+        assertThat(exception.getMessage()).endsWith("at index 1234");
+    }
+
+    @Test
+    @DisplayName("Should reassemble requests split across reads")
+    void testPartialFrames() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", server.port()))) {
+            // Given
+            ByteBuffer request = ByteBuffer.allocate(2 * BinaryProtocol.REQUEST_SIZE);
+            request.put(BinaryProtocol.ADD).putDouble(1).putDouble(2);
+            request.put(BinaryProtocol.SQRT).putDouble(9).putDouble(0);
+            request.flip();
+
+            // When: the frames arrive in three pieces
+            for (int end : new int[]{5, 20, request.capacity()}) {
+                request.limit(end);
+                while (request.hasRemaining()) {
+                    channel.write(request);
+                }
+            }
+            ByteBuffer response = ByteBuffer.allocate(2 * BinaryProtocol.RESPONSE_SIZE);
+            while (response.hasRemaining()) {
+                channel.read(response);
+            }
+
+            // Then
+            response.flip();
+            assertThat(response.get()).isEqualTo(BinaryProtocol.OK);
+            assertThat(response.getDouble()).isEqualTo(3.0);
+            assertThat(response.get()).isEqualTo(BinaryProtocol.OK);
+            assertThat(response.getDouble()).isEqualTo(3.0);
+        }
+    }
+}
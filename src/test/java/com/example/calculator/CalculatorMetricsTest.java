@@ -0,0 +1,116 @@
+package com.example.calculator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for latency histograms, the metrics registry and the calculator timing proxy.
+ */
+@DisplayName("Calculator Metrics Tests")
+class CalculatorMetricsTest {
+
+    @Nested
+    @DisplayName("Latency Histogram")
+    class LatencyHistogramTests {
+
+        @Test
+        @DisplayName("Should map every value into a bucket whose bounds contain it")
+        void testBuckets() {
+            long[] values = {0, 1, 31, 32, 33, 63, 64, 1_000, 123_456_789, (1L << 36) - 1};
+            for (long value : values) {
+                int index = LatencyHistogram.bucketIndex(value);
+                assertThat(index).isBetween(0, LatencyHistogram.BUCKETS - 1);
+                assertThat(LatencyHistogram.bucketUpperBound(index)).isGreaterThanOrEqualTo(value);
+                assertThat(LatencyHistogram.bucketUpperBound(index))
+                    .isLessThanOrEqualTo(value + Math.max(1, value / 32));
+            }
+        }
+
+        @Test
+        @DisplayName("Should report quantiles within the bucket resolution")
+        void testQuantiles() {
+            // Given
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (long i = 1; i <= 1_000; i++) {
+                histogram.record(i * 1_000);
+            }
+
+            // When
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+            // Then
+            assertThat(snapshot.count()).isEqualTo(1_000);
+            assertThat(snapshot.sum()).isEqualTo(500_500_000L);
+            assertThat(snapshot.valueAt(0.5)).isCloseTo(500_000L, withinPercentage(4));
+            assertThat(snapshot.valueAt(0.99)).isCloseTo(990_000L, withinPercentage(4));
+            assertThat(snapshot.valueAt(1.0)).isCloseTo(1_000_000L, withinPercentage(4));
+            assertThat(new LatencyHistogram().snapshot().valueAt(0.5)).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Calculator Proxy")
+    class CalculatorProxyTests {
+
+        private CalculatorMetrics metrics;
+        private Calculator calculator;
+
+        @BeforeEach
+        void setUp() {
+            metrics = new CalculatorMetrics();
+            ProxyFactory factory = new ProxyFactory(new Calculator());
+            factory.setProxyTargetClass(true);
+            factory.addAdvice(new MetricsConfiguration.TimingInterceptor(metrics, Calculator.class));
+            calculator = (Calculator) factory.getProxy();
+        }
+
+        @Test
+        @DisplayName("Should time calls and count errors by kind")
+        void testTimingAndErrors() {
+            // When
+            calculator.add(1, 2);
+            calculator.add(new double[]{1}, new double[]{2}, new double[1]);
+            assertThrows(IllegalArgumentException.class, () -> calculator.divide(1, 0));
+            assertThrows(IllegalArgumentException.class, () -> calculator.squareRoot(-1));
+            assertThrows(IllegalArgumentException.class, () -> calculator.factorial(-1));
+            assertThrows(ArithmeticException.class, () -> calculator.factorial(21));
+            calculator.divide(1, 0, new CalculationResult());
+
+            // Then
+            assertThat(metrics.operation("add").count()).isEqualTo(1);
+            assertThat(metrics.operation("addArray").count()).isEqualTo(1);
+            assertThat(metrics.operation("divide").errors("division_by_zero")).isEqualTo(2);
+            assertThat(metrics.operation("divide").count()).isEqualTo(2);
+            assertThat(metrics.operation("squareRoot").errors("negative_sqrt")).isEqualTo(1);
+            assertThat(metrics.operation("factorial").errors("negative_factorial")).isEqualTo(1);
+            assertThat(metrics.operation("factorial").errors("overflow")).isEqualTo(1);
+            assertThat(metrics.operation("factorial").count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should render Prometheus text")
+        void testScrape() {
+            // Given
+            calculator.multiply(2, 3);
+            assertThrows(IllegalArgumentException.class, () -> calculator.divide(1, 0));
+            metrics.endpoint("/multiply").record(1_500);
+
+            // When
+            String text = metrics.scrape();
+
+            // Then
+            assertThat(text)
+                .contains("# TYPE calculator_operation_duration_seconds summary")
+                .contains("calculator_operation_duration_seconds_count{operation=\"multiply\"} 1")
+                .contains("calculator_operation_duration_seconds{operation=\"multiply\",quantile=\"0.99\"} ")
+                .contains("calculator_http_request_duration_seconds_sum{endpoint=\"/multiply\"} 0.000001500")
+                .contains("calculator_operation_errors_total{operation=\"divide\",error=\"division_by_zero\"} 1");
+        }
+    }
+}
@@ -6,6 +6,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.assertj.core.api.Assertions.*;
 
@@ -344,6 +347,49 @@ class CalculatorTest {
             assertThat(exception.getMessage())
                 .isEqualTo("Factorial is not defined for negative numbers");
         }
+
+        @Test
+        @DisplayName("Should calculate the largest factorial that fits in a long")
+        void testFactorialLongBoundary() {
+            assertThat(calculator.factorial(20)).isEqualTo(2_432_902_008_176_640_000L);
+        }
+
+        @Test
+        @DisplayName("Should throw exception when the factorial overflows a long")
+        void testFactorialOverflow() {
+            ArithmeticException exception = assertThrows(
+                ArithmeticException.class,
+                () -> calculator.factorial(21)
+            );
+
+            assertThat(exception.getMessage()).isEqualTo("Factorial of 21 overflows long");
+        }
+
+        @Test
+        @DisplayName("Should calculate exact factorials of any size")
+        void testFactorialExact() {
+            for (int n : new int[] {0, 1, 20, 21, 100, 1_999, 2_000, 5_003}) {
+                // Given
+                BigInteger expected = BigInteger.ONE;
+                for (int i = 2; i <= n; i++) {
+                    expected = expected.multiply(BigInteger.valueOf(i));
+                }
+
+                // When
+                BigInteger result = calculator.factorialExact(n);
+
+                // Then
+                assertThat(result).as("%d!", n).isEqualTo(expected);
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject invalid exact factorial inputs")
+        void testFactorialExactInvalid() {
+            assertThrows(IllegalArgumentException.class, () -> calculator.factorialExact(-1));
+            assertThrows(IllegalArgumentException.class,
+                () -> calculator.factorialExact(Calculator.MAX_EXACT_FACTORIAL_INPUT + 1));
+        }
     }
 
     @Nested
@@ -384,6 +430,77 @@ class CalculatorTest {
         }
     }
 
+    @Nested
+    @DisplayName("Array Operations")
+    class ArrayOperationTests {
+
+        @Test
+        @DisplayName("Should compute element-wise arithmetic into the output array")
+        void testArrayArithmetic() {
+            // Given
+            double[] a = {5.0, 10.0, 200.0};
+            double[] b = {3.0, 4.0, 15.0};
+            double[] out = new double[3];
+
+            // When & Then
+            calculator.add(a, b, out);
+            assertThat(out).containsExactly(8.0, 14.0, 215.0);
+            calculator.subtract(a, b, out);
+            assertThat(out).containsExactly(2.0, 6.0, 185.0);
+            calculator.multiply(a, b, out);
+            assertThat(out).containsExactly(15.0, 40.0, 3000.0);
+            calculator.divide(a, b, out);
+            assertThat(out).containsExactly(5.0 / 3.0, 2.5, 200.0 / 15.0);
+            calculator.percentage(a, b, out);
+            assertThat(out).containsExactly(0.15, 0.4, 30.0);
+        }
+
+        @Test
+        @DisplayName("Should calculate square roots element-wise")
+        void testArraySquareRoot() {
+            double[] out = new double[3];
+
+            calculator.squareRoot(new double[] {9.0, 0.0, 2.25}, out);
+
+            assertThat(out).containsExactly(3.0, 0.0, 1.5);
+        }
+
+        @Test
+        @DisplayName("Should report the index of a zero divisor")
+        void testArrayDivideByZero() {
+            double[] out = new double[3];
+
+            IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> calculator.divide(new double[] {1, 2, 3}, new double[] {1, 0, 1}, out)
+            );
+
+            assertThat(exception.getMessage()).isEqualTo("Division by zero is not allowed at index 1");
+            assertThat(out[0]).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should report the index of a negative square root")
+        void testArrayNegativeSquareRoot() {
+            IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> calculator.squareRoot(new double[] {4, 9, -1}, new double[3])
+            );
+
+            assertThat(exception.getMessage())
+                .isEqualTo("Cannot calculate square root of negative number at index 2");
+        }
+
+        @Test
+        @DisplayName("Should reject mismatched array lengths")
+        void testArrayLengthMismatch() {
+            assertThrows(IllegalArgumentException.class,
+                () -> calculator.add(new double[2], new double[3], new double[3]));
+            assertThrows(IllegalArgumentException.class,
+                () -> calculator.add(new double[3], new double[3], new double[2]));
+        }
+    }
+
     @Nested
     @DisplayName("Edge Cases and Boundary Tests")
     class EdgeCaseTests {
@@ -420,4 +537,83 @@ class CalculatorTest {
             assertThat(result).isCloseTo(0.3, within(0.0001));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Result API")
+    class ResultApiTests {
+
+        @Test
+        @DisplayName("Should report invalid inputs through the result instead of throwing")
+        void testFailures() {
+            // Given
+            CalculationResult result = new CalculationResult();
+
+            // When & Then
+            assertThat(calculator.divide(1, 0, result)).isSameAs(result);
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(result.error()).isEqualTo(CalculationError.DIVISION_BY_ZERO);
+            assertThat(result.message()).isEqualTo("Division by zero is not allowed");
+            assertThat(result.value()).isNaN();
+
+            assertThat(calculator.squareRoot(-4, result).message())
+                .isEqualTo("Cannot calculate square root of negative number");
+            assertThat(calculator.factorial(-1, result).message())
+                .isEqualTo("Factorial is not defined for negative numbers");
+            assertThat(calculator.factorial(21, result).error()).isEqualTo(CalculationError.OVERFLOW);
+        }
+
+        @Test
+        @DisplayName("Should reuse one holder across successes and failures")
+        void testReuse() {
+            CalculationResult result = CalculationResult.get();
+
+            assertThat(calculator.divide(10, 4, result).value()).isEqualTo(2.5);
+            assertThat(calculator.divide(10, 0, result).isSuccess()).isFalse();
+            assertThat(calculator.squareRoot(16, result).value()).isEqualTo(4);
+            assertThat(result.error()).isNull();
+            assertThat(calculator.factorial(20, result).longValue()).isEqualTo(2_432_902_008_176_640_000L);
+            assertThat(CalculationResult.get()).isSameAs(result);
+        }
+
+        @Test
+        @DisplayName("Should apply operations by name with and without exceptions alike")
+        void testOperations() {
+            CalculationResult result = new CalculationResult();
+
+            assertThat(Operation.DIVIDE.apply(calculator, 9, 3, result).value()).isEqualTo(3);
+            assertThat(Operation.SQRT.apply(calculator, -1, 0, result).error()).isEqualTo(CalculationError.NEGATIVE_SQRT);
+            assertThat(Operation.find("POWER")).isEqualTo(Operation.POWER);
+            assertThat(Operation.find("modulo")).isNull();
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> Operation.DIVIDE.apply(calculator, 1, 0));
+            assertThat(exception.getMessage()).isEqualTo("Division by zero is not allowed");
+        }
+
+        @Test
+        @DisplayName("Should classify thrown errors by their type, not their message")
+        void testThrownErrors() {
+            assertThat(CalculationError.of(assertThrows(IllegalArgumentException.class, () -> calculator.divide(1, 0))))
+                .isEqualTo(CalculationError.DIVISION_BY_ZERO);
+            assertThat(CalculationError.of(assertThrows(IllegalArgumentException.class, () -> calculator.squareRoot(-1))))
+                .isEqualTo(CalculationError.NEGATIVE_SQRT);
+            assertThat(CalculationError.of(assertThrows(IllegalArgumentException.class, () -> calculator.factorial(-1))))
+                .isEqualTo(CalculationError.NEGATIVE_FACTORIAL);
+            assertThat(CalculationError.of(assertThrows(IllegalArgumentException.class, () -> calculator.factorialExact(-1))))
+                .isEqualTo(CalculationError.NEGATIVE_FACTORIAL);
+            assertThat(CalculationError.of(assertThrows(IllegalArgumentException.class,
+                () -> calculator.divide(new double[] {1, 2}, new double[] {1, 0}, new double[2]))))
+                .isEqualTo(CalculationError.DIVISION_BY_ZERO);
+            assertThat(CalculationError.of(assertThrows(IllegalArgumentException.class,
+                () -> calculator.squareRoot(new double[] {4, -4}, new double[2]))))
+                .isEqualTo(CalculationError.NEGATIVE_SQRT);
+            assertThat(CalculationError.of(assertThrows(IllegalArgumentException.class,
+                () -> Operation.SQRT.apply(calculator, -1, 0))))
+                .isEqualTo(CalculationError.NEGATIVE_SQRT);
+            assertThat(CalculationError.of(assertThrows(ArithmeticException.class, () -> calculator.factorial(21))))
+                .isEqualTo(CalculationError.OVERFLOW);
+            assertThat(CalculationError.of(new IllegalArgumentException("Division by zero is not allowed")))
+                .isEqualTo(CalculationError.INVALID_ARGUMENT);
+        }
+    }
+}
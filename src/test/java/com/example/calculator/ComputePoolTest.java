@@ -0,0 +1,53 @@
+package com.example.calculator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the bounded compute pool.
+ */
+@DisplayName("Compute Pool Tests")
+class ComputePoolTest {
+
+    private ComputePool computePool;
+
+    @BeforeEach
+    void setUp() {
+        computePool = new ComputePool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        computePool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run tasks on pool threads, including from virtual threads")
+    void testRunsOnPool() throws InterruptedException {
+        assertThat(computePool.call(() -> Thread.currentThread().getName())).startsWith("calculator-cpu-");
+        assertThat(computePool.pool().getParallelism()).isEqualTo(2);
+
+        String[] name = new String[1];
+        Thread.ofVirtual().start(() -> name[0] = computePool.call(() -> Thread.currentThread().getName())).join();
+        assertThat(name[0]).startsWith("calculator-cpu-");
+    }
+
+    @Test
+    @DisplayName("Should rethrow task exceptions unchanged")
+    void testExceptions() {
+        Calculator calculator = new Calculator(1 << 16, computePool.pool());
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> computePool.call(() -> calculator.factorialExact(-1)));
+        assertThat(exception.getMessage()).isEqualTo("Factorial is not defined for negative numbers");
+        assertThat(computePool.call(() -> calculator.factorialExact(25)))
+            .isEqualTo(new BigInteger("15511210043330985984000000"));
+    }
+}
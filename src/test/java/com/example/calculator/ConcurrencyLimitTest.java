@@ -0,0 +1,138 @@
+package com.example.calculator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the gradient concurrency limiter and the admission filter.
+ */
+@DisplayName("Concurrency Limit Tests")
+class ConcurrencyLimitTest {
+
+    @Nested
+    @DisplayName("Gradient Limiter")
+    class GradientLimiterTests {
+
+        @Test
+        @DisplayName("Should reject requests beyond the limit")
+        void testRejectsAtLimit() {
+            GradientLimiter limiter = new GradientLimiter("test", 2, 1, 10);
+
+            assertThat(limiter.tryAcquire()).isTrue();
+            assertThat(limiter.tryAcquire()).isTrue();
+            assertThat(limiter.tryAcquire()).isFalse();
+            assertThat(limiter.rejected()).isEqualTo(1);
+
+            limiter.release(0);
+            assertThat(limiter.inFlight()).isEqualTo(1);
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should grow while latency is stable and shrink when it rises")
+        void testAdaptsToLatency() {
+            // Given
+            GradientLimiter limiter = new GradientLimiter("test", 10, 2, 100);
+
+            // When: fully used at steady latency
+            saturate(limiter, 200, 1_000_000);
+            int grown = limiter.limit();
+
+            // Then
+            assertThat(grown).isGreaterThan(10);
+
+            // When: latency rises far above the baseline
+            saturate(limiter, 50, 20_000_000);
+
+            // Then
+            assertThat(limiter.limit()).isLessThan(grown);
+            assertThat(limiter.limit()).isGreaterThanOrEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should reject inconsistent bounds")
+        void testInvalidBounds() {
+            assertThrows(IllegalArgumentException.class, () -> new GradientLimiter("test", 1, 2, 10));
+            assertThrows(IllegalArgumentException.class, () -> new GradientLimiter("test", 5, 0, 10));
+        }
+
+        private void saturate(GradientLimiter limiter, int rounds, long rttNanos) {
+            for (int round = 0; round < rounds; round++) {
+                int admitted = 0;
+                while (limiter.tryAcquire()) {
+                    admitted++;
+                }
+                for (int i = 0; i < admitted; i++) {
+                    limiter.release(rttNanos);
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Admission Filter")
+    class FilterTests {
+
+        private ConcurrencyLimitFilter filter;
+
+        @BeforeEach
+        void setUp() {
+            filter = new ConcurrencyLimitFilter(10, 1, 10, 1, 1, 1, new CalculatorMetrics());
+        }
+
+        @Test
+        @DisplayName("Should classify endpoints by cost")
+        void testClassification() {
+            assertThat(filter.limiterFor(get("/add", null, null)).name()).isEqualTo("cheap");
+            assertThat(filter.limiterFor(get("/factorial", "number", "20")).name()).isEqualTo("cheap");
+            assertThat(filter.limiterFor(get("/factorial", "number", "5000")).name()).isEqualTo("expensive");
+            assertThat(filter.limiterFor(get("/isPrime", "number", "97")).name()).isEqualTo("cheap");
+            assertThat(filter.limiterFor(get("/isPrime", "number", "9223372036854775783")).name()).isEqualTo("expensive");
+            assertThat(filter.limiterFor(get("/isPrime", "number", "abc")).name()).isEqualTo("cheap");
+            assertThat(filter.limiterFor(get("/primes", null, null)).name()).isEqualTo("expensive");
+            assertThat(filter.limiterFor(get("/matrix/transpose", null, null)).name()).isEqualTo("expensive");
+            assertThat(filter.limiterFor(get("/stats/series/latency", null, null))).isNull();
+            assertThat(filter.limiterFor(get("/metrics", null, null))).isNull();
+            assertThat(filter.limiterFor(get("/stream", null, null))).isNull();
+            assertThat(filter.limiterFor(get("/actuator/health", null, null))).isNull();
+        }
+
+        @Test
+        @DisplayName("Should answer 503 when a class is full without affecting the other")
+        void testShedsLoad() throws Exception {
+            // Given: the only expensive permit is held by a request in progress
+            GradientLimiter expensive = filter.limiterFor(get("/primes", null, null));
+            assertThat(expensive.tryAcquire()).isTrue();
+
+            // When
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            filter.doFilter(get("/factorial", "number", "5000"), rejected, new MockFilterChain());
+            MockHttpServletResponse admitted = new MockHttpServletResponse();
+            filter.doFilter(get("/add", "a", "1"), admitted, new MockFilterChain());
+
+            // Then
+            assertThat(rejected.getStatus()).isEqualTo(503);
+            assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+            assertThat(rejected.getContentAsString()).isEqualTo("Error: Too many concurrent expensive requests, retry later");
+            assertThat(admitted.getStatus()).isEqualTo(200);
+            assertThat(filter.limiterFor(get("/add", null, null)).inFlight()).isZero();
+        }
+
+        private MockHttpServletRequest get(String path, String name, String value) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+            request.setServletPath(path);
+            if (name != null) {
+                request.setParameter(name, value);
+            }
+            return request;
+        }
+    }
+}
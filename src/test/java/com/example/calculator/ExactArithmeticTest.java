@@ -0,0 +1,138 @@
+package com.example.calculator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the exact gcd and lcm tier: binary gcd, overflow detection in place of wrapping, and
+ * the parallel array reductions, checked against {@link BigInteger}.
+ */
+@DisplayName("Exact Arithmetic Tests")
+class ExactArithmeticTest {
+
+    private final Calculator calculator = new Calculator(1_000);
+
+    private static BigInteger big(long value) {
+        return BigInteger.valueOf(value);
+    }
+
+    private static BigInteger lcm(BigInteger a, BigInteger b) {
+        return a.signum() == 0 || b.signum() == 0 ? BigInteger.ZERO : a.divide(a.gcd(b)).multiply(b).abs();
+    }
+
+    @Nested
+    @DisplayName("Scalar GCD and LCM")
+    class ScalarTests {
+
+        @Test
+        @DisplayName("Should agree with BigInteger for random longs with shared factors")
+        void testAgainstBigInteger() {
+            Random random = new Random(47);
+            for (int i = 0; i < 10_000; i++) {
+                long common = random.nextInt(1 << random.nextInt(31)) + 1L;
+                long a = (random.nextLong() >> random.nextInt(64)) / common * common;
+                long b = (random.nextLong() >> random.nextInt(64)) / common * common;
+
+                assertThat(calculator.gcd(a, b)).as("gcd(%d, %d)", a, b).isEqualTo(big(a).gcd(big(b)).longValue());
+                BigInteger expected = lcm(big(a), big(b));
+                if (expected.bitLength() < Long.SIZE) {
+                    assertThat(calculator.lcm(a, b)).as("lcm(%d, %d)", a, b).isEqualTo(expected.longValue());
+                } else {
+                    assertThrows(ArithmeticException.class, () -> calculator.lcm(a, b));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should report int and long overflow instead of wrapping")
+        void testOverflow() {
+            ArithmeticException exception = assertThrows(ArithmeticException.class,
+                    () -> calculator.lcm(65_536, 65_537));
+            assertThat(exception.getMessage()).isEqualTo("lcm(65536, 65537) overflows int");
+            assertThat(CalculationError.of(exception)).isEqualTo(CalculationError.OVERFLOW);
+            assertThat(calculator.lcm(65_536L, 65_537L)).isEqualTo(65_536L * 65_537L);
+            assertThat(calculator.lcm(46_340, 46_341)).isEqualTo(46_340 * 46_341);
+
+            assertThrows(ArithmeticException.class, () -> calculator.gcd(Integer.MIN_VALUE, 0));
+            assertThrows(ArithmeticException.class, () -> calculator.gcd(Long.MIN_VALUE, Long.MIN_VALUE));
+            assertThrows(ArithmeticException.class, () -> calculator.lcm(Long.MIN_VALUE, 3));
+            assertThat(calculator.gcd(Integer.MIN_VALUE, 6)).isEqualTo(2);
+            assertThat(calculator.gcd(Long.MIN_VALUE, 3L << 40)).isEqualTo(1L << 40);
+            assertThat(calculator.lcm(Long.MIN_VALUE / 2, 2)).isEqualTo(1L << 62);
+            assertThat(calculator.lcm(Integer.MIN_VALUE, 1L)).isEqualTo(1L << 31);
+        }
+    }
+
+    @Nested
+    @DisplayName("Array Reductions")
+    class ArrayTests {
+
+        @Test
+        @DisplayName("Should reduce gcd sequentially and in parallel like BigInteger")
+        void testGcdArray() {
+            // Given
+            Random random = new Random(53);
+            for (int length : new int[] {0, 1, 7, ExactArithmetic.PARALLEL_THRESHOLD * 3 + 5}) {
+                int common = 1 + random.nextInt(1_000);
+                int[] numbers = new int[length];
+                BigInteger expected = BigInteger.ZERO;
+                for (int i = 0; i < length; i++) {
+                    numbers[i] = random.nextInt(Integer.MAX_VALUE / common) * common * (random.nextBoolean() ? 1 : -1);
+                    expected = expected.gcd(BigInteger.valueOf(numbers[i]));
+                }
+
+                // When / Then
+                assertThat(calculator.gcd(numbers)).as("length %d", length).isEqualTo(expected.intValue());
+            }
+            assertThat(calculator.gcd(new int[] {0, 0, 12, -18})).isEqualTo(6);
+            assertThrows(ArithmeticException.class, () -> calculator.gcd(new int[] {0, Integer.MIN_VALUE}));
+        }
+
+        @Test
+        @DisplayName("Should switch from long to BigInteger only when the lcm overflows")
+        void testLcmArray() {
+            // Given
+            long[] small = {4, 6, -10, 15};
+            long[] primes = new long[40];
+            BigInteger primorial = BigInteger.ONE;
+            for (int i = 0, p = 2; i < primes.length; p++) {
+                if (calculator.isPrime(p)) {
+                    primes[i++] = p;
+                    primorial = primorial.multiply(big(p));
+                }
+            }
+
+            // When / Then
+            assertThat(calculator.lcm(small)).isEqualTo(big(60));
+            assertThat(calculator.lcm(primes)).isEqualTo(primorial);
+            assertThat(calculator.lcm(new long[0])).isEqualTo(BigInteger.ONE);
+            assertThat(calculator.lcm(new long[] {Long.MIN_VALUE, 3})).isEqualTo(big(3).shiftLeft(63));
+            assertThat(calculator.lcm(new long[] {3, 5, 0, 7})).isEqualTo(BigInteger.ZERO);
+        }
+
+        @Test
+        @DisplayName("Should combine parallel lcm halves like a sequential reduction")
+        void testParallelLcm() {
+            // Given
+            Random random = new Random(59);
+            long[] numbers = new long[ExactArithmetic.PARALLEL_THRESHOLD * 2 + 3];
+            BigInteger expected = BigInteger.ONE;
+            for (int i = 0; i < numbers.length; i++) {
+                numbers[i] = 1 + random.nextInt(64);
+                expected = lcm(expected, big(numbers[i]));
+            }
+            numbers[numbers.length - 1] = 1_000_000_007L;
+            expected = lcm(expected, big(1_000_000_007L));
+
+            // When / Then
+            assertThat(calculator.lcm(numbers)).isEqualTo(expected);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.calculator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for parsing, compiling and caching infix expressions.
+ */
+@DisplayName("Expression Compiler Tests")
+class ExpressionCompilerTest {
+
+    private ExpressionCompiler compiler;
+
+    @BeforeEach
+    void setUp() {
+        compiler = new ExpressionCompiler(new Calculator(), 2);
+    }
+
+    @Nested
+    @DisplayName("Evaluation")
+    class EvaluationTests {
+
+        @Test
+        @DisplayName("Should respect operator precedence and associativity")
+        void testPrecedence() {
+            assertThat(compiler.evaluate("1 + 2 * 3", null)).isEqualTo(7.0);
+            assertThat(compiler.evaluate("(1 + 2) * 3", null)).isEqualTo(9.0);
+            assertThat(compiler.evaluate("10 - 4 - 3", null)).isEqualTo(3.0);
+            assertThat(compiler.evaluate("2 ^ 3 ^ 2", null)).isEqualTo(512.0);
+            assertThat(compiler.evaluate("-2 ^ 2", null)).isEqualTo(-4.0);
+            assertThat(compiler.evaluate("2 ^ -1", null)).isEqualTo(0.5);
+            assertThat(compiler.evaluate("1.5e2 / 3", null)).isEqualTo(50.0);
+        }
+
+        @Test
+        @DisplayName("Should call calculator operations as functions")
+        void testFunctions() {
+            assertThat(compiler.evaluate("sqrt(3^2 + 4^2)", null)).isEqualTo(5.0);
+            assertThat(compiler.evaluate("percentage(200, 15)", null)).isEqualTo(30.0);
+            assertThat(compiler.evaluate("power(2, 10) + add(1, 2)", null)).isEqualTo(1027.0);
+        }
+
+        @Test
+        @DisplayName("Should bind variables by name")
+        void testVariables() {
+            // Given
+            CompiledExpression expression = compiler.compile("sqrt(x * x + y * y) + x");
+
+            // When & Then
+            assertThat(expression.variables()).containsExactly("x", "y");
+            assertThat(expression.evaluate(Map.of("x", 3.0, "y", 4.0))).isEqualTo(8.0);
+            assertThat(expression.evaluate(6.0, 8.0)).isEqualTo(16.0);
+        }
+
+        @Test
+        @DisplayName("Should report calculator errors on evaluation")
+        void testEvaluationErrors() {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> compiler.evaluate("1 / (x - 2)", Map.of("x", 2.0)));
+            assertThat(exception.getMessage()).isEqualTo("Division by zero is not allowed");
+
+            // Constant subtrees that fail are not folded, so compilation still succeeds
+            CompiledExpression expression = compiler.compile("sqrt(-4)");
+            exception = assertThrows(IllegalArgumentException.class, () -> expression.evaluate());
+            assertThat(exception.getMessage()).isEqualTo("Cannot calculate square root of negative number");
+
+            exception = assertThrows(IllegalArgumentException.class, () -> compiler.evaluate("x + 1", Map.of()));
+            assertThat(exception.getMessage()).isEqualTo("Unbound variable: x");
+        }
+    }
+
+    @Nested
+    @DisplayName("Syntax Errors")
+    class SyntaxErrorTests {
+
+        @Test
+        @DisplayName("Should reject malformed expressions with a position")
+        void testMalformed() {
+            assertThat(assertThrows(IllegalArgumentException.class, () -> compiler.compile("1 +")).getMessage())
+                .isEqualTo("Unexpected end of expression at position 3");
+            assertThat(assertThrows(IllegalArgumentException.class, () -> compiler.compile("(1 + 2")).getMessage())
+                .isEqualTo("Expected ')' at position 6");
+            assertThat(assertThrows(IllegalArgumentException.class, () -> compiler.compile("modulo(1, 2)")).getMessage())
+                .startsWith("Unknown function: modulo");
+            assertThat(assertThrows(IllegalArgumentException.class, () -> compiler.compile("sqrt(1, 2)")).getMessage())
+                .startsWith("sqrt takes 1 argument");
+            assertThrows(IllegalArgumentException.class, () -> compiler.compile("1 2"));
+            assertThrows(IllegalArgumentException.class, () -> compiler.compile(" "));
+        }
+
+        @Test
+        @DisplayName("Should reject missing and over-long expressions before caching them")
+        void testMissingAndTooLong() {
+            assertThat(assertThrows(IllegalArgumentException.class, () -> compiler.compile(null)).getMessage())
+                .isEqualTo("Expression must not be empty");
+            assertThat(assertThrows(IllegalArgumentException.class, () -> compiler.evaluate(null, null)).getMessage())
+                .isEqualTo("Expression must not be empty");
+            String tooLong = "1+".repeat(ExpressionCompiler.MAX_LENGTH / 2) + "1";
+            assertThat(assertThrows(IllegalArgumentException.class, () -> compiler.compile(tooLong)).getMessage())
+                .isEqualTo("Expression must not exceed " + ExpressionCompiler.MAX_LENGTH + " characters");
+            assertThat(compiler.cacheSize()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should reject expressions nested too deeply")
+        void testTooDeep() {
+            String nested = "(".repeat(ExpressionCompiler.MAX_DEPTH + 1) + "1" + ")".repeat(ExpressionCompiler.MAX_DEPTH + 1);
+
+            assertThrows(IllegalArgumentException.class, () -> compiler.compile(nested));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse compiled expressions within a bounded cache")
+    void testCache() {
+        CompiledExpression first = compiler.compile("x + 1");
+
+        assertThat(compiler.compile("x + 1")).isSameAs(first);
+
+        for (int i = 2; i < 100; i++) {
+            assertThat(compiler.compile("x + " + i).text()).isEqualTo("x + " + i);
+        }
+        assertThat(compiler.cacheSize()).isLessThanOrEqualTo(compiler.cacheCapacity());
+        assertThat(compiler.compile("x + 1").evaluate(1)).isEqualTo(2);
+    }
+}
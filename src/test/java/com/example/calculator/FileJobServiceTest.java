@@ -0,0 +1,214 @@
+package com.example.calculator;
+
+import com.example.calculator.dto.FileJobRequest;
+import com.example.calculator.dto.FileJobStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToDoubleFunction;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the memory-mapped bulk file jobs.
+ */
+@DisplayName("File Job Tests")
+class FileJobServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private ComputePool computePool;
+    private FileJobService fileJobs;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        computePool = new ComputePool(4);
+        Calculator calculator = new Calculator(1 << 16, computePool.pool());
+        // Small chunks so that every job below spans several chunks and blocks
+        fileJobs = new FileJobService(calculator, new BatchCalculator(calculator, 10), computePool,
+                directory.toString(), 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        computePool.shutdown();
+    }
+
+    private void writeDoubles(String name, int count, IntToDoubleFunction value) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(count * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < count; i++) {
+            buffer.putDouble(value.applyAsDouble(i));
+        }
+        Files.write(directory.resolve(name), buffer.array());
+    }
+
+    private ByteBuffer read(String name) throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(directory.resolve(name))).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private FileJobStatus run(FileJobRequest request) throws Exception {
+        return fileJobs.submit(request).completion().get(30, TimeUnit.SECONDS).status();
+    }
+
+    @Nested
+    @DisplayName("Jobs")
+    class JobTests {
+
+        @Test
+        @DisplayName("Should apply a binary operation across two double columns")
+        void testMultiply() throws Exception {
+            // Given
+            writeDoubles("a.bin", 20_000, i -> i);
+            writeDoubles("b.bin", 20_000, i -> 0.5);
+
+            // When
+            FileJobStatus status = run(new FileJobRequest("multiply", null, "a.bin", "b.bin", "out.bin"));
+
+            // Then
+            assertThat(status.state()).isEqualTo("COMPLETED");
+            assertThat(status.processed()).isEqualTo(20_000);
+            assertThat(status.total()).isEqualTo(20_000);
+            assertThat(status.errors()).isZero();
+            ByteBuffer out = read("out.bin");
+            assertThat(out.capacity()).isEqualTo(20_000 * Double.BYTES);
+            for (int i = 0; i < 20_000; i++) {
+                assertThat(out.getDouble(i * Double.BYTES)).isEqualTo(i * 0.5);
+            }
+        }
+
+        @Test
+        @DisplayName("Should write NaN for failing elements and report the first one")
+        void testErrors() throws Exception {
+            // Given
+            writeDoubles("a.bin", 12_000, i -> i % 4000 == 3999 ? -1 : i);
+
+            // When
+            FileJobStatus status = run(new FileJobRequest("sqrt", "double", "a.bin", null, "out.bin"));
+
+            // Then
+            assertThat(status.state()).isEqualTo("COMPLETED");
+            assertThat(status.errors()).isEqualTo(3);
+            assertThat(status.firstErrorIndex()).isEqualTo(3999);
+            assertThat(status.firstError()).isEqualTo("Cannot calculate square root of negative number");
+            ByteBuffer out = read("out.bin");
+            assertThat(out.getDouble(3999 * Double.BYTES)).isNaN();
+            assertThat(out.getDouble(4 * Double.BYTES)).isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("Should check primality of an int column into one byte per element")
+        void testIsPrime() throws Exception {
+            // Given
+            int count = 11_000;
+            ByteBuffer buffer = ByteBuffer.allocate(count * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < count; i++) {
+                buffer.putInt(i);
+            }
+            Files.write(directory.resolve("n.bin"), buffer.array());
+            Calculator calculator = new Calculator();
+
+            // When
+            FileJobStatus status = run(new FileJobRequest("isPrime", "int", "n.bin", null, "primes.bin"));
+
+            // Then
+            assertThat(status.state()).isEqualTo("COMPLETED");
+            byte[] flags = Files.readAllBytes(directory.resolve("primes.bin"));
+            assertThat(flags).hasSize(count);
+            for (int i = 0; i < count; i++) {
+                assertThat(flags[i] == 1).as("isPrime(%d)", i).isEqualTo(calculator.isPrime(i));
+            }
+        }
+
+        @Test
+        @DisplayName("Should complete an empty job")
+        void testEmpty() throws Exception {
+            // Given
+            Files.write(directory.resolve("empty.bin"), new byte[0]);
+
+            // When
+            FileJobStatus status = run(new FileJobRequest("sqrt", null, "empty.bin", null, "out.bin"));
+
+            // Then
+            assertThat(status.state()).isEqualTo("COMPLETED");
+            assertThat(status.total()).isZero();
+            assertThat(fileJobs.job(status.id())).isNotNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Should confine files to the job directory")
+        void testOutsideDirectory() throws IOException {
+            writeDoubles("a.bin", 10, i -> i);
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> fileJobs.submit(new FileJobRequest("sqrt", null, "../a.bin", null, "out.bin")));
+            assertThrows(IllegalArgumentException.class,
+                    () -> fileJobs.submit(new FileJobRequest("sqrt", null, "a.bin", null, "../out.bin")));
+            assertThat(directory.resolveSibling("out.bin")).doesNotExist();
+        }
+
+        @Test
+        @DisplayName("Should not write through an output that links to another file")
+        void testLinkedOutput() throws IOException {
+            // Given: outputs linking to an input and to a file outside the directory
+            writeDoubles("a.bin", 10, i -> i);
+            Path outside = Files.write(directory.resolveSibling(directory.getFileName() + "-outside.bin"), new byte[] {1});
+            try {
+                Files.createSymbolicLink(directory.resolve("input-link.bin"), directory.resolve("a.bin"));
+                Files.createSymbolicLink(directory.resolve("outside-link.bin"), outside);
+                Files.createLink(directory.resolve("hard-link.bin"), directory.resolve("a.bin"));
+
+                // Then
+                assertThrows(IllegalArgumentException.class,
+                        () -> fileJobs.submit(new FileJobRequest("sqrt", null, "a.bin", null, "input-link.bin")));
+                assertThrows(IllegalArgumentException.class,
+                        () -> fileJobs.submit(new FileJobRequest("sqrt", null, "a.bin", null, "outside-link.bin")));
+                assertThrows(IllegalArgumentException.class,
+                        () -> fileJobs.submit(new FileJobRequest("sqrt", null, "a.bin", null, "hard-link.bin")));
+                assertThat(Files.size(directory.resolve("a.bin"))).isEqualTo(10 * Double.BYTES);
+                assertThat(Files.readAllBytes(outside)).containsExactly(1);
+            } finally {
+                Files.delete(outside);
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject invalid operations, types and sizes")
+        void testInvalidRequests() throws IOException {
+            writeDoubles("a.bin", 10, i -> i);
+            writeDoubles("b.bin", 11, i -> i);
+            Files.write(directory.resolve("odd.bin"), new byte[7]);
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> fileJobs.submit(new FileJobRequest("modulo", null, "a.bin", "a.bin", "out.bin")));
+            assertThrows(IllegalArgumentException.class,
+                    () -> fileJobs.submit(new FileJobRequest("add", "float", "a.bin", "a.bin", "out.bin")));
+            assertThrows(IllegalArgumentException.class,
+                    () -> fileJobs.submit(new FileJobRequest("isPrime", "double", "a.bin", null, "out.bin")));
+            assertThrows(IllegalArgumentException.class,
+                    () -> fileJobs.submit(new FileJobRequest("add", null, "a.bin", "b.bin", "out.bin")));
+            assertThrows(IllegalArgumentException.class,
+                    () -> fileJobs.submit(new FileJobRequest("add", null, "a.bin", null, "out.bin")));
+            assertThrows(IllegalArgumentException.class,
+                    () -> fileJobs.submit(new FileJobRequest("sqrt", null, "odd.bin", null, "out.bin")));
+            assertThrows(IllegalArgumentException.class,
+                    () -> fileJobs.submit(new FileJobRequest("sqrt", null, "a.bin", null, "a.bin")));
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.calculator;
+
+import com.example.calculator.dto.BatchItem;
+import com.example.calculator.dto.BatchRequest;
+import com.example.calculator.dto.BatchResponse;
+import com.example.calculator.dto.BatchResult;
+import com.example.calculator.dto.JobRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the asynchronous job service.
+ */
+@DisplayName("Job Service Tests")
+class JobServiceTest {
+
+    /** Takes minutes to count, so it stays running until cancelled. */
+    private static final JobRequest ENDLESS = new JobRequest("primes", 0, null, 0L, 1L << 44, null);
+
+    private ComputePool computePool;
+    private Calculator calculator;
+
+    @BeforeEach
+    void setUp() {
+        computePool = new ComputePool(2);
+        calculator = new Calculator(1 << 16, computePool.pool());
+    }
+
+    @AfterEach
+    void tearDown() {
+        computePool.shutdown();
+    }
+
+    private JobService service(int threads, int maxQueued, int maxRetained, long maxResultBytes) {
+        return new JobService(calculator, new BatchCalculator(calculator, 1000), threads, maxQueued,
+                maxRetained, maxResultBytes);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static Job awaitFinished(Job job) throws InterruptedException {
+        await(() -> job.state() != Job.State.QUEUED && job.state() != Job.State.RUNNING);
+        return job;
+    }
+
+    @Nested
+    @DisplayName("Execution")
+    class ExecutionTests {
+
+        @Test
+        @DisplayName("Should compute a factorial and report its progress")
+        void testFactorial() throws InterruptedException {
+            // Given
+            JobService jobs = service(2, 10, 10, 1 << 20);
+
+            // When
+            Job job = awaitFinished(jobs.submit(new JobRequest("factorial", 0, 5000, null, null, null)));
+
+            // Then
+            assertThat(job.state()).isEqualTo(Job.State.COMPLETED);
+            assertThat(job.result()).isEqualTo(calculator.factorialExact(5000).toString());
+            assertThat(job.status().total()).isPositive();
+            assertThat(job.status().done()).isEqualTo(job.status().total());
+            jobs.shutdown();
+        }
+
+        @Test
+        @DisplayName("Should count primes and evaluate batches")
+        void testPrimesAndBatch() throws InterruptedException {
+            // Given
+            JobService jobs = service(2, 10, 10, 1 << 20);
+            BatchRequest batch = new BatchRequest(List.of(new BatchItem("add", 5, 3), new BatchItem("divide", 1, 0)), null);
+
+            // When
+            Job primes = awaitFinished(jobs.submit(new JobRequest("primes", 0, null, 0L, 10_000_000L, null)));
+            Job batchJob = awaitFinished(jobs.submit(new JobRequest("batch", 0, null, null, null, batch)));
+
+            // Then
+            assertThat(primes.result()).isEqualTo(664_579L);
+            assertThat(((BatchResponse) batchJob.result()).items())
+                    .containsExactly(BatchResult.success(8), BatchResult.failure("Division by zero is not allowed"));
+            assertThat(batchJob.status().done()).isEqualTo(2);
+            jobs.shutdown();
+        }
+
+        @Test
+        @DisplayName("Should fail jobs whose computation fails")
+        void testFailure() throws InterruptedException {
+            // Given
+            JobService jobs = service(1, 10, 10, 1 << 20);
+
+            // When
+            Job job = awaitFinished(jobs.submit(new JobRequest("factorial", 0, -1, null, null, null)));
+
+            // Then
+            assertThat(job.state()).isEqualTo(Job.State.FAILED);
+            assertThat(job.status().error()).isEqualTo("Factorial is not defined for negative numbers");
+            assertThat(job.result()).isNull();
+            jobs.shutdown();
+        }
+
+        @Test
+        @DisplayName("Should reject unknown operations and missing parameters")
+        void testInvalidRequests() {
+            JobService jobs = service(1, 10, 10, 1 << 20);
+
+            assertThrows(IllegalArgumentException.class, () -> jobs.submit(new JobRequest("modulo", 0, 1, null, null, null)));
+            assertThrows(IllegalArgumentException.class, () -> jobs.submit(new JobRequest("factorial", 0, null, null, null, null)));
+            assertThrows(IllegalArgumentException.class, () -> jobs.submit(new JobRequest("primes", 0, null, 0L, null, null)));
+            jobs.shutdown();
+        }
+
+        @Test
+        @DisplayName("Should order jobs by priority, then by submission")
+        void testPriorityOrder() {
+            // Given
+            PriorityBlockingQueue<Job> queue = new PriorityBlockingQueue<>();
+            Job low = new Job("low", "batch", -1, 0, () -> null, job -> { });
+            Job first = new Job("first", "batch", 5, 1, () -> null, job -> { });
+            Job second = new Job("second", "batch", 5, 2, () -> null, job -> { });
+            Job normal = new Job("normal", "batch", 0, 3, () -> null, job -> { });
+
+            // When
+            queue.addAll(List.of(low, second, normal, first));
+
+            // Then
+            assertThat(List.of(queue.poll(), queue.poll(), queue.poll(), queue.poll()))
+                    .containsExactly(first, second, normal, low);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cancellation and Limits")
+    class CancellationTests {
+
+        @Test
+        @DisplayName("Should stop a running computation cooperatively")
+        void testCancelRunning() throws InterruptedException {
+            // Given
+            JobService jobs = service(1, 10, 10, 1 << 20);
+            Job job = jobs.submit(ENDLESS);
+            await(() -> job.status().done() > 0);
+
+            // When
+            jobs.cancel(job.id());
+
+            // Then
+            awaitFinished(job);
+            assertThat(job.state()).isEqualTo(Job.State.CANCELLED);
+            assertThat(job.status().done()).isLessThan(job.status().total());
+            jobs.shutdown();
+        }
+
+        @Test
+        @DisplayName("Should cancel queued jobs and bound the queue")
+        void testCancelQueuedAndQueueLimit() throws InterruptedException {
+            // Given
+            JobService jobs = service(1, 1, 10, 1 << 20);
+            Job running = jobs.submit(ENDLESS);
+            await(() -> running.state() == Job.State.RUNNING);
+            Job queued = jobs.submit(new JobRequest("factorial", 0, 100, null, null, null));
+
+            // When & Then
+            assertThrows(RejectedExecutionException.class,
+                    () -> jobs.submit(new JobRequest("factorial", 0, 100, null, null, null)));
+            assertThat(jobs.cancel(queued.id()).state()).isEqualTo(Job.State.CANCELLED);
+            Job next = jobs.submit(new JobRequest("factorial", 0, 100, null, null, null));
+            jobs.cancel(running.id());
+            assertThat(awaitFinished(next).state()).isEqualTo(Job.State.COMPLETED);
+            jobs.shutdown();
+        }
+
+        @Test
+        @DisplayName("Should forget the oldest finished jobs beyond the retention bounds")
+        void testRetention() throws InterruptedException {
+            // Given
+            JobService jobs = service(1, 10, 2, 1000);
+
+            // When
+            Job first = awaitFinished(jobs.submit(new JobRequest("factorial", 0, 30, null, null, null)));
+            Job second = awaitFinished(jobs.submit(new JobRequest("factorial", 0, 30, null, null, null)));
+            Job third = awaitFinished(jobs.submit(new JobRequest("factorial", 0, 30, null, null, null)));
+            Job tooLarge = awaitFinished(jobs.submit(new JobRequest("factorial", 0, 1000, null, null, null)));
+
+            // Then
+            assertThat(jobs.job(first.id())).isNull();
+            assertThat(jobs.job(second.id())).isNull();
+            assertThat(jobs.job(third.id())).isSameAs(third);
+            assertThat(tooLarge.state()).isEqualTo(Job.State.FAILED);
+            assertThat(tooLarge.status().error()).contains("exceeds the retention limit");
+            jobs.shutdown();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.calculator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the matrix operations, the blocked product kernels and the binary matrix format.
+ */
+@DisplayName("Matrix Calculator Tests")
+class MatrixCalculatorTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final MatrixCalculator matrices = new MatrixCalculator(pool);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private static Matrix random(Random random, int rows, int cols) {
+        double[] values = new double[rows * cols];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 2 - 1;
+        }
+        return new Matrix(rows, cols, values);
+    }
+
+    /** Textbook triple loop adding products in ascending k, the order the kernels promise. */
+    private static Matrix naiveProduct(Matrix a, Matrix b) {
+        Matrix c = new Matrix(a.rows(), b.cols());
+        for (int i = 0; i < a.rows(); i++) {
+            for (int j = 0; j < b.cols(); j++) {
+                double sum = 0;
+                for (int k = 0; k < a.cols(); k++) {
+                    sum += a.get(i, k) * b.get(k, j);
+                }
+                c.values()[i * b.cols() + j] = sum;
+            }
+        }
+        return c;
+    }
+
+    @Nested
+    @DisplayName("Products")
+    class ProductTests {
+
+        @Test
+        @DisplayName("Should match the naive product exactly across tile boundaries and in parallel")
+        void testAgainstNaiveProduct() {
+            // Given: odd sizes that leave partial row, inner and column tiles
+            Random random = new Random(61);
+            int rows = MatrixCalculator.ROW_TILE * 3 + 5;
+            int inner = MatrixCalculator.K_TILE * 2 + 3;
+            int cols = MatrixCalculator.COL_TILE + 7;
+            Matrix a = random(random, rows, inner);
+            Matrix b = random(random, inner, cols);
+            assertThat((long) rows * inner * cols).isGreaterThan(MatrixCalculator.PARALLEL_THRESHOLD);
+
+            // When
+            Matrix product = matrices.multiply(a, b);
+
+            // Then
+            assertThat(product.rows()).isEqualTo(rows);
+            assertThat(product.cols()).isEqualTo(cols);
+            assertThat(product.values()).containsExactly(naiveProduct(a, b).values());
+        }
+
+        @Test
+        @DisplayName("Should give identical tiles with the scalar and SIMD kernels")
+        void testKernelsAgree() {
+            Random random = new Random(67);
+            Matrix a = random(random, 37, 53);
+            Matrix b = random(random, 53, 29);
+            double[] scalar = new double[37 * 29];
+            double[] simd = new double[37 * 29];
+
+            new ScalarKernels().multiplyTile(a.values(), b.values(), scalar, 53, 29, 0, 37, 0, 53, 0, 29);
+            ArrayKernels.get().multiplyTile(a.values(), b.values(), simd, 53, 29, 0, 37, 0, 53, 0, 29);
+
+            assertThat(simd).containsExactly(scalar);
+        }
+
+        @Test
+        @DisplayName("Should reject mismatched dimensions")
+        void testDimensionMismatch() {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> matrices.multiply(new Matrix(2, 3), new Matrix(2, 3)));
+            assertThat(exception.getMessage()).isEqualTo("Cannot multiply 2 x 3 by 2 x 3");
+        }
+    }
+
+    @Nested
+    @DisplayName("Element-wise Operations and Transpose")
+    class ElementwiseTests {
+
+        private final Matrix a = new Matrix(2, 3, new double[] {1, 2, 3, 4, 5, 6});
+        private final Matrix b = new Matrix(2, 3, new double[] {6, 5, 4, 3, 2, 1});
+
+        @Test
+        @DisplayName("Should add, subtract and scale element-wise")
+        void testElementwise() {
+            assertThat(matrices.add(a, b).values()).containsExactly(7, 7, 7, 7, 7, 7);
+            assertThat(matrices.subtract(a, b).values()).containsExactly(-5, -3, -1, 1, 3, 5);
+            assertThat(matrices.scale(a, 0.5).values()).containsExactly(0.5, 1, 1.5, 2, 2.5, 3);
+            assertThrows(IllegalArgumentException.class, () -> matrices.add(a, new Matrix(3, 2)));
+        }
+
+        @Test
+        @DisplayName("Should transpose across block boundaries")
+        void testTranspose() {
+            assertThat(matrices.transpose(a).values()).containsExactly(1, 4, 2, 5, 3, 6);
+
+            Matrix large = random(new Random(71), 70, 45);
+            Matrix transposed = matrices.transpose(large);
+            assertThat(transposed.rows()).isEqualTo(45);
+            for (int i = 0; i < 70; i++) {
+                for (int j = 0; j < 45; j++) {
+                    assertThat(transposed.get(j, i)).isEqualTo(large.get(i, j));
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Linear Systems")
+    class SolveTests {
+
+        @Test
+        @DisplayName("Should solve a small system that needs pivoting")
+        void testSmallSystem() {
+            // Given: the first pivot is zero
+            Matrix a = new Matrix(3, 3, new double[] {0, 2, 1, 1, 1, 1, 2, 1, 3});
+            Matrix b = new Matrix(3, 1, new double[] {7, 6, 13});
+
+            // When
+            Matrix x = matrices.solve(a, b);
+
+            // Then
+            assertThat(x.values()).containsExactly(new double[] {1, 2, 3}, within(1e-12));
+        }
+
+        @Test
+        @DisplayName("Should solve a large system with several right-hand sides in parallel")
+        void testLargeSystem() {
+            // Given
+            Random random = new Random(73);
+            int n = 300;
+            Matrix a = random(random, n, n);
+            for (int i = 0; i < n; i++) {
+                a.values()[i * n + i] += n / 10.0;
+            }
+            Matrix expected = random(random, n, 3);
+            Matrix b = matrices.multiply(a, expected);
+
+            // When
+            Matrix x = matrices.solve(a, b);
+
+            // Then
+            assertThat(x.values()).containsExactly(expected.values(), within(1e-9));
+        }
+
+        @Test
+        @DisplayName("Should reject singular and non-square systems")
+        void testInvalidSystems() {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> matrices.solve(new Matrix(2, 2, new double[] {1, 2, 2, 4}), new Matrix(2, 1)));
+            assertThat(exception.getMessage()).isEqualTo("Matrix is singular");
+            assertThrows(IllegalArgumentException.class, () -> matrices.solve(new Matrix(2, 3), new Matrix(2, 1)));
+            assertThrows(IllegalArgumentException.class, () -> matrices.solve(new Matrix(2, 2), new Matrix(3, 1)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Binary Format")
+    class BinaryFormatTests {
+
+        @Test
+        @DisplayName("Should round-trip matrices larger than one chunk")
+        void testRoundTrip() throws IOException {
+            // Given
+            Matrix matrix = random(new Random(79), 301, 97);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // When
+            matrix.write(out);
+            matrix.write(out);
+            ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+            Matrix first = Matrix.read(in, 1 << 20);
+            Matrix second = Matrix.read(in, 1 << 20);
+
+            // Then
+            assertThat(out.size()).isEqualTo(2 * matrix.byteSize());
+            assertThat(first.rows()).isEqualTo(301);
+            assertThat(first.cols()).isEqualTo(97);
+            assertThat(first.values()).containsExactly(matrix.values());
+            assertThat(second.values()).containsExactly(matrix.values());
+            assertThat(in.read()).isEqualTo(-1);
+        }
+
+        @Test
+        @DisplayName("Should reject invalid headers, oversized matrices and truncated data")
+        void testInvalidInput() throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new Matrix(4, 4).write(out);
+            byte[] bytes = out.toByteArray();
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> Matrix.read(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1)), 100));
+            assertThat(exception.getMessage()).isEqualTo("Matrix data ends early");
+
+            exception = assertThrows(IllegalArgumentException.class,
+                    () -> Matrix.read(new ByteArrayInputStream(bytes), 15));
+            assertThat(exception.getMessage()).isEqualTo("Matrix of 4 x 4 exceeds the limit of 15 elements");
+
+            // A header claiming the largest accepted matrix, followed by two elements
+            ByteBuffer claim = ByteBuffer.allocate(Matrix.HEADER_BYTES + 2 * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            claim.putInt(1 << 24).putInt(1);
+            exception = assertThrows(IllegalArgumentException.class,
+                    () -> Matrix.read(new ByteArrayInputStream(claim.array()), 1 << 24));
+            assertThat(exception.getMessage()).isEqualTo("Matrix data ends early");
+
+            byte[] negative = bytes.clone();
+            negative[3] = (byte) 0x80;
+            assertThrows(IllegalArgumentException.class, () -> Matrix.read(new ByteArrayInputStream(negative), 100));
+            assertThrows(IllegalArgumentException.class, () -> new Matrix(2, 2, new double[3]));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.calculator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for exact integer powers and modular multiplication, exponentiation and inversion,
+ * checked against {@link BigInteger}.
+ */
+@DisplayName("Modular Arithmetic Tests")
+class ModularArithmeticTest {
+
+    private final Calculator calculator = new Calculator(1_000);
+
+    private static BigInteger big(long value) {
+        return BigInteger.valueOf(value);
+    }
+
+    /** Moduli of every size, odd and even, including the extremes. */
+    private static long[] moduli(Random random) {
+        long[] moduli = new long[400];
+        for (int i = 0; i < moduli.length; i++) {
+            moduli[i] = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            if (moduli[i] == 0) {
+                moduli[i] = 1;
+            }
+        }
+        moduli[0] = 1;
+        moduli[1] = 2;
+        moduli[2] = Long.MAX_VALUE;
+        moduli[3] = Long.MAX_VALUE - 1;
+        moduli[4] = 1L << 62;
+        moduli[5] = 1_000_000_007L;
+        return moduli;
+    }
+
+    @Nested
+    @DisplayName("Exact Power")
+    class PowerExactTests {
+
+        @Test
+        @DisplayName("Should raise whole numbers to integer powers exactly")
+        void testPowerExact() {
+            assertThat(calculator.powerExact(2, 10)).isEqualTo(1024);
+            assertThat(calculator.powerExact(-3, 3)).isEqualTo(-27);
+            assertThat(calculator.powerExact(7, 0)).isEqualTo(1);
+            assertThat(calculator.powerExact(0, 0)).isEqualTo(1);
+            assertThat(calculator.powerExact(-1, Integer.MAX_VALUE)).isEqualTo(-1);
+            assertThat(calculator.powerExact(2, 62)).isEqualTo(1L << 62);
+            assertThat(calculator.powerExact(-2, 63)).isEqualTo(Long.MIN_VALUE);
+            assertThat(calculator.powerExact(3_037_000_499L, 2)).isEqualTo(3_037_000_499L * 3_037_000_499L);
+        }
+
+        @Test
+        @DisplayName("Should report overflow and negative exponents")
+        void testPowerExactErrors() {
+            ArithmeticException overflow = assertThrows(ArithmeticException.class,
+                    () -> calculator.powerExact(2, 63));
+            assertThat(overflow.getMessage()).isEqualTo("2 ^ 63 overflows long");
+            assertThat(CalculationError.of(overflow)).isEqualTo(CalculationError.OVERFLOW);
+            assertThrows(ArithmeticException.class, () -> calculator.powerExact(3_037_000_500L, 2));
+            assertThrows(IllegalArgumentException.class, () -> calculator.powerExact(2, -1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Modular Operations")
+    class ModularTests {
+
+        @Test
+        @DisplayName("Should multiply like BigInteger for all operand and modulus sizes")
+        void testModMul() {
+            Random random = new Random(31);
+            for (long m : moduli(random)) {
+                for (int i = 0; i < 50; i++) {
+                    long a = random.nextLong();
+                    long b = random.nextLong() >> random.nextInt(64);
+                    long expected = big(a).multiply(big(b)).mod(big(m)).longValue();
+                    assertThat(calculator.modMul(a, b, m)).as("%d * %d mod %d", a, b, m).isEqualTo(expected);
+                }
+            }
+            assertThat(calculator.modMul(Long.MAX_VALUE - 1, Long.MAX_VALUE - 1, Long.MAX_VALUE)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should exponentiate like BigInteger, including negative exponents")
+        void testModPow() {
+            Random random = new Random(37);
+            for (long m : moduli(random)) {
+                for (int i = 0; i < 20; i++) {
+                    long base = random.nextLong();
+                    long exponent = (random.nextLong() >>> 1) >>> random.nextInt(63);
+                    long expected = big(base).modPow(big(exponent), big(m)).longValue();
+                    assertThat(calculator.modPow(base, exponent, m)).as("%d ^ %d mod %d", base, exponent, m)
+                            .isEqualTo(expected);
+                }
+            }
+            assertThat(calculator.modPow(3, -1, 7)).isEqualTo(5);
+            assertThat(calculator.modPow(2, Long.MIN_VALUE, 1_000_000_007L))
+                    .isEqualTo(big(2).modInverse(big(1_000_000_007L))
+                            .modPow(big(Long.MIN_VALUE).negate(), big(1_000_000_007L)).longValue());
+            assertThat(calculator.modPow(0, 0, 10)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should invert like BigInteger and reject non-coprime values")
+        void testModInverse() {
+            Random random = new Random(41);
+            for (long m : moduli(random)) {
+                long a = random.nextLong();
+                if (big(a).gcd(big(m)).equals(BigInteger.ONE)) {
+                    assertThat(calculator.modInverse(a, m)).isEqualTo(big(a).modInverse(big(m)).longValue());
+                } else {
+                    assertThrows(IllegalArgumentException.class, () -> calculator.modInverse(a, m));
+                }
+            }
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> calculator.modInverse(4, 10));
+            assertThat(exception.getMessage()).isEqualTo("4 has no inverse modulo 10");
+            assertThrows(IllegalArgumentException.class, () -> calculator.modPow(4, -1, 10));
+        }
+
+        @Test
+        @DisplayName("Should reject non-positive moduli")
+        void testInvalidModulus() {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> calculator.modMul(2, 3, 0));
+            assertThat(exception.getMessage()).isEqualTo("Modulus must be positive");
+            assertThrows(IllegalArgumentException.class, () -> calculator.modPow(2, 3, -5));
+            assertThrows(IllegalArgumentException.class, () -> calculator.modInverse(2, Long.MIN_VALUE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Modular Batches")
+    class BatchTests {
+
+        @Test
+        @DisplayName("Should agree with the scalar operations for odd and even moduli")
+        void testBatchesMatchScalar() {
+            // Given
+            Random random = new Random(43);
+            long[] a = random.longs(1_000).toArray();
+            long[] b = random.longs(1_000).map(x -> x >>> 1).toArray();
+
+            for (long m : new long[] {1, 2, 1_000_000_007L, (1L << 61) - 1, 1L << 62, Long.MAX_VALUE}) {
+                // When
+                long[] products = new long[a.length];
+                long[] powers = new long[a.length];
+                calculator.modMul(a, b, m, products);
+                calculator.modPow(a, b, m, powers);
+
+                // Then
+                for (int i = 0; i < a.length; i++) {
+                    assertThat(products[i]).isEqualTo(calculator.modMul(a[i], b[i], m));
+                    assertThat(powers[i]).isEqualTo(calculator.modPow(a[i], b[i], m));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should stop at the first base without an inverse")
+        void testBatchFailure() {
+            long[] out = new long[3];
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> calculator.modPow(new long[] {3, 4, 5}, new long[] {-1, -1, -1}, 10, out));
+            assertThat(exception.getMessage()).isEqualTo("4 has no inverse modulo 10");
+            assertThat(out[0]).isEqualTo(7);
+            assertThrows(IllegalArgumentException.class,
+                    () -> calculator.modMul(new long[2], new long[3], 7, new long[3]));
+        }
+    }
+}
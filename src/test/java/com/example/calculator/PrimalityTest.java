@@ -0,0 +1,274 @@
+package com.example.calculator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the prime sieve, the Miller-Rabin test and the Montgomery arithmetic behind it, and
+ * for the Pollard rho factorization built on them.
+ */
+@DisplayName("Primality Tests")
+class PrimalityTest {
+
+    private static boolean trialDivision(long n) {
+        if (n < 2) {
+            return false;
+        }
+        for (long d = 2; d * d <= n; d++) {
+            if (n % d == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nested
+    @DisplayName("Prime Sieve")
+    class PrimeSieveTests {
+
+        @Test
+        @DisplayName("Should agree with trial division across several segments")
+        void testAgainstTrialDivision() {
+            PrimeSieve sieve = new PrimeSieve(3L * PrimeSieve.SEGMENT_BITS * 2);
+            for (long n = 0; n < 20_000; n++) {
+                assertThat(sieve.isPrime(n)).as("isPrime(%d)", n).isEqualTo(trialDivision(n));
+            }
+            for (long n = sieve.limit() - 5_000; n < sieve.limit(); n++) {
+                assertThat(sieve.isPrime(n)).as("isPrime(%d)", n).isEqualTo(trialDivision(n));
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject invalid limits")
+        void testInvalidLimit() {
+            assertThrows(IllegalArgumentException.class, () -> new PrimeSieve(0));
+            assertThrows(IllegalArgumentException.class, () -> new PrimeSieve(PrimeSieve.MAX_LIMIT + 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Prime Range Sieve")
+    class PrimeRangeSieveTests {
+
+        private final PrimeRangeSieve sieve = new PrimeRangeSieve(new ForkJoinPool(4));
+
+        private List<Long> expectedPrimes(long from, long to) {
+            List<Long> primes = new ArrayList<>();
+            for (long n = from; n < to; n++) {
+                if (trialDivision(n)) {
+                    primes.add(n);
+                }
+            }
+            return primes;
+        }
+
+        @Test
+        @DisplayName("Should count primes like trial division on awkward bounds")
+        void testCount() {
+            assertThat(sieve.count(0, 100)).isEqualTo(25);
+            assertThat(sieve.count(0, 2)).isZero();
+            assertThat(sieve.count(2, 3)).isEqualTo(1);
+            assertThat(sieve.count(3, 3)).isZero();
+            assertThat(sieve.count(0, 10_000_000)).isEqualTo(664_579);
+            assertThat(sieve.count(1_000_001, 1_600_003)).isEqualTo(expectedPrimes(1_000_001, 1_600_003).size());
+        }
+
+        @Test
+        @DisplayName("Should list primes in ascending order across segment boundaries")
+        void testList() {
+            List<Long> actual = new ArrayList<>();
+            sieve.forEach(1, 1_200_001, actual::add);
+            assertThat(actual).isEqualTo(expectedPrimes(1, 1_200_001));
+
+            actual.clear();
+            sieve.forEach(999_999_000_000L, 999_999_001_000L, actual::add);
+            assertThat(actual).isEqualTo(expectedPrimes(999_999_000_000L, 999_999_001_000L));
+        }
+
+        @Test
+        @DisplayName("Should reject invalid ranges")
+        void testInvalidRange() {
+            assertThrows(IllegalArgumentException.class, () -> sieve.count(-1, 10));
+            assertThrows(IllegalArgumentException.class, () -> sieve.count(10, 5));
+            assertThrows(IllegalArgumentException.class, () -> sieve.forEach(0, PrimeRangeSieve.MAX_BOUND + 1, p -> { }));
+        }
+    }
+
+    @Nested
+    @DisplayName("Miller-Rabin")
+    class MillerRabinTests {
+
+        @Test
+        @DisplayName("Should agree with trial division for small numbers")
+        void testSmallNumbers() {
+            for (long n = -5; n < 50_000; n++) {
+                assertThat(MillerRabin.isPrime(n)).as("isPrime(%d)", n).isEqualTo(trialDivision(n));
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject strong pseudoprimes")
+        void testPseudoprimes() {
+            assertThat(MillerRabin.isPrime(3_215_031_751L)).isFalse();
+            assertThat(MillerRabin.isPrime(4_759_123_141L)).isFalse();
+            assertThat(MillerRabin.isPrime(3_825_123_056_546_413_051L)).isFalse();
+            assertThat(MillerRabin.isPrime(2_147_483_647L * 2_147_483_629L)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should agree with BigInteger for large random numbers")
+        void testLargeNumbers() {
+            Random random = new Random(7);
+            for (int i = 0; i < 20_000; i++) {
+                long n = random.nextLong() >>> 1;
+                assertThat(MillerRabin.isPrime(n)).as("isPrime(%d)", n)
+                    .isEqualTo(BigInteger.valueOf(n).isProbablePrime(50));
+            }
+            assertThat(MillerRabin.isPrime(Long.MAX_VALUE)).isFalse();
+            assertThat(MillerRabin.isPrime(9_223_372_036_854_775_783L)).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Montgomery Arithmetic")
+    class MontgomeryTests {
+
+        @Test
+        @DisplayName("Should multiply and exponentiate like BigInteger")
+        void testAgainstBigInteger() {
+            Random random = new Random(11);
+            for (int i = 0; i < 2_000; i++) {
+                long n = (random.nextLong() >>> 1) | 1;
+                if (n == 1) {
+                    continue;
+                }
+                long a = random.nextLong() >>> 1;
+                long b = random.nextLong() >>> 1;
+                Montgomery mont = new Montgomery(n);
+                BigInteger bigN = BigInteger.valueOf(n);
+
+                long product = mont.fromMontgomery(mont.multiply(mont.toMontgomery(a), mont.toMontgomery(b)));
+                assertThat(product).isEqualTo(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).mod(bigN).longValue());
+
+                long power = mont.fromMontgomery(mont.pow(mont.toMontgomery(a), b));
+                assertThat(power).isEqualTo(BigInteger.valueOf(a).modPow(BigInteger.valueOf(b), bigN).longValue());
+            }
+        }
+
+        @Test
+        @DisplayName("Should reject even moduli")
+        void testEvenModulus() {
+            assertThrows(IllegalArgumentException.class, () -> new Montgomery(10));
+        }
+    }
+
+    @Nested
+    @DisplayName("Pollard Rho Factorization")
+    class FactorizationTests {
+
+        private long product(long[] factors) {
+            long product = 1;
+            for (long factor : factors) {
+                product = Math.multiplyExact(product, factor);
+            }
+            return product;
+        }
+
+        private long randomPrime(Random random, int bits) {
+            return BigInteger.probablePrime(bits, random).longValue();
+        }
+
+        @Test
+        @DisplayName("Should factor small numbers like trial division")
+        void testSmallNumbers() {
+            for (long n = 1; n < 20_000; n++) {
+                long[] factors = PollardRho.factorize(n);
+                assertThat(product(factors)).as("product of factors of %d", n).isEqualTo(n);
+                assertThat(factors).as("factors of %d", n).isSorted();
+                for (long factor : factors) {
+                    assertThat(trialDivision(factor)).as("%d of %d", factor, n).isTrue();
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should factor random numbers into BigInteger-verified primes")
+        void testRandomNumbers() {
+            Random random = new Random(17);
+            for (int i = 0; i < 2_000; i++) {
+                long n = (random.nextLong() >>> 1) | 1;
+                long[] factors = PollardRho.factorize(n);
+                assertThat(product(factors)).isEqualTo(n);
+                for (long factor : factors) {
+                    assertThat(BigInteger.valueOf(factor).isProbablePrime(64)).as("%d of %d", factor, n).isTrue();
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should split semiprimes of two 31-bit primes")
+        void testBalancedSemiprimes() {
+            // Given
+            Random random = new Random(23);
+            long[][] pairs = new long[50][];
+            for (int i = 0; i < pairs.length; i++) {
+                long p = randomPrime(random, 31);
+                long q = randomPrime(random, 31);
+                pairs[i] = p < q ? new long[] {p, q} : new long[] {q, p};
+            }
+
+            // When
+            for (long[] pair : pairs) {
+                // Then
+                assertThat(PollardRho.factorize(pair[0] * pair[1])).containsExactly(pair);
+            }
+        }
+
+        @Test
+        @DisplayName("Should handle powers, squares of large primes and the long extremes")
+        void testEdgeCases() {
+            Calculator calculator = new Calculator(1_000);
+            long prime = 3_037_000_493L;
+
+            assertThat(calculator.factorize(1)).isEmpty();
+            assertThat(calculator.factorize(2)).containsExactly(2);
+            assertThat(calculator.factorize(1L << 62)).hasSize(62).containsOnly(2L);
+            assertThat(calculator.factorize(prime * prime)).containsExactly(prime, prime);
+            assertThat(calculator.factorize(Long.MAX_VALUE)).containsExactly(7L, 7L, 73L, 127L, 337L, 92_737L, 649_657L);
+            assertThat(calculator.factorize(9_223_372_036_854_775_783L)).containsExactly(9_223_372_036_854_775_783L);
+            assertThat(calculator.factorize(1_000_003L * 1_000_033L * 1_000_037L))
+                    .containsExactly(1_000_003L, 1_000_033L, 1_000_037L);
+        }
+
+        @Test
+        @DisplayName("Should reject non-positive numbers")
+        void testInvalidInput() {
+            Calculator calculator = new Calculator(1_000);
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> calculator.factorize(0));
+            assertThat(exception.getMessage()).isEqualTo("Factorization is only defined for positive numbers");
+            assertThrows(IllegalArgumentException.class, () -> calculator.factorize(-12));
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer from the sieve and above it consistently")
+    void testCalculatorAcrossSieveBound() {
+        Calculator calculator = new Calculator(1_000);
+        for (long n = 0; n < 5_000; n++) {
+            assertThat(calculator.isPrime(n)).as("isPrime(%d)", n).isEqualTo(trialDivision(n));
+        }
+        assertThat(calculator.isPrime(Integer.MAX_VALUE)).isTrue();
+        assertThat(calculator.isPrime(-7)).isFalse();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.calculator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that the response writer renders exactly what {@link String#format} would.
+ */
+@DisplayName("Response Writer Tests")
+class ResponseWriterTest {
+
+    private ResponseWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new ResponseWriter();
+    }
+
+    private void assertFixedMatchesFormat(double value) {
+        assertThat(writer.reset().appendFixed(value).toString())
+            .as("%s", value)
+            .isEqualTo(String.format("%.2f", value));
+    }
+
+    @Test
+    @DisplayName("Should render doubles like %.2f, including rounding edge cases")
+    void testFixedEdgeCases() {
+        double[] values = {0, -0.0, 1, -1, 0.5, 0.125, 0.375, 1.005, 2.675, 0.995, -0.005, -0.001,
+            0.045, 4.35, 99.995, 123456789.125, 1e11 + 0.5, 1e12, 1e15, 1e300, 1.5e-300,
+            Double.MIN_VALUE, Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (double value : values) {
+            assertFixedMatchesFormat(value);
+        }
+    }
+
+    @Test
+    @DisplayName("Should render random doubles like %.2f")
+    void testFixedRandom() {
+        Random random = new Random(3);
+        for (int i = 0; i < 200_000; i++) {
+            double scale = Math.pow(10, random.nextInt(14) - 3);
+            assertFixedMatchesFormat((random.nextDouble() - 0.5) * scale);
+            // Short decimals such as 12.345 are the most likely to sit on a rounding boundary
+            assertFixedMatchesFormat(random.nextInt(2_000_000) / 1000.0 - 1000);
+        }
+    }
+
+    @Test
+    @DisplayName("Should render integers like %d")
+    void testIntegers() {
+        for (long value : new long[] {0, 7, -7, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertThat(writer.reset().append(value).toString()).isEqualTo(String.format("%d", value));
+        }
+    }
+
+    @Test
+    @DisplayName("Should write the buffer as a plain-text response")
+    void testWriteTo() throws Exception {
+        // Given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        writer.appendFixed(5).append(" + ").appendFixed(3).append(" = ").appendFixed(8).writeTo(response);
+
+        // Then
+        assertThat(response.getContentAsString()).isEqualTo("5.00 + 3.00 = 8.00");
+        assertThat(response.getContentType()).isEqualTo("text/plain;charset=UTF-8");
+    }
+
+    @Test
+    @DisplayName("Should reuse one writer per thread")
+    void testThreadLocalReuse() {
+        ResponseWriter first = ResponseWriter.get().append("stale");
+        ResponseWriter second = ResponseWriter.get();
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.length()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not keep a large buffer after a large response")
+    void testLargeBufferReleased() {
+        ResponseWriter large = ResponseWriter.get().append("9".repeat(ResponseWriter.RETAINED_CAPACITY * 4));
+        assertThat(large.capacity()).isGreaterThan(ResponseWriter.RETAINED_CAPACITY);
+
+        ResponseWriter next = ResponseWriter.get();
+
+        assertThat(next.length()).isZero();
+        assertThat(next.capacity()).isLessThanOrEqualTo(ResponseWriter.RETAINED_CAPACITY);
+    }
+}
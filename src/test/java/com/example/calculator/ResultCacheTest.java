@@ -0,0 +1,162 @@
+package com.example.calculator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the memoization cache and the memoizing calculator.
+ */
+@DisplayName("Result Cache Tests")
+class ResultCacheTest {
+
+    @Nested
+    @DisplayName("Cache")
+    class CacheTests {
+
+        @Test
+        @DisplayName("Should return stored results and count hits and misses")
+        void testGetAndPut() {
+            // Given
+            ResultCache cache = new ResultCache("test", 64);
+
+            // When
+            ResultCache.Entry miss = cache.get(3, 4);
+            cache.put(3, 4, 12, null);
+            ResultCache.Entry hit = cache.get(3, 4);
+
+            // Then
+            assertThat(miss).isNull();
+            assertThat(hit.value).isEqualTo(12);
+            assertThat(cache.get(4, 3)).isNull();
+            assertThat(cache.hits()).isEqualTo(1);
+            assertThat(cache.misses()).isEqualTo(2);
+            assertThat(cache.capacity()).isEqualTo(64);
+        }
+
+        @Test
+        @DisplayName("Should stay within capacity and keep frequently used keys")
+        void testBoundedAndFrequencyAware() {
+            // Given
+            ResultCache cache = new ResultCache("test", 64);
+            for (long hot = 0; hot < 16; hot++) {
+                for (int i = 0; i < 10; i++) {
+                    if (cache.get(hot, 0) == null) {
+                        cache.put(hot, 0, hot, null);
+                    }
+                }
+            }
+
+            // When: a scan of keys seen only once, while the hot keys stay in use
+            for (long cold = 1_000; cold < 11_000; cold++) {
+                if (cache.get(cold, 0) == null) {
+                    cache.put(cold, 0, cold, null);
+                }
+                long hot = cold % 16;
+                if (cache.get(hot, 0) == null) {
+                    cache.put(hot, 0, hot, null);
+                }
+            }
+
+            // Then
+            assertThat(cache.size()).isLessThanOrEqualTo(64);
+            long hotMisses = cache.misses();
+            for (long hot = 0; hot < 16; hot++) {
+                cache.get(hot, 0);
+            }
+            assertThat(cache.misses() - hotMisses).isLessThanOrEqualTo(2);
+            assertThat(cache.evictions()).isPositive();
+        }
+
+        @Test
+        @DisplayName("Should count lookups from concurrent threads through the access buffers")
+        void testConcurrentAccessCounting() throws InterruptedException {
+            // Given
+            ResultCache cache = new ResultCache("test", 64);
+            cache.put(1, 2, 3, null);
+            Thread[] threads = new Thread[4];
+
+            // When: accesses may be dropped under contention, but far more than 15 get through
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        cache.get(1, 2);
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            // Then
+            assertThat(cache.hits()).isEqualTo(4_000);
+            assertThat(cache.frequency(1, 2)).isEqualTo(15);
+            assertThat(cache.frequency(2, 1)).isLessThan(15);
+        }
+
+        @Test
+        @DisplayName("Should reject a non-positive size")
+        void testInvalidSize() {
+            assertThrows(IllegalArgumentException.class, () -> new ResultCache("test", 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Memoizing Calculator")
+    class MemoizingCalculatorTests {
+
+        private CalculatorMetrics metrics;
+        private MemoizingCalculator calculator;
+
+        @BeforeEach
+        void setUp() {
+            metrics = new CalculatorMetrics();
+            calculator = new MemoizingCalculator(1 << 16, 8, 64, 64, 64, 64, null, metrics, Optional.empty());
+        }
+
+        @Test
+        @DisplayName("Should return the same results as the plain calculator")
+        void testResults() {
+            Calculator plain = new Calculator();
+
+            for (int round = 0; round < 2; round++) {
+                assertThat(calculator.power(2, 10)).isEqualTo(1024.0);
+                assertThat(calculator.power(-0.0, -1)).isEqualTo(plain.power(-0.0, -1));
+                assertThat(calculator.gcd(48, -18)).isEqualTo(6);
+                assertThat(calculator.lcm(4, 6)).isEqualTo(12);
+                assertThat(calculator.isPrime(1_000_000_007L)).isTrue();
+                assertThat(calculator.isPrime(1_000_000_008L)).isFalse();
+                assertThat(calculator.factorialExact(25)).isEqualTo(new BigInteger("15511210043330985984000000"));
+            }
+            assertThat(calculator.caches()).allSatisfy(cache -> assertThat(cache.hits()).isPositive());
+        }
+
+        @Test
+        @DisplayName("Should not cache errors")
+        void testErrors() {
+            assertThrows(IllegalArgumentException.class, () -> calculator.factorialExact(-1));
+            assertThrows(IllegalArgumentException.class, () -> calculator.factorialExact(-1));
+            assertThat(calculator.caches()).allSatisfy(cache -> assertThat(cache.size()).isZero());
+        }
+
+        @Test
+        @DisplayName("Should report cache statistics with the metrics")
+        void testMetrics() {
+            calculator.gcd(12, 18);
+            calculator.gcd(12, 18);
+
+            assertThat(metrics.scrape())
+                .contains("calculator_cache_hits_total{operation=\"gcd\"} 1")
+                .contains("calculator_cache_misses_total{operation=\"gcd\"} 1")
+                .contains("calculator_cache_capacity{operation=\"lcm\"} 64");
+        }
+    }
+}
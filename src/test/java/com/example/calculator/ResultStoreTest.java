@@ -0,0 +1,196 @@
+package com.example.calculator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the persistent result store.
+ */
+@DisplayName("Result Store Tests")
+class ResultStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<ResultStore> stores = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        stores.forEach(ResultStore::close);
+    }
+
+    private ResultStore open(long maxBytes) {
+        ResultStore store = new ResultStore(directory.toString(), maxBytes, null);
+        store.loaded().join();
+        stores.add(store);
+        return store;
+    }
+
+    private static ByteBuffer payload(int size, int seed) {
+        ByteBuffer payload = ByteBuffer.allocate(size);
+        for (int i = 0; i < size; i++) {
+            payload.put(i, (byte) (seed + i));
+        }
+        return payload;
+    }
+
+    @Nested
+    @DisplayName("Records")
+    class RecordTests {
+
+        @Test
+        @DisplayName("Should return stored results after a restart")
+        void testSurvivesRestart() {
+            // Given
+            ResultStore store = open(1 << 20);
+            store.put(ResultStore.Kind.FACTORIAL_DIGITS, 5000, 0, payload(1000, 1));
+            store.put(ResultStore.Kind.PRIME_COUNT, 0, 1000, payload(8, 2));
+            store.close();
+
+            // When
+            ResultStore reopened = open(1 << 20);
+
+            // Then
+            assertThat(reopened.get(ResultStore.Kind.FACTORIAL_DIGITS, 5000, 0)).isEqualTo(payload(1000, 1));
+            assertThat(reopened.get(ResultStore.Kind.PRIME_COUNT, 0, 1000)).isEqualTo(payload(8, 2));
+            assertThat(reopened.get(ResultStore.Kind.PRIME_COUNT, 0, 1001)).isNull();
+            assertThat(reopened.get(ResultStore.Kind.SIEVE_SEGMENT, 0, 1000)).isNull();
+            assertThat(reopened.hits(ResultStore.Kind.FACTORIAL_DIGITS)).isEqualTo(1);
+            assertThat(reopened.misses(ResultStore.Kind.PRIME_COUNT)).isEqualTo(1);
+            assertThat(reopened.records(ResultStore.Kind.FACTORIAL_DIGITS)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should cut off a torn tail and drop records with a bad checksum")
+        void testCorruption() throws IOException {
+            // Given
+            ResultStore store = open(1 << 20);
+            store.put(ResultStore.Kind.FACTORIAL_DIGITS, 1, 0, payload(100, 1));
+            store.put(ResultStore.Kind.FACTORIAL_DIGITS, 2, 0, payload(100, 2));
+            store.close();
+            Path file = directory.resolve("results.log");
+            long intact = Files.size(file);
+            Files.write(file, new byte[] {0x52, 0x53, 0x54}, StandardOpenOption.APPEND);
+
+            // When
+            ResultStore torn = open(1 << 20);
+
+            // Then
+            assertThat(Files.size(file)).isEqualTo(intact);
+            assertThat(torn.get(ResultStore.Kind.FACTORIAL_DIGITS, 2, 0)).isEqualTo(payload(100, 2));
+            torn.close();
+
+            // When: a bit flips in the first record's payload
+            long firstPayloadEnd = intact / 2 - 1;
+            try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+                raw.seek(firstPayloadEnd);
+                int last = raw.read();
+                raw.seek(firstPayloadEnd);
+                raw.write(last ^ 1);
+            }
+            ResultStore flipped = open(1 << 20);
+
+            // Then: only the damaged record is lost
+            assertThat(flipped.get(ResultStore.Kind.FACTORIAL_DIGITS, 1, 0)).isNull();
+            assertThat(flipped.get(ResultStore.Kind.FACTORIAL_DIGITS, 2, 0)).isEqualTo(payload(100, 2));
+            assertThat(flipped.corrupt()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should skip intact records of kinds no longer stored")
+        void testObsoleteKind() throws IOException {
+            // Given: a record of kind 1, which held factorial magnitudes, before a current record
+            ByteBuffer obsolete = ByteBuffer.allocate(29 + 3);
+            obsolete.putInt(0x52535431).putInt(0).put((byte) 1).putLong(3000).putLong(0).putInt(3)
+                    .put(new byte[] {1, 2, 3});
+            CRC32C crc = new CRC32C();
+            crc.update(obsolete.array(), 8, obsolete.capacity() - 8);
+            obsolete.putInt(4, (int) crc.getValue());
+            Files.write(directory.resolve("results.log"), obsolete.array());
+            ResultStore store = open(1 << 20);
+            store.put(ResultStore.Kind.FACTORIAL_DIGITS, 3000, 0, payload(10, 3));
+            store.close();
+
+            // When
+            ResultStore reopened = open(1 << 20);
+
+            // Then
+            assertThat(reopened.get(ResultStore.Kind.FACTORIAL_DIGITS, 3000, 0)).isEqualTo(payload(10, 3));
+            assertThat(reopened.corrupt()).isZero();
+            assertThat(reopened.bytes()).isEqualTo(Files.size(directory.resolve("results.log")));
+        }
+
+        @Test
+        @DisplayName("Should compact to the newest records when the file outgrows its bound")
+        void testCompaction() {
+            // Given: 20 records of about 1 KB in a store bounded to 8 KB
+            ResultStore store = open(8192);
+
+            // When
+            for (int i = 0; i < 20; i++) {
+                store.put(ResultStore.Kind.FACTORIAL_DIGITS, i, 0, payload(1000, i));
+            }
+
+            // Then
+            assertThat(store.bytes()).isLessThanOrEqualTo(8192);
+            assertThat(store.get(ResultStore.Kind.FACTORIAL_DIGITS, 19, 0)).isEqualTo(payload(1000, 19));
+            assertThat(store.get(ResultStore.Kind.FACTORIAL_DIGITS, 0, 0)).isNull();
+            store.close();
+            assertThat(open(8192).get(ResultStore.Kind.FACTORIAL_DIGITS, 19, 0)).isEqualTo(payload(1000, 19));
+        }
+
+        @Test
+        @DisplayName("Should reject an invalid size bound")
+        void testInvalidBound() {
+            assertThrows(IllegalArgumentException.class, () -> new ResultStore(directory.toString(), 0, null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Calculator")
+    class CalculatorTests {
+
+        @Test
+        @DisplayName("Should serve factorials, prime counts and sieve segments stored by a previous instance")
+        void testWarmRestart() {
+            // Given
+            ResultStore store = open(1 << 26);
+            Calculator cold = new Calculator(1 << 20, ForkJoinPool.commonPool(), store);
+            String factorial = cold.factorialDigits(5000);
+            long primes = cold.countPrimes(0, 1L << 26);
+            boolean prime = cold.isPrime(999_983);
+            store.close();
+
+            // When
+            ResultStore reopened = open(1 << 26);
+            Calculator warm = new Calculator(1 << 20, ForkJoinPool.commonPool(), reopened);
+
+            // Then
+            assertThat(warm.factorialDigits(5000)).isEqualTo(factorial).isEqualTo(cold.factorialExact(5000).toString());
+            assertThat(reopened.records(ResultStore.Kind.FACTORIAL_DIGITS)).isEqualTo(1);
+            assertThat(warm.countPrimes(0, 1L << 26)).isEqualTo(primes).isEqualTo(3_957_809);
+            assertThat(warm.isPrime(999_983)).isEqualTo(prime).isTrue();
+            assertThat(warm.isPrime(999_981)).isFalse();
+            assertThat(reopened.hits(ResultStore.Kind.FACTORIAL_DIGITS)).isEqualTo(1);
+            assertThat(reopened.hits(ResultStore.Kind.PRIME_COUNT)).isEqualTo(1);
+            assertThat(reopened.hits(ResultStore.Kind.SIEVE_SEGMENT)).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.calculator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for request coalescing.
+ */
+@DisplayName("Single Flight Tests")
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private List<Future<String>> submit(int callers, SingleFlight<Integer, String> flight, int key,
+                                        Supplier<String> computation) {
+        List<Future<String>> calls = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            calls.add(executor.submit(() -> flight.execute(key, computation)));
+        }
+        return calls;
+    }
+
+    @Nested
+    @DisplayName("Coalescing")
+    class CoalescingTests {
+
+        @Test
+        @DisplayName("Should compute once for identical concurrent calls")
+        void testShared() throws Exception {
+            // Given
+            SingleFlight<Integer, String> flight = new SingleFlight<>("test");
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger computations = new AtomicInteger();
+
+            // When
+            List<Future<String>> calls = submit(CALLERS, flight, 42, () -> {
+                computations.incrementAndGet();
+                awaitLatch(release);
+                return "result";
+            });
+            await(() -> flight.shared() == CALLERS - 1);
+            release.countDown();
+
+            // Then
+            for (Future<String> call : calls) {
+                assertThat(call.get()).isEqualTo("result");
+            }
+            assertThat(computations).hasValue(1);
+            assertThat(flight.inFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should share the exception of a failed computation")
+        void testSharedFailure() throws InterruptedException {
+            // Given
+            SingleFlight<Integer, String> flight = new SingleFlight<>("test");
+            CountDownLatch release = new CountDownLatch(1);
+
+            // When
+            List<Future<String>> calls = submit(CALLERS, flight, 7, () -> {
+                awaitLatch(release);
+                throw new ArithmeticException("overflow");
+            });
+            await(() -> flight.shared() == CALLERS - 1);
+            release.countDown();
+
+            // Then
+            for (Future<String> call : calls) {
+                ExecutionException e = assertThrows(ExecutionException.class, call::get);
+                assertThat(e.getCause()).isInstanceOf(ArithmeticException.class).hasMessage("overflow");
+            }
+        }
+
+        @Test
+        @DisplayName("Should not coalesce different keys or remember finished results")
+        void testIndependentKeysAndNoMemo() {
+            // Given
+            SingleFlight<Integer, String> flight = new SingleFlight<>("test");
+            AtomicInteger computations = new AtomicInteger();
+
+            // When
+            String first = flight.execute(1, () -> "one" + computations.incrementAndGet());
+            String second = flight.execute(2, () -> "two" + computations.incrementAndGet());
+            String again = flight.execute(1, () -> "one" + computations.incrementAndGet());
+
+            // Then
+            assertThat(List.of(first, second, again)).containsExactly("one1", "two2", "one3");
+            assertThat(flight.shared()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should compute again when the computing caller is cancelled")
+        void testLeaderCancelled() throws Exception {
+            // Given
+            SingleFlight<Integer, String> flight = new SingleFlight<>("test");
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger computations = new AtomicInteger();
+
+            // When: the first computation is cancelled, the waiting callers take over
+            List<Future<String>> calls = submit(CALLERS, flight, 3, () -> {
+                if (computations.incrementAndGet() == 1) {
+                    awaitLatch(release);
+                    throw new CancellationException("Job cancelled");
+                }
+                return "result";
+            });
+            await(() -> flight.shared() == CALLERS - 1);
+            release.countDown();
+
+            // Then
+            int cancelled = 0;
+            for (Future<String> call : calls) {
+                try {
+                    assertThat(call.get()).isEqualTo("result");
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(CancellationException.class);
+                    cancelled++;
+                }
+            }
+            assertThat(cancelled).isEqualTo(1);
+            assertThat(computations.get()).isBetween(2, CALLERS);
+        }
+
+        @Test
+        @DisplayName("Should stop waiting when the waiting caller is interrupted")
+        void testWaiterInterrupted() throws Exception {
+            // Given: a computation that runs until released
+            SingleFlight<Integer, String> flight = new SingleFlight<>("test");
+            CountDownLatch release = new CountDownLatch(1);
+            Future<String> leader = executor.submit(() -> flight.execute(5, () -> {
+                awaitLatch(release);
+                return "result";
+            }));
+            await(() -> flight.inFlight() == 1);
+            AtomicBoolean interruptKept = new AtomicBoolean();
+            Future<String> waiter = executor.submit(() -> {
+                try {
+                    return flight.execute(5, () -> "duplicate");
+                } finally {
+                    interruptKept.set(Thread.currentThread().isInterrupted());
+                }
+            });
+            await(() -> flight.shared() == 1);
+
+            // When
+            waiter.cancel(true);
+
+            // Then: the waiter gives up while the computation is still running
+            await(() -> interruptKept.get());
+            assertThat(flight.inFlight()).isEqualTo(1);
+            release.countDown();
+            assertThat(leader.get()).isEqualTo("result");
+        }
+    }
+
+    @Nested
+    @DisplayName("Calculator")
+    class CalculatorTests {
+
+        @Test
+        @DisplayName("Should share large factorials between concurrent callers")
+        void testFactorialShared() throws Exception {
+            // Given
+            Calculator calculator = new Calculator();
+            SingleFlight<?, ?> factorials = calculator.singleFlights().get(0);
+            List<Future<Integer>> calls = new ArrayList<>();
+
+            // When
+            for (int i = 0; i < CALLERS; i++) {
+                calls.add(executor.submit(() -> calculator.factorialExact(20_000).bitLength()));
+            }
+
+            // Then
+            int bitLength = calculator.factorialExact(20_000).bitLength();
+            for (Future<Integer> call : calls) {
+                assertThat(call.get()).isEqualTo(bitLength);
+            }
+            assertThat(factorials.name()).isEqualTo("factorialExact");
+            assertThat(factorials.inFlight()).isZero();
+        }
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
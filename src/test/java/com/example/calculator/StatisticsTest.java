@@ -0,0 +1,268 @@
+package com.example.calculator;
+
+import com.example.calculator.dto.StatisticsSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the streaming statistics, the t-digest and the statistics service.
+ */
+@DisplayName("Statistics Tests")
+class StatisticsTest {
+
+    private static final double[] QUANTILES = {0.001, 0.01, 0.1, 0.5, 0.9, 0.99, 0.999};
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final StatisticsService service = new StatisticsService(pool, 100, 2);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private static double[] exponential(Random random, int count) {
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = -Math.log(1 - random.nextDouble());
+        }
+        return values;
+    }
+
+    /** Fraction of the sorted values not above the estimate, to compare with the quantile asked for. */
+    private static double rank(double[] sorted, double estimate) {
+        int index = Arrays.binarySearch(sorted, estimate);
+        return (index >= 0 ? index + 1 : -index - 1) / (double) sorted.length;
+    }
+
+    /**
+     * Half the rank a centroid near {@code q} may span at compression 100, where one unit of the
+     * scale {@code 100 / (2 pi) * asin(2q - 1)} covers {@code 2 pi sqrt(q (1 - q)) / 100} of the values.
+     */
+    private static double tolerance(double q) {
+        return Math.max(0.0005, Math.PI * Math.sqrt(q * (1 - q)) / 100);
+    }
+
+    private static ByteArrayInputStream binary(double[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asDoubleBuffer().put(values);
+        return new ByteArrayInputStream(buffer.array());
+    }
+
+    private static ByteArrayInputStream text(String values) {
+        return new ByteArrayInputStream(values.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Nested
+    @DisplayName("Moments")
+    class MomentTests {
+
+        @Test
+        @DisplayName("Should keep small values added to a large one")
+        void testCompensatedSum() {
+            // Given: a million ones after 1e16, where each one alone is below half an ulp
+            StreamingStatistics statistics = new StreamingStatistics(100);
+            statistics.add(1e16);
+            for (int i = 0; i < 1_000_000; i++) {
+                statistics.add(1);
+            }
+            statistics.add(-1e16);
+
+            // Then
+            assertThat(statistics.sum()).isEqualTo(1_000_000);
+            assertThat(statistics.count()).isEqualTo(1_000_002);
+        }
+
+        @Test
+        @DisplayName("Should compute the variance of values with a large offset")
+        void testWelfordVariance() {
+            // Given: 1e9 + {4, 7, 13, 16}, whose sum of squares cancels catastrophically
+            StreamingStatistics statistics = new StreamingStatistics(100);
+            for (double value : new double[] {4, 7, 13, 16}) {
+                statistics.add(1e9 + value);
+            }
+
+            // Then
+            assertThat(statistics.mean()).isEqualTo(1e9 + 10);
+            assertThat(statistics.variance()).isCloseTo(30, within(1e-9));
+            assertThat(statistics.min()).isEqualTo(1e9 + 4);
+            assertThat(statistics.max()).isEqualTo(1e9 + 16);
+        }
+
+        @Test
+        @DisplayName("Should report empty and single-value summaries without undefined statistics")
+        void testSmallSummaries() {
+            StreamingStatistics statistics = new StreamingStatistics(100);
+            assertThat(statistics.summary(QUANTILES))
+                    .isEqualTo(new StatisticsSummary(0, 0.0, null, null, null, null, null, null));
+
+            statistics.add(5);
+            StatisticsSummary summary = statistics.summary(new double[] {0.5});
+            assertThat(summary.mean()).isEqualTo(5);
+            assertThat(summary.variance()).isNull();
+            assertThat(summary.quantiles()).containsEntry("0.5", 5.0);
+
+            assertThrows(IllegalArgumentException.class, () -> statistics.add(Double.NaN));
+            assertThrows(IllegalArgumentException.class, () -> statistics.add(Double.POSITIVE_INFINITY));
+        }
+    }
+
+    @Nested
+    @DisplayName("Quantiles")
+    class QuantileTests {
+
+        @Test
+        @DisplayName("Should estimate quantiles of a skewed distribution within a small rank error")
+        void testAccuracy() {
+            // Given
+            double[] values = exponential(new Random(83), 200_000);
+            TDigest digest = new TDigest(100);
+            for (double value : values) {
+                digest.add(value);
+            }
+            double[] sorted = values.clone();
+            Arrays.sort(sorted);
+
+            // Then: tighter at the tails, where the centroids are small
+            for (double q : QUANTILES) {
+                assertThat(rank(sorted, digest.quantile(q))).as("rank of quantile %s", q).isCloseTo(q, within(tolerance(q)));
+            }
+            assertThat(digest.quantile(0)).isEqualTo(sorted[0]);
+            assertThat(digest.quantile(1)).isEqualTo(sorted[sorted.length - 1]);
+            assertThat(digest.centroids()).isLessThan(102);
+        }
+    }
+
+    @Nested
+    @DisplayName("Merging")
+    class MergeTests {
+
+        @Test
+        @DisplayName("Should merge shards into the summary of the whole")
+        void testMergeShards() {
+            // Given: the same values summarized whole and in 16 shards
+            double[] values = exponential(new Random(89), 160_000);
+            StreamingStatistics whole = new StreamingStatistics(100);
+            whole.add(values, 0, values.length);
+            StreamingStatistics merged = new StreamingStatistics(100);
+            for (int shard = 0; shard < 16; shard++) {
+                StreamingStatistics part = new StreamingStatistics(100);
+                part.add(values, shard * 10_000, (shard + 1) * 10_000);
+                merged.merge(part);
+            }
+            double[] sorted = values.clone();
+            Arrays.sort(sorted);
+
+            // Then
+            assertThat(merged.count()).isEqualTo(whole.count());
+            assertThat(merged.sum()).isCloseTo(whole.sum(), within(1e-9));
+            assertThat(merged.mean()).isCloseTo(whole.mean(), within(1e-12));
+            assertThat(merged.variance()).isCloseTo(whole.variance(), within(1e-12));
+            assertThat(merged.min()).isEqualTo(sorted[0]);
+            assertThat(merged.max()).isEqualTo(sorted[sorted.length - 1]);
+            for (double q : QUANTILES) {
+                assertThat(rank(sorted, merged.quantile(q))).as("rank of quantile %s", q).isCloseTo(q, within(tolerance(q)));
+            }
+        }
+
+        @Test
+        @DisplayName("Should summarize large arrays in parallel like sequentially")
+        void testParallelSummary() {
+            double[] values = exponential(new Random(97), StatisticsService.PARALLEL_THRESHOLD * 5 + 3);
+
+            StreamingStatistics parallel = service.summarize(values, values.length);
+            StreamingStatistics sequential = new StreamingStatistics(100);
+            sequential.add(values, 0, values.length);
+
+            assertThat(parallel.count()).isEqualTo(values.length);
+            assertThat(parallel.sum()).isCloseTo(sequential.sum(), within(1e-9));
+            assertThat(parallel.variance()).isCloseTo(sequential.variance(), within(1e-12));
+            assertThat(parallel.quantile(0.5)).isCloseTo(sequential.quantile(0.5), within(0.01));
+        }
+    }
+
+    @Nested
+    @DisplayName("Service")
+    class ServiceTests {
+
+        @Test
+        @DisplayName("Should summarize text and binary uploads alike")
+        void testUploads() throws IOException {
+            // Given: more binary values than one chunk
+            double[] values = exponential(new Random(101), StatisticsService.CHUNK_VALUES * 2 + 17);
+            StreamingStatistics expected = new StreamingStatistics(100);
+            expected.add(values, 0, values.length);
+
+            // When
+            StatisticsSummary fromBinary = service.summarize(binary(values), true, new double[] {0.5});
+            StatisticsSummary fromText = service.summarize(text("1, 2,3\n4\t5 "), false, new double[] {0.5});
+
+            // Then
+            assertThat(fromBinary.count()).isEqualTo(values.length);
+            assertThat(fromBinary.sum()).isCloseTo(expected.sum(), within(1e-9));
+            assertThat(fromText.count()).isEqualTo(5);
+            assertThat(fromText.sum()).isEqualTo(15);
+            assertThat(fromText.variance()).isEqualTo(2.5);
+            assertThat(fromText.quantiles()).containsEntry("0.5", 3.0);
+        }
+
+        @Test
+        @DisplayName("Should reject malformed uploads and quantiles")
+        void testInvalidUploads() {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> service.summarize(text("1 two 3"), false, new double[] {0.5}));
+            assertThat(exception.getMessage()).isEqualTo("Invalid number: two");
+
+            exception = assertThrows(IllegalArgumentException.class,
+                    () -> service.summarize(new ByteArrayInputStream(new byte[12]), true, new double[] {0.5}));
+            assertThat(exception.getMessage()).isEqualTo("Binary values must be 8 bytes each, got 4 trailing bytes");
+
+            assertThrows(IllegalArgumentException.class, () -> service.summarize(text("1 NaN"), false, new double[0]));
+            assertThrows(IllegalArgumentException.class, () -> service.summarize(text("1"), false, new double[] {1.5}));
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.summarize(text("1".repeat(StatisticsService.MAX_TOKEN_LENGTH + 1)), false, new double[0]));
+        }
+
+        @Test
+        @DisplayName("Should extend, merge and delete series within the limit")
+        void testSeries() throws IOException {
+            // When
+            service.update("a", text("1 2 3"), false, new double[0]);
+            StatisticsSummary a = service.update("a", text("4 5"), false, new double[] {0.5});
+            service.update("b", binary(new double[] {10, 20}), true, new double[0]);
+
+            // Then
+            assertThat(a.count()).isEqualTo(5);
+            assertThat(a.mean()).isEqualTo(3);
+            assertThat(service.summary("a", new double[0]).sum()).isEqualTo(15);
+            StatisticsSummary merged = service.merged(List.of("a", "b"), new double[0]);
+            assertThat(merged.count()).isEqualTo(7);
+            assertThat(merged.sum()).isEqualTo(45);
+            assertThat(merged.max()).isEqualTo(20);
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> service.update("c", text("1"), false, new double[0]));
+            assertThat(exception.getMessage()).isEqualTo("Too many series, at most 2 are kept");
+            assertThrows(IllegalArgumentException.class, () -> service.merged(List.of("a", "c"), new double[0]));
+
+            assertThat(service.delete("a")).isTrue();
+            assertThat(service.delete("a")).isFalse();
+            assertThat(service.summary("a", new double[0])).isNull();
+            assertThat(service.update("c", text("1"), false, new double[0]).count()).isEqualTo(1);
+        }
+    }
+}
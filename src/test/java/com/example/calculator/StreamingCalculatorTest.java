@@ -0,0 +1,176 @@
+package com.example.calculator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the streaming evaluation of newline-delimited JSON operations.
+ */
+@DisplayName("Streaming Calculator Tests")
+class StreamingCalculatorTest {
+
+    private StreamingCalculator streamingCalculator;
+
+    @BeforeEach
+    void setUp() {
+        streamingCalculator = new StreamingCalculator(new Calculator(), 64);
+    }
+
+    private String evaluate(String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamingCalculator.evaluate(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("Evaluation")
+    class EvaluationTests {
+
+        @Test
+        @DisplayName("Should write one result line per operation in order")
+        void testResults() throws IOException {
+            // Given
+            String input = "{\"op\":\"add\",\"a\":5,\"b\":3}\n"
+                    + "{\"op\":\"multiply\",\"a\":4,\"b\":2.5}\n"
+                    + "{\"op\":\"sqrt\",\"a\":9}\n";
+
+            // When
+            String output = evaluate(input);
+
+            // Then
+            assertThat(output).isEqualTo("{\"result\":8.0}\n{\"result\":10.0}\n{\"result\":3.0}\n");
+        }
+
+        @Test
+        @DisplayName("Should skip blank lines and evaluate a last line without newline")
+        void testLineBoundaries() throws IOException {
+            // Given
+            String input = "\n  \r\n{\"b\":1,\"a\":2,\"op\":\"subtract\"}\r\n\n{\"op\":\"divide\",\"a\":1,\"b\":4}";
+
+            // When
+            String output = evaluate(input);
+
+            // Then
+            assertThat(output).isEqualTo("{\"result\":1.0}\n{\"result\":0.25}\n");
+        }
+
+        @Test
+        @DisplayName("Should report errors in place and keep going")
+        void testErrors() throws IOException {
+            // Given
+            String input = "{\"op\":\"divide\",\"a\":1,\"b\":0}\n"
+                    + "{\"op\":\"modulo\",\"a\":1,\"b\":2}\n"
+                    + "{\"op\":\"add\",\"a\":\"x\"}\n"
+                    + "{\"op\":\"add\",\"a\":1\n"
+                    + "[1,2]\n"
+                    + "{\"op\":\"add\",\"a\":1,\"b\":1}\n";
+
+            // When
+            String[] lines = evaluate(input).split("\n");
+
+            // Then
+            assertThat(lines).hasSize(6);
+            assertThat(lines[0]).isEqualTo("{\"error\":\"Division by zero is not allowed\"}");
+            assertThat(lines[1]).isEqualTo("{\"error\":\"Unknown operation: modulo\"}");
+            assertThat(lines[2]).isEqualTo("{\"error\":\"Operand a must be a number\"}");
+            assertThat(lines[3]).startsWith("{\"error\":\"Malformed JSON: ");
+            assertThat(lines[4]).isEqualTo("{\"error\":\"Expected a JSON object\"}");
+            assertThat(lines[5]).isEqualTo("{\"result\":2.0}");
+        }
+
+        @Test
+        @DisplayName("Should report unknown and missing operations by name")
+        void testUnknownOperation() throws IOException {
+            // Given
+            String input = "{\"op\":\"modulo\",\"a\":1,\"b\":2}\n"
+                    + "{\"a\":1,\"b\":2}\n"
+                    + "{\"op\":\"ADD\",\"a\":1,\"b\":2}\n";
+
+            // When
+            String output = evaluate(input);
+
+            // Then
+            assertThat(output).isEqualTo("{\"error\":\"Unknown operation: modulo\"}\n"
+                    + "{\"error\":\"Unknown operation: null\"}\n"
+                    + "{\"result\":3.0}\n");
+        }
+
+        @Test
+        @DisplayName("Should reject over-long lines without buffering them")
+        void testLongLine() throws IOException {
+            // Given
+            String input = "{\"op\":\"add\",\"a\":1,\"b\":1,\"pad\":\"" + "x".repeat(200_000) + "\"}\n"
+                    + "{\"op\":\"add\",\"a\":2,\"b\":2}\n";
+
+            // When
+            String output = evaluate(input);
+
+            // Then
+            assertThat(output).isEqualTo("{\"error\":\"Line exceeds 64 bytes\"}\n{\"result\":4.0}\n");
+        }
+
+        @Test
+        @DisplayName("Should reject a non-positive line length")
+        void testInvalidLineLength() {
+            // When & Then
+            assertThrows(IllegalArgumentException.class, () -> new StreamingCalculator(new Calculator(), 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Streaming")
+    class StreamingTests {
+
+        @Test
+        @DisplayName("Should flush results before waiting for more input")
+        void testIncrementalOutput() throws IOException {
+            // Given
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            List<String> outputBeforeRead = new ArrayList<>();
+            InputStream in = new InputStream() {
+                private int line;
+
+                @Override
+                public int read() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    outputBeforeRead.add(out.toString(StandardCharsets.UTF_8));
+                    if (line == 3) {
+                        return -1;
+                    }
+                    line++;
+                    byte[] bytes = ("{\"op\":\"add\",\"a\":" + line + ",\"b\":0}\n").getBytes(StandardCharsets.UTF_8);
+                    System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+                    return bytes.length;
+                }
+            };
+
+            // When
+            long lines = streamingCalculator.evaluate(in, out);
+
+            // Then
+            assertThat(lines).isEqualTo(3);
+            assertThat(outputBeforeRead).containsExactly(
+                    "",
+                    "{\"result\":1.0}\n",
+                    "{\"result\":1.0}\n{\"result\":2.0}\n",
+                    "{\"result\":1.0}\n{\"result\":2.0}\n{\"result\":3.0}\n");
+        }
+    }
+}